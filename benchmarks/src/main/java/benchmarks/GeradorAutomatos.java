@@ -0,0 +1,118 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Gera descrições aleatórias de autômatos (no mesmo formato dos arquivos de exemplo) e arquivos de palavras para os
+// benchmarks. A semente é fixa para que todas as execuções meçam os mesmos autômatos.
+public final class GeradorAutomatos {
+    public static final long SEMENTE = 131;
+
+    private GeradorAutomatos () {
+    }
+
+    // Os símbolos são caracteres a partir do '0', pulando o '_' (palavra vazia)
+    public static char simbolo (int i) {
+        char c = (char) ('0' + i);
+        return c >= '_' ? (char) (c + 1) : c;
+    }
+
+    // AFD com função de transição total, todos os estados acessíveis e, em média, metade dos estados finais
+    public static Path afd (Path diretorio, int estados, int simbolos) throws IOException {
+        Random random = new Random(SEMENTE);
+        Path arquivo = diretorio.resolve("afd-" + estados + "-" + simbolos + ".txt");
+        try (PrintWriter pw = new PrintWriter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8))) {
+            escreverCabecalho(pw, "AFD", estados, simbolos, random);
+            for (int i = 0; i < estados; i++) {
+                for (int j = 0; j < simbolos; j++) {
+                    // As transições (i, j) com i * simbolos + j + 1 < estados formam uma árvore a partir do estado 0,
+                    // o que garante que todo estado é acessível; as demais são aleatórias
+                    int filho = i * simbolos + j + 1;
+                    int destino = filho < estados ? filho : random.nextInt(estados);
+                    pw.println(i + " " + simbolo(j) + " " + destino);
+                }
+            }
+        }
+        return arquivo;
+    }
+
+    // AFN em que cada par (estado, símbolo) tem de zero a 'destinos' estados de destino
+    public static Path afn (Path diretorio, int estados, int simbolos, int destinos) throws IOException {
+        Random random = new Random(SEMENTE);
+        Path arquivo = diretorio.resolve("afn-" + estados + "-" + simbolos + ".txt");
+        try (PrintWriter pw = new PrintWriter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8))) {
+            escreverCabecalho(pw, "AFN", estados, simbolos, random);
+            for (int i = 0; i < estados; i++) {
+                for (int j = 0; j < simbolos; j++) {
+                    int n = random.nextInt(destinos + 1);
+                    if (n == 0) {
+                        continue;
+                    }
+                    StringBuilder sb = new StringBuilder();
+                    sb.append(i).append(' ').append(simbolo(j));
+                    for (int k = 0; k < n; k++) {
+                        sb.append(' ').append(random.nextInt(estados));
+                    }
+                    pw.println(sb);
+                }
+            }
+        }
+        return arquivo;
+    }
+
+    // Arquivo com 'numero' palavras de 'tamanho' símbolos cada
+    public static Path palavras (Path diretorio, int numero, int tamanho, int simbolos) throws IOException {
+        Random random = new Random(SEMENTE);
+        Path arquivo = diretorio.resolve("palavras-" + numero + "-" + tamanho + ".txt");
+        try (PrintWriter pw = new PrintWriter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8))) {
+            for (int i = 0; i < numero; i++) {
+                pw.println(palavra(random, tamanho, simbolos));
+            }
+        }
+        return arquivo;
+    }
+
+    public static String palavra (Random random, int tamanho, int simbolos) {
+        char[] palavra = new char[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            palavra[i] = simbolo(random.nextInt(simbolos));
+        }
+        return new String(palavra);
+    }
+
+    public static void apagar (Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private static void escreverCabecalho (PrintWriter pw, String tipo, int estados, int simbolos, Random random) {
+        pw.println(tipo + " # (Linha 1) Representação do formalismo");
+        StringBuilder sb = new StringBuilder().append(estados);
+        for (int i = 0; i < estados; i++) {
+            sb.append(' ').append(i);
+        }
+        pw.println(sb);
+        sb = new StringBuilder().append(simbolos);
+        for (int j = 0; j < simbolos; j++) {
+            sb.append(' ').append(simbolo(j));
+        }
+        pw.println(sb);
+        pw.println(0);
+        sb = new StringBuilder();
+        int finais = 0;
+        for (int i = 0; i < estados; i++) {
+            if (random.nextBoolean()) {
+                sb.append(' ').append(i);
+                finais++;
+            }
+        }
+        pw.println(finais + sb.toString());
+    }
+}
@@ -0,0 +1,61 @@
+package comum;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmarks.GeradorAutomatos;
+
+// Mede a leitura (LeitorDescricao) da descrição de AFDs aleatórios: o cabeçalho e todas as transições, que são apenas
+// somadas para que a leitura não seja eliminada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeitorDescricaoBenchmark {
+    @Param({"10000", "100000"})
+    int estados;
+
+    @Param({"16"})
+    int simbolos;
+
+    private Path diretorio;
+    private Path arquivoAFD;
+
+    @Setup(Level.Trial)
+    public void preparar () throws IOException {
+        diretorio = Files.createTempDirectory("leitor-benchmark");
+        arquivoAFD = GeradorAutomatos.afd(diretorio, estados, simbolos);
+    }
+
+    @TearDown(Level.Trial)
+    public void limpar () throws IOException {
+        GeradorAutomatos.apagar(diretorio);
+    }
+
+    @Benchmark
+    public long ler () throws IOException {
+        long[] soma = new long[1];
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivoAFD)) {
+            leitor.lerTransicoes((origem, simbolo, destinos, numeroDestinos) -> soma[0] += origem + simbolo + destinos[0]);
+        }
+        return soma[0];
+    }
+}
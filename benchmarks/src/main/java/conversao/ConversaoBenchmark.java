@@ -0,0 +1,58 @@
+package conversao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmarks.GeradorAutomatos;
+
+// Mede a conversão AFN -> AFD (AFN.converterAFNparaAFD) de AFNs aleatórios
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversaoBenchmark {
+    // Número máximo de destinos de cada par (estado, símbolo)
+    private static final int DESTINOS = 2;
+
+    @Param({"4", "8", "12"})
+    int estados;
+
+    @Param({"2", "4"})
+    int simbolos;
+
+    private Path diretorio;
+    private AFN afn;
+
+    @Setup
+    public void preparar () throws IOException {
+        diretorio = Files.createTempDirectory("conversao-benchmark");
+        afn = new AFN(GeradorAutomatos.afn(diretorio, estados, simbolos, DESTINOS).toString());
+    }
+
+    @TearDown
+    public void limpar () throws IOException {
+        GeradorAutomatos.apagar(diretorio);
+    }
+
+    @Benchmark
+    public AFD converterAFNparaAFD () {
+        return afn.converterAFNparaAFD();
+    }
+}
@@ -0,0 +1,77 @@
+package minimizacao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmarks.GeradorAutomatos;
+
+// Mede a minimização de AFDs aleatórios com função de transição total, pelo algoritmo de Hopcroft (AFD.minimizar), pelo
+// de Moore com uma thread por processador (AFD.minimizarParalelo) e pelo da tabela de pares (AFD.minimizarPorTabela)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MinimizacaoBenchmark {
+    // O algoritmo da tabela usa O(n²) memória e tempo, então o maior valor padrão fica no limite do que ele termina em
+    // poucos segundos; tamanhos maiores podem ser passados na linha de comando (-p estados=...)
+    @Param({"32", "256", "1024"})
+    int estados;
+
+    @Param({"2", "3"})
+    int simbolos;
+
+    private Path diretorio;
+    private String arquivoAFD;
+    private AFD afd;
+
+    @Setup(Level.Trial)
+    public void preparar () throws IOException {
+        diretorio = Files.createTempDirectory("minimizacao-benchmark");
+        arquivoAFD = GeradorAutomatos.afd(diretorio, estados, simbolos).toString();
+    }
+
+    // minimizarPorTabela() altera o AFD (remove estados inacessíveis, completa a função programa), então cada chamada
+    // recebe um AFD novo, lido fora da medição
+    @Setup(Level.Invocation)
+    public void lerAFD () throws IOException {
+        afd = new AFD(arquivoAFD);
+    }
+
+    @TearDown(Level.Trial)
+    public void limpar () throws IOException {
+        GeradorAutomatos.apagar(diretorio);
+    }
+
+    @Benchmark
+    public AFDMinimizado minimizar () {
+        return afd.minimizar();
+    }
+
+    @Benchmark
+    public AFDMinimizado minimizarParalelo () {
+        return afd.minimizarParalelo(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public AFDMinimizado minimizarPorTabela () {
+        return afd.minimizarPorTabela();
+    }
+}
@@ -0,0 +1,95 @@
+package simulacao;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import benchmarks.GeradorAutomatos;
+
+// Mede o tempo de ida e volta de uma palavra (comando W) enviada ao ServidorSimulacao por um socket Unix. O modo
+// SampleTime mostra a distribuição (p50, p99, ...) da latência
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServidorBenchmark {
+    @Param({"1024"})
+    int estados;
+
+    @Param({"16"})
+    int simbolos;
+
+    @Param({"8", "256"})
+    int tamanhoPalavra;
+
+    private Path diretorio;
+    private ServidorSimulacao servidor;
+    private SocketChannel canal;
+    private ByteBuffer pedido;
+    private ByteBuffer resposta;
+
+    @Setup
+    public void preparar () throws IOException {
+        diretorio = Files.createTempDirectory("servidor-benchmark");
+        Path socket = diretorio.resolve("simulacao.sock");
+        servidor = new ServidorSimulacao(socket.toString());
+        servidor.carregar("afd", GeradorAutomatos.afd(diretorio, estados, simbolos));
+        Thread aceitar = new Thread(() -> {
+            try {
+                servidor.atender();
+            }catch(IOException e) {
+                System.out.println(e.getMessage());
+            }
+        });
+        aceitar.setDaemon(true);
+        aceitar.start();
+
+        canal = SocketChannel.open(StandardProtocolFamily.UNIX);
+        canal.connect(UnixDomainSocketAddress.of(socket));
+        String palavra = GeradorAutomatos.palavra(new Random(GeradorAutomatos.SEMENTE), tamanhoPalavra, simbolos);
+        pedido = ByteBuffer.wrap(("W " + palavra + "\n").getBytes(StandardCharsets.UTF_8));
+        resposta = ByteBuffer.allocate(2);
+    }
+
+    @TearDown
+    public void limpar () throws IOException {
+        canal.close();
+        servidor.close();
+        GeradorAutomatos.apagar(diretorio);
+    }
+
+    @Benchmark
+    public byte palavra () throws IOException {
+        pedido.clear();
+        while (pedido.hasRemaining()) {
+            canal.write(pedido);
+        }
+        resposta.clear();
+        while (resposta.hasRemaining()) {
+            canal.read(resposta);
+        }
+        return resposta.get(0);
+    }
+}
@@ -0,0 +1,108 @@
+package simulacao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import benchmarks.GeradorAutomatos;
+import comum.LeitorDescricao;
+import comum.TabelaAFN;
+
+// Mede a computação de um arquivo de palavras (AFD.computar), a computação de uma palavra isolada (AFDCompilado.aceita)
+// e a de um AFN do mesmo tamanho, simulado diretamente (AFNCompilado.aceita) ou determinizado sob demanda
+// (AFDPreguicoso.aceita)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulacaoBenchmark {
+    private static final int NUMERO_PALAVRAS = 10_000;
+
+    @Param({"16", "1024", "65536"})
+    int estados;
+
+    @Param({"2", "16"})
+    int simbolos;
+
+    @Param({"8", "256"})
+    int tamanhoPalavra;
+
+    private Path diretorio;
+    private String arquivoPalavras;
+    private String arquivoSaida;
+    private AFD afd;
+    private AFDCompilado afdCompilado;
+    private AFNCompilado afnCompilado;
+    private AFDPreguicoso afdPreguicoso;
+    private String[] palavras;
+
+    @Setup
+    public void preparar () throws IOException {
+        diretorio = Files.createTempDirectory("simulacao-benchmark");
+        afd = new AFD(GeradorAutomatos.afd(diretorio, estados, simbolos).toString());
+        afdCompilado = afd.compilar();
+        try (LeitorDescricao leitor = new LeitorDescricao(GeradorAutomatos.afn(diretorio, estados, simbolos, 2))) {
+            TabelaAFN tabela = TabelaAFN.ler(leitor);
+            afnCompilado = new AFNCompilado(tabela);
+            afdPreguicoso = new AFDPreguicoso(tabela, 64L << 20);
+        }
+        arquivoPalavras = GeradorAutomatos.palavras(diretorio, NUMERO_PALAVRAS, tamanhoPalavra, simbolos).toString();
+        arquivoSaida = diretorio.resolve("saida.txt").toString();
+
+        Random random = new Random(GeradorAutomatos.SEMENTE);
+        palavras = new String[1024];
+        for (int i = 0; i < palavras.length; i++) {
+            palavras[i] = GeradorAutomatos.palavra(random, tamanhoPalavra, simbolos);
+        }
+    }
+
+    @TearDown
+    public void limpar () throws IOException {
+        GeradorAutomatos.apagar(diretorio);
+    }
+
+    // Arquivo inteiro: compilação do AFD, leitura das palavras e escrita do resultado
+    @Benchmark
+    public void computar () throws IOException {
+        afd.computar(arquivoPalavras, arquivoSaida);
+    }
+
+    @Benchmark
+    public void aceita (Blackhole bh) {
+        for (String palavra : palavras) {
+            bh.consume(afdCompilado.aceita(palavra));
+        }
+    }
+
+    @Benchmark
+    public void aceitaAFN (Blackhole bh) {
+        for (String palavra : palavras) {
+            bh.consume(afnCompilado.aceita(palavra));
+        }
+    }
+
+    @Benchmark
+    public void aceitaAFNPreguicoso (Blackhole bh) {
+        for (String palavra : palavras) {
+            bh.consume(afdPreguicoso.aceita(palavra));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package comum;
+
+// Análise de alcance de um autômato dado por uma tabela de transições por índices (transicoes[estado * numeroSimbolos +
+// simbolo], com TabelaAFD.SEM_TRANSICAO onde a transição não está definida):
+// - estados acessíveis: os que podem ser alcançados a partir do estado inicial;
+// - estados úteis (co-acessíveis): os que alcançam algum estado final.
+//
+// As duas buscas são em largura, com uma fila em um vetor (sem recursão, então não há risco de estouro de pilha em cadeias
+// longas), e cada estado entra na fila uma única vez, então o custo total é O(n·k). A busca dos úteis parte dos finais e
+// segue as transições ao contrário, por um índice das transições invertidas.
+public final class AnaliseAlcance {
+    private AnaliseAlcance () {
+    }
+
+    public static boolean[] acessiveis (TabelaAFD tabela) {
+        return acessiveis(tabela.getNumeroEstados(), tabela.getNumeroSimbolos(), transicoes(tabela), tabela.getEstadoInicial());
+    }
+
+    public static boolean[] uteis (TabelaAFD tabela) {
+        boolean[] finais = new boolean[tabela.getNumeroEstados()];
+        for (int i = 0; i < finais.length; i++) {
+            finais[i] = tabela.eFinal(i);
+        }
+        return uteis(tabela.getNumeroEstados(), tabela.getNumeroSimbolos(), transicoes(tabela), finais);
+    }
+
+    // acessivel[estado] é verdadeiro se o estado é alcançado a partir de 'estadoInicial' (que pode ser SEM_TRANSICAO, e
+    // então nenhum estado é acessível)
+    public static boolean[] acessiveis (int numeroEstados, int numeroSimbolos, int[] transicoes, int estadoInicial) {
+        boolean[] acessivel = new boolean[numeroEstados];
+        if (estadoInicial == TabelaAFD.SEM_TRANSICAO) {
+            return acessivel;
+        }
+        int[] fila = new int[numeroEstados];
+        int fim = 0;
+        acessivel[estadoInicial] = true;
+        fila[fim++] = estadoInicial;
+        for (int inicio = 0; inicio < fim; inicio++) {
+            int base = fila[inicio] * numeroSimbolos;
+            for (int a = 0; a < numeroSimbolos; a++) {
+                int destino = transicoes[base + a];
+                if (destino != TabelaAFD.SEM_TRANSICAO && !acessivel[destino]) {
+                    acessivel[destino] = true;
+                    fila[fim++] = destino;
+                }
+            }
+        }
+        return acessivel;
+    }
+
+    // util[estado] é verdadeiro se algum estado final é alcançado a partir do estado (os finais são úteis)
+    public static boolean[] uteis (int numeroEstados, int numeroSimbolos, int[] transicoes, boolean[] finais) {
+        // Índice invertido: as origens das transições que chegam em q são origens[inicioOrigens[q] .. inicioOrigens[q + 1])
+        int[] inicioOrigens = new int[numeroEstados + 1];
+        for (int i = 0; i < numeroEstados * numeroSimbolos; i++) {
+            if (transicoes[i] != TabelaAFD.SEM_TRANSICAO) {
+                inicioOrigens[transicoes[i] + 1]++;
+            }
+        }
+        for (int q = 0; q < numeroEstados; q++) {
+            inicioOrigens[q + 1] += inicioOrigens[q];
+        }
+        int[] origens = new int[inicioOrigens[numeroEstados]];
+        int[] proxima = new int[numeroEstados];
+        System.arraycopy(inicioOrigens, 0, proxima, 0, numeroEstados);
+        for (int i = 0; i < numeroEstados * numeroSimbolos; i++) {
+            if (transicoes[i] != TabelaAFD.SEM_TRANSICAO) {
+                origens[proxima[transicoes[i]]++] = i / numeroSimbolos;
+            }
+        }
+
+        boolean[] util = new boolean[numeroEstados];
+        int[] fila = new int[numeroEstados];
+        int fim = 0;
+        for (int q = 0; q < numeroEstados; q++) {
+            if (finais[q]) {
+                util[q] = true;
+                fila[fim++] = q;
+            }
+        }
+        for (int inicio = 0; inicio < fim; inicio++) {
+            int q = fila[inicio];
+            for (int j = inicioOrigens[q]; j < inicioOrigens[q + 1]; j++) {
+                int origem = origens[j];
+                if (!util[origem]) {
+                    util[origem] = true;
+                    fila[fim++] = origem;
+                }
+            }
+        }
+        return util;
+    }
+
+    private static int[] transicoes (TabelaAFD tabela) {
+        int[] transicoes = new int[tabela.getNumeroEstados() * tabela.getNumeroSimbolos()];
+        tabela.copiarTransicoes(transicoes);
+        return transicoes;
+    }
+}
@@ -0,0 +1,90 @@
+package comum;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Memória fora do heap (ByteBuffers diretos) com um limite total. Estruturas que crescem com o tamanho do AFD, como os
+// conjuntos de estados e a tabela de transições da construção de subconjuntos, ficam aqui em vez de no heap: o coletor
+// de lixo não precisa percorrê-las e o heap não cresce com elas. Cada pedido informa a sua finalidade, e o uso por
+// finalidade aparece no erro quando o limite é atingido.
+//
+// Um buffer liberado deixa de contar para o limite na hora, mas a memória só é devolvida ao sistema quando o buffer é
+// coletado. Os buffers diretos também são limitados pela JVM (-XX:MaxDirectMemorySize, que por padrão é o tamanho máximo
+// do heap); esse limite é informado no mesmo erro.
+public final class ArenaForaDoHeap {
+    // Maior buffer direto que pode ser alocado de uma vez
+    public static final long MAXIMO_BUFFER = Integer.MAX_VALUE & ~7L;
+
+    private final long limiteBytes;
+    private long usados;
+    private long maiorUso;
+    private final Map<String, Long> usoPorFinalidade = new LinkedHashMap<>();
+
+    public ArenaForaDoHeap (long limiteBytes) {
+        if (limiteBytes <= 0) {
+            throw new IllegalArgumentException("O limite de memória deve ser maior que zero");
+        }
+        this.limiteBytes = limiteBytes;
+    }
+
+    // Um buffer direto zerado de 'bytes' bytes, na ordem de bytes da plataforma
+    public synchronized ByteBuffer alocar (long bytes, String finalidade) {
+        if (bytes > MAXIMO_BUFFER) {
+            throw new LimiteMemoriaExcedido("Pedido de " + bytes + " bytes para " + finalidade
+                + " maior que o maior buffer possível (" + MAXIMO_BUFFER + " bytes)\n" + diagnostico());
+        }
+        if (usados + bytes > limiteBytes) {
+            throw new LimiteMemoriaExcedido("Limite de memória fora do heap atingido: pedido de " + megabytes(bytes)
+                + " para " + finalidade + " com " + megabytes(usados) + " em uso de " + megabytes(limiteBytes) + "\n" + diagnostico());
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        } catch (OutOfMemoryError e) {
+            throw new LimiteMemoriaExcedido("A JVM recusou " + megabytes(bytes) + " para " + finalidade + " com "
+                + megabytes(usados) + " em uso (aumente -XX:MaxDirectMemorySize)\n" + diagnostico(), e);
+        }
+        usados += bytes;
+        maiorUso = Math.max(maiorUso, usados);
+        usoPorFinalidade.merge(finalidade, bytes, Long::sum);
+        return buffer;
+    }
+
+    public synchronized void liberar (ByteBuffer buffer, String finalidade) {
+        usados -= buffer.capacity();
+        usoPorFinalidade.merge(finalidade, (long) -buffer.capacity(), Long::sum);
+    }
+
+    // Um buffer maior com o conteúdo de 'atual' no início; 'atual' é liberado
+    public ByteBuffer realocar (ByteBuffer atual, long bytes, String finalidade) {
+        ByteBuffer novo = alocar(bytes, finalidade);
+        novo.put(0, atual, 0, atual.capacity());
+        liberar(atual, finalidade);
+        return novo;
+    }
+
+    public long getLimite () {
+        return limiteBytes;
+    }
+
+    public synchronized long getUsados () {
+        return usados;
+    }
+
+    public synchronized long getMaiorUso () {
+        return maiorUso;
+    }
+
+    // Uso atual de cada finalidade, uma por linha
+    public synchronized String diagnostico () {
+        StringBuilder sb = new StringBuilder("Memória fora do heap em uso:");
+        usoPorFinalidade.forEach((finalidade, bytes) -> sb.append("\n  ").append(finalidade).append(": ").append(megabytes(bytes)));
+        return sb.toString();
+    }
+
+    public static String megabytes (long bytes) {
+        return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+    }
+}
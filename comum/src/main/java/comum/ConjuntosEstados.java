@@ -0,0 +1,104 @@
+package comum;
+
+import java.util.Arrays;
+
+// Conjunto de conjuntos de estados (mapas de bits de 'palavras' longs, como em TabelaAFN), em que cada conjunto recebe
+// um identificador 0, 1, 2, ... na ordem em que é adicionado. Os conjuntos ficam copiados um depois do outro em um único
+// vetor e são encontrados por uma tabela de espalhamento de endereçamento aberto, então adicionar um conjunto que já
+// existe só devolve o identificador dele.
+public final class ConjuntosEstados implements ConjuntosNumerados {
+    private final int palavras;
+    // O conjunto de identificador i ocupa conjuntos[i * palavras, (i + 1) * palavras)
+    private long[] conjuntos;
+    private int[] espalhamentos;
+    private int quantidade;
+    // posicoes[p] = identificador + 1 do conjunto que ocupa a posição p, ou 0 se a posição está livre. O tamanho é uma
+    // potência de 2
+    private int[] posicoes;
+
+    public ConjuntosEstados (int palavras) {
+        this.palavras = palavras;
+        this.conjuntos = new long[palavras * 16];
+        this.espalhamentos = new int[16];
+        this.quantidade = 0;
+        this.posicoes = new int[32];
+    }
+
+    @Override
+    public int tamanho () {
+        return quantidade;
+    }
+
+    // Identificador do conjunto, ou -1 se ele não foi adicionado
+    public int indice (long[] conjunto) {
+        int h = espalhar(conjunto);
+        int mascara = posicoes.length - 1;
+        for (int p = h & mascara; posicoes[p] != 0; p = (p + 1) & mascara) {
+            int i = posicoes[p] - 1;
+            if (espalhamentos[i] == h && Arrays.equals(conjuntos, i * palavras, (i + 1) * palavras, conjunto, 0, palavras)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int adicionar (long[] conjunto) {
+        int existente = indice(conjunto);
+        if (existente >= 0) {
+            return existente;
+        }
+        if (quantidade == espalhamentos.length) {
+            espalhamentos = Arrays.copyOf(espalhamentos, quantidade * 2);
+            conjuntos = Arrays.copyOf(conjuntos, quantidade * 2 * palavras);
+        }
+        int i = quantidade++;
+        System.arraycopy(conjunto, 0, conjuntos, i * palavras, palavras);
+        espalhamentos[i] = espalhar(conjunto);
+
+        // A tabela de espalhamento é mantida com no máximo metade das posições ocupadas
+        if (quantidade * 2 > posicoes.length) {
+            posicoes = new int[posicoes.length * 2];
+            for (int j = 0; j < quantidade; j++) {
+                posicionar(j);
+            }
+        } else {
+            posicionar(i);
+        }
+        return i;
+    }
+
+    // Remove todos os conjuntos, mantendo os vetores já alocados. Os próximos identificadores voltam a começar do 0
+    public void limpar () {
+        quantidade = 0;
+        Arrays.fill(posicoes, 0);
+    }
+
+    @Override
+    public void copiar (int i, long[] destino) {
+        System.arraycopy(conjuntos, i * palavras, destino, 0, palavras);
+    }
+
+    private void posicionar (int i) {
+        int mascara = posicoes.length - 1;
+        int p = espalhamentos[i] & mascara;
+        while (posicoes[p] != 0) {
+            p = (p + 1) & mascara;
+        }
+        posicoes[p] = i + 1;
+    }
+
+    private int espalhar (long[] conjunto) {
+        return espalhar(conjunto, palavras);
+    }
+
+    static int espalhar (long[] conjunto, int palavras) {
+        long h = 0;
+        for (int i = 0; i < palavras; i++) {
+            h = (h + conjunto[i]) * 0x9E3779B97F4A7C15L;
+        }
+        h ^= h >>> 32;
+        h *= 0xFF51AFD7ED558CCDL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
@@ -0,0 +1,111 @@
+package comum;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+
+// Como ConjuntosEstados, mas com os conjuntos, os seus espalhamentos e a tabela de espalhamento de endereçamento aberto
+// em uma ArenaForaDoHeap. Os conjuntos ficam em blocos de tamanho fixo que nunca são copiados (um bloco novo é pedido
+// quando o último enche), e só o vetor de espalhamentos e a tabela dobram de tamanho. No heap fica apenas a lista dos
+// blocos.
+public final class ConjuntosForaDoHeap implements ConjuntosNumerados {
+    // Tamanho de cada bloco de conjuntos (ou o de um conjunto, se for maior). Com um limite pequeno, os blocos ocupam no
+    // máximo 1/16 dele, para que o primeiro bloco não gaste o limite todo
+    private static final long TAMANHO_BLOCO = 1L << 24;
+
+    private final ArenaForaDoHeap arena;
+    private final int palavras;
+    private final int conjuntosPorBloco;
+    private final ArrayList<LongBuffer> blocos = new ArrayList<>();
+    // Os inteiros ficam nos ByteBuffers (getInt(4 * i)), que são os que a arena aloca e libera
+    private ByteBuffer espalhamentos;
+    private int quantidade;
+    // posicoes[p] = identificador + 1 do conjunto que ocupa a posição p, ou 0 se a posição está livre. O número de
+    // posições é uma potência de 2
+    private ByteBuffer posicoes;
+    private int numeroPosicoes;
+
+    public ConjuntosForaDoHeap (int palavras, ArenaForaDoHeap arena) {
+        this.arena = arena;
+        this.palavras = palavras;
+        this.conjuntosPorBloco = (int) Math.max(1, Math.min(TAMANHO_BLOCO, arena.getLimite() / 16) / (8L * Math.max(1, palavras)));
+        this.espalhamentos = arena.alocar(4 * 16, "espalhamentos dos conjuntos");
+        this.quantidade = 0;
+        this.numeroPosicoes = 32;
+        this.posicoes = arena.alocar(4 * numeroPosicoes, "índice dos conjuntos");
+    }
+
+    @Override
+    public int tamanho () {
+        return quantidade;
+    }
+
+    // Identificador do conjunto, ou -1 se ele não foi adicionado
+    public int indice (long[] conjunto) {
+        int h = ConjuntosEstados.espalhar(conjunto, palavras);
+        int mascara = numeroPosicoes - 1;
+        for (int p = h & mascara; posicoes.getInt(4 * p) != 0; p = (p + 1) & mascara) {
+            int i = posicoes.getInt(4 * p) - 1;
+            if (espalhamentos.getInt(4 * i) == h && iguais(i, conjunto)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int adicionar (long[] conjunto) {
+        int existente = indice(conjunto);
+        if (existente >= 0) {
+            return existente;
+        }
+        if (4L * quantidade == espalhamentos.capacity()) {
+            espalhamentos = arena.realocar(espalhamentos, 2L * espalhamentos.capacity(), "espalhamentos dos conjuntos");
+        }
+        if (quantidade == blocos.size() * conjuntosPorBloco) {
+            blocos.add(arena.alocar(8L * palavras * conjuntosPorBloco, "conjuntos de estados").asLongBuffer());
+        }
+        int i = quantidade++;
+        blocos.get(i / conjuntosPorBloco).put((i % conjuntosPorBloco) * palavras, conjunto, 0, palavras);
+        espalhamentos.putInt(4 * i, ConjuntosEstados.espalhar(conjunto, palavras));
+
+        // A tabela de espalhamento é mantida com no máximo metade das posições ocupadas
+        if ((long) quantidade * 2 > numeroPosicoes) {
+            ByteBuffer anterior = posicoes;
+            posicoes = arena.alocar(8L * numeroPosicoes, "índice dos conjuntos");
+            numeroPosicoes *= 2;
+            arena.liberar(anterior, "índice dos conjuntos");
+            for (int j = 0; j < quantidade; j++) {
+                posicionar(j);
+            }
+        } else {
+            posicionar(i);
+        }
+        return i;
+    }
+
+    @Override
+    public void copiar (int i, long[] destino) {
+        blocos.get(i / conjuntosPorBloco).get((i % conjuntosPorBloco) * palavras, destino, 0, palavras);
+    }
+
+    private boolean iguais (int i, long[] conjunto) {
+        LongBuffer bloco = blocos.get(i / conjuntosPorBloco);
+        int inicio = (i % conjuntosPorBloco) * palavras;
+        for (int w = 0; w < palavras; w++) {
+            if (bloco.get(inicio + w) != conjunto[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void posicionar (int i) {
+        int mascara = numeroPosicoes - 1;
+        int p = espalhamentos.getInt(4 * i) & mascara;
+        while (posicoes.getInt(4 * p) != 0) {
+            p = (p + 1) & mascara;
+        }
+        posicoes.putInt(4 * p, i + 1);
+    }
+}
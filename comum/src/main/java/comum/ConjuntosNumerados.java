@@ -0,0 +1,14 @@
+package comum;
+
+// Conjuntos de estados (mapas de bits de 'palavras' longs, como em TabelaAFN) numerados 0, 1, 2, ... na ordem em que
+// são adicionados, como a construção de subconjuntos precisa: no heap (ConjuntosEstados) ou fora dele
+// (ConjuntosForaDoHeap).
+public interface ConjuntosNumerados {
+    int tamanho ();
+
+    // Adiciona uma cópia do conjunto e retorna o novo identificador. Se o conjunto já existe, retorna o identificador dele
+    int adicionar (long[] conjunto);
+
+    // Copia o conjunto de identificador i para 'destino'
+    void copiar (int i, long[] destino);
+}
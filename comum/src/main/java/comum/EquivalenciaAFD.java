@@ -0,0 +1,177 @@
+package comum;
+
+import java.util.Arrays;
+
+// Equivalência de dois AFDs pelo algoritmo de Hopcroft e Karp, sem minimizar nenhum deles e sem olhar os nomes dos
+// estados: os estados dos dois AFDs (cada um completado com um estado morto) ficam em uma única estrutura de união e
+// busca, os iniciais são unidos e, para cada par unido, os destinos com cada símbolo também são, até não haver pares
+// novos. Os AFDs são equivalentes se nenhuma união junta um estado final com um não final. Cada união diminui o número
+// de classes, então há no máximo nA + nB + 1 pares e o custo é O((nA + nB)·k·α(nA + nB)).
+//
+// Os alfabetos são alinhados pelos nomes dos símbolos, como no ProdutoAFD: um símbolo que um dos AFDs não tem leva esse
+// AFD ao estado morto. Se os AFDs não são equivalentes, a menor palavra que os distingue é encontrada por uma busca em
+// largura no produto pela diferença simétrica, que só é feita nesse caso.
+public final class EquivalenciaAFD {
+    private final TabelaAFD a;
+    private final TabelaAFD b;
+    // Usado aqui só pelo alfabeto, o alinhamento dos símbolos dos dois AFDs
+    private final ProdutoAFD alfabeto;
+    private final int numeroSimbolos;
+    // Os estados de A são 0 .. nA (nA é o morto) e os de B, nA + 1 .. nA + nB + 1 (o último é o morto)
+    private final int mortoA;
+    private final int mortoB;
+    private int[] pai;
+    private int[] tamanho;
+    private int unioes;
+    private boolean aceitoPorA;
+
+    public EquivalenciaAFD (TabelaAFD a, TabelaAFD b) {
+        this.a = a;
+        this.b = b;
+        this.alfabeto = new ProdutoAFD(a, b, ProdutoAFD.DIFERENCA_SIMETRICA);
+        this.numeroSimbolos = alfabeto.getNumeroSimbolos();
+        this.mortoA = a.getNumeroEstados();
+        this.mortoB = mortoA + 1 + b.getNumeroEstados();
+    }
+
+    // Verdadeiro se os dois AFDs aceitam a mesma linguagem
+    public boolean equivalentes () {
+        int inicialA = a.getEstadoInicial() == TabelaAFD.SEM_TRANSICAO ? mortoA : a.getEstadoInicial();
+        int inicialB = b.getEstadoInicial() == TabelaAFD.SEM_TRANSICAO ? mortoB : mortoA + 1 + b.getEstadoInicial();
+        pai = new int[mortoB + 1];
+        tamanho = new int[mortoB + 1];
+        for (int i = 0; i < pai.length; i++) {
+            pai[i] = i;
+        }
+        Arrays.fill(tamanho, 1);
+        unioes = 0;
+        if (eFinal(inicialA) != eFinal(inicialB)) {
+            return false;
+        }
+        // Pilha dos pares unidos e ainda não processados: cada união empilha um par, e há no máximo pai.length - 1
+        int[] pilha = new int[2 * pai.length];
+        int topo = 0;
+        unir(inicialA, inicialB);
+        pilha[topo++] = inicialA;
+        pilha[topo++] = inicialB;
+        while (topo > 0) {
+            int q = pilha[--topo];
+            int p = pilha[--topo];
+            for (int simbolo = 0; simbolo < numeroSimbolos; simbolo++) {
+                int x = destinoA(p, simbolo);
+                int y = destinoB(q, simbolo);
+                if (buscar(x) != buscar(y)) {
+                    if (eFinal(x) != eFinal(y)) {
+                        return false;
+                    }
+                    unir(x, y);
+                    pilha[topo++] = x;
+                    pilha[topo++] = y;
+                }
+            }
+        }
+        return true;
+    }
+
+    // A menor palavra aceita por um só dos AFDs (os símbolos, na ordem), ou null se eles são equivalentes. Entre as
+    // palavras de mesmo tamanho, a primeira na ordem do alfabeto do produto (os símbolos de A, depois os outros de B)
+    public String[] contraExemplo () {
+        if (equivalentes()) {
+            return null;
+        }
+        // Os pares são criados na ordem da busca em largura; cada par novo guarda o par e o símbolo de onde veio
+        ProdutoAFD produto = new ProdutoAFD(a, b, ProdutoAFD.DIFERENCA_SIMETRICA);
+        int[] origem = new int[16];
+        int[] simboloOrigem = new int[16];
+        int encontrado = produto.eFinal(0) ? 0 : -1;
+        for (int estado = 0; encontrado < 0 && estado < produto.getNumeroEstados(); estado++) {
+            for (int simbolo = 0; simbolo < numeroSimbolos; simbolo++) {
+                int criados = produto.getNumeroEstados();
+                int destino = produto.transicao(estado, simbolo);
+                if (destino == criados) {
+                    if (destino == origem.length) {
+                        origem = Arrays.copyOf(origem, destino * 2);
+                        simboloOrigem = Arrays.copyOf(simboloOrigem, destino * 2);
+                    }
+                    origem[destino] = estado;
+                    simboloOrigem[destino] = simbolo;
+                    if (produto.eFinal(destino)) {
+                        encontrado = destino;
+                        break;
+                    }
+                }
+            }
+        }
+        aceitoPorA = produto.getEstadoA(encontrado) != TabelaAFD.SEM_TRANSICAO && a.eFinal(produto.getEstadoA(encontrado));
+        int comprimento = 0;
+        for (int estado = encontrado; estado != 0; estado = origem[estado]) {
+            comprimento++;
+        }
+        String[] palavra = new String[comprimento];
+        for (int estado = encontrado; estado != 0; estado = origem[estado]) {
+            palavra[--comprimento] = produto.getSimbolo(simboloOrigem[estado]);
+        }
+        return palavra;
+    }
+
+    // Verdadeiro se o último contraexemplo é aceito por A (e rejeitado por B); falso se é aceito só por B
+    public boolean contraExemploAceitoPorA () {
+        return aceitoPorA;
+    }
+
+    // Uniões feitas pela última verificação, uma por par processado
+    public int getUnioes () {
+        return unioes;
+    }
+
+    private int destinoA (int estado, int simbolo) {
+        int s = alfabeto.getSimboloA(simbolo);
+        if (estado == mortoA || s < 0) {
+            return mortoA;
+        }
+        int destino = a.getTransicao(estado, s);
+        return destino == TabelaAFD.SEM_TRANSICAO ? mortoA : destino;
+    }
+
+    private int destinoB (int estado, int simbolo) {
+        int s = alfabeto.getSimboloB(simbolo);
+        if (estado == mortoB || s < 0) {
+            return mortoB;
+        }
+        int destino = b.getTransicao(estado - mortoA - 1, s);
+        return destino == TabelaAFD.SEM_TRANSICAO ? mortoB : mortoA + 1 + destino;
+    }
+
+    private boolean eFinal (int estado) {
+        if (estado < mortoA) {
+            return a.eFinal(estado);
+        }
+        return estado > mortoA && estado < mortoB && b.eFinal(estado - mortoA - 1);
+    }
+
+    // Raiz da classe do estado, com compressão de caminho pela metade
+    private int buscar (int estado) {
+        while (pai[estado] != estado) {
+            pai[estado] = pai[pai[estado]];
+            estado = pai[estado];
+        }
+        return estado;
+    }
+
+    // União por tamanho
+    private void unir (int x, int y) {
+        int rx = buscar(x);
+        int ry = buscar(y);
+        if (rx == ry) {
+            return;
+        }
+        if (tamanho[rx] < tamanho[ry]) {
+            int t = rx;
+            rx = ry;
+            ry = t;
+        }
+        pai[ry] = rx;
+        tamanho[rx] += tamanho[ry];
+        unioes++;
+    }
+}
@@ -0,0 +1,26 @@
+package comum;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Erro na descrição de um autômato, com a linha e a coluna (em bytes, a partir de 1) em que ele foi encontrado
+public final class ErroDescricao extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int linha;
+    private final int coluna;
+
+    public ErroDescricao (Path arquivo, int linha, int coluna, String mensagem) {
+        super(arquivo + ":" + linha + ":" + coluna + ": " + mensagem);
+        this.linha = linha;
+        this.coluna = coluna;
+    }
+
+    public int getLinha () {
+        return linha;
+    }
+
+    public int getColuna () {
+        return coluna;
+    }
+}
@@ -0,0 +1,378 @@
+package comum;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Escreve um AFD no formato texto lido por LeitorDescricao, usado pelo Converter, pela Minimizacao e pelo pipeline.
+//
+// Os números e os nomes (já convertidos para UTF-8 uma única vez) são copiados direto para um buffer de bytes grande, que
+// é descarregado no arquivo quando enche, sem formatação por printf nem uma String por linha. Os comentários podem ser:
+// - COMENTARIOS_COMPLETOS: os do arquivo de exemplo, com a lista de todos os estados nas linhas 2 e 5 e um comentário
+//   δ(estado, símbolo) = destino em cada transição;
+// - COMENTARIOS_RESUMIDOS: as listas dos comentários param depois de LIMITE_LISTA itens ("0, 1, ..., 7, ... e 999") e só a
+//   primeira transição tem comentário;
+// - SEM_COMENTARIOS: só os dados.
+// comentariosPadrao escolhe os completos para AFDs pequenos e os resumidos para os grandes, em que as listas completas
+// ocupariam mais que os próprios dados.
+//
+// Os estados também podem ser escritos aos poucos, à medida que são produzidos (por exemplo, pela construção de
+// subconjuntos): as linhas de transição vão para um arquivo temporário, e só em concluir(), quando o número de estados
+// e os finais são conhecidos, o cabeçalho é escrito e as transições são copiadas depois dele. Nesse modo os estados são
+// chamados pelos seus índices.
+public final class EscritorDescricao implements Closeable {
+    public static final int COMENTARIOS_COMPLETOS = 0;
+    public static final int COMENTARIOS_RESUMIDOS = 1;
+    public static final int SEM_COMENTARIOS = 2;
+
+    // AFDs com até esse número de estados recebem os comentários completos por padrão
+    public static final int LIMITE_COMENTARIOS_COMPLETOS = 1000;
+    // Itens listados nos comentários resumidos antes do "..."
+    private static final int LIMITE_LISTA = 8;
+    private static final int TAMANHO_BUFFER = 1 << 20;
+
+    private static final byte[] COMENTARIO_LINHA_6 = bytes(" # (Linha 6 em diante) δ(");
+    private static final byte[] COMENTARIO_TRANSICAO = bytes(" # δ(");
+    private static final byte[] SEPARADOR = bytes(", ");
+    private static final byte[] IGUAL = bytes(") = ");
+
+    private final FileChannel canal;
+    // Arquivo temporário das transições, quando os estados são escritos aos poucos (null se não são)
+    private final FileChannel corpo;
+    private final ByteBuffer buffer;
+    // Canal em que o buffer é descarregado quando enche: o arquivo, ou o temporário enquanto as transições são escritas
+    // aos poucos
+    private FileChannel destino;
+    private final byte[] digitos = new byte[11];
+    private final byte[][] simbolos;
+    // Nomes dos estados em UTF-8; null se os estados são chamados pelos seus índices
+    private final byte[][] nomes;
+    private final int comentarios;
+    private boolean primeiraTransicao;
+    private boolean concluido;
+
+    private EscritorDescricao (Path arquivo, String[] simbolos, String[] nomes, int comentarios, boolean aosPoucos) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        FileChannel temporario = null;
+        if (aosPoucos) {
+            try {
+                Path caminho = Files.createTempFile(arquivo.toAbsolutePath().getParent(), arquivo.getFileName().toString(), ".tmp");
+                temporario = FileChannel.open(caminho, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                canal.close();
+                throw e;
+            }
+        }
+        this.corpo = temporario;
+        this.destino = temporario != null ? temporario : canal;
+        this.buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+        this.simbolos = new byte[simbolos.length][];
+        for (int i = 0; i < simbolos.length; i++) {
+            this.simbolos[i] = bytes(simbolos[i]);
+        }
+        if (nomes != null) {
+            this.nomes = new byte[nomes.length][];
+            for (int i = 0; i < nomes.length; i++) {
+                this.nomes[i] = bytes(nomes[i]);
+            }
+        } else {
+            this.nomes = null;
+        }
+        this.comentarios = comentarios;
+        this.primeiraTransicao = true;
+        this.concluido = false;
+    }
+
+    // Escritor para os estados produzidos aos poucos: transicoes() para cada estado, na ordem dos índices, e concluir()
+    // no fim. Se concluir() não é chamado, o arquivo fica vazio
+    public static EscritorDescricao aosPoucos (Path arquivo, String[] simbolos, int comentarios) throws IOException {
+        return new EscritorDescricao(arquivo, simbolos, null, comentarios, true);
+    }
+
+    public static int comentariosPadrao (int numeroEstados) {
+        return numeroEstados <= LIMITE_COMENTARIOS_COMPLETOS ? COMENTARIOS_COMPLETOS : COMENTARIOS_RESUMIDOS;
+    }
+
+    // Lê a opção --comentarios completos|resumidos|nenhum; -1 se o valor não é um desses
+    public static int comentarios (String valor) {
+        switch (valor) {
+            case "completos":
+                return COMENTARIOS_COMPLETOS;
+            case "resumidos":
+                return COMENTARIOS_RESUMIDOS;
+            case "nenhum":
+                return SEM_COMENTARIOS;
+            default:
+                return -1;
+        }
+    }
+
+    // Escreve o AFD com os estados chamados pelos seus índices e os comentários padrão
+    public static void escrever (TabelaAFD tabela, Path arquivo) throws IOException {
+        escrever(tabela, null, arquivo, comentariosPadrao(tabela.getNumeroEstados()));
+    }
+
+    // 'nomesEstados[i]' é o nome do estado de índice i (null: o próprio índice)
+    public static void escrever (TabelaAFD tabela, String[] nomesEstados, Path arquivo, int comentarios) throws IOException {
+        int numeroEstados = tabela.getNumeroEstados();
+        int numeroSimbolos = tabela.getNumeroSimbolos();
+        String[] simbolos = new String[numeroSimbolos];
+        for (int a = 0; a < numeroSimbolos; a++) {
+            simbolos[a] = tabela.getSimbolo(a);
+        }
+        try (EscritorDescricao escritor = new EscritorDescricao(arquivo, simbolos, nomesEstados, comentarios, false)) {
+            escritor.cabecalho(numeroEstados, tabela.getEstadoInicial(), tabela.copiarEstadosFinais());
+            int[] linha = new int[numeroSimbolos];
+            for (int estado = 0; estado < numeroEstados; estado++) {
+                for (int a = 0; a < numeroSimbolos; a++) {
+                    linha[a] = tabela.getTransicao(estado, a);
+                }
+                escritor.linhas(estado, linha, 0);
+            }
+            escritor.descarregar();
+            escritor.concluido = true;
+        }
+    }
+
+    // As transições do estado: transicoes[inicio + simbolo] = destino ou TabelaAFD.SEM_TRANSICAO
+    public void transicoes (int estado, int[] transicoes, int inicio) throws IOException {
+        linhas(estado, transicoes, inicio);
+    }
+
+    // Escreve o cabeçalho e copia as transições já escritas para depois dele
+    public void concluir (int numeroEstados, int estadoInicial, long[] estadosFinais) throws IOException {
+        descarregar();
+        destino = canal;
+        cabecalho(numeroEstados, estadoInicial, estadosFinais);
+        descarregar();
+        long tamanho = corpo.size();
+        for (long copiados = 0; copiados < tamanho; ) {
+            copiados += corpo.transferTo(copiados, tamanho - copiados, canal);
+        }
+        concluido = true;
+    }
+
+    @Override
+    public void close () throws IOException {
+        try {
+            if (corpo != null) {
+                corpo.close();
+            }
+        } finally {
+            if (!concluido) {
+                canal.truncate(0);
+            }
+            canal.close();
+        }
+    }
+
+    private void cabecalho (int numeroEstados, int estadoInicial, long[] estadosFinais) throws IOException {
+        boolean comComentarios = comentarios != SEM_COMENTARIOS;
+
+        escrever("AFD");
+        if (comComentarios) {
+            escrever(" # (Linha 1) Representação do formalismo");
+        }
+        escrever('\n');
+
+        // Linha 2: os estados
+        inteiro(numeroEstados);
+        for (int estado = 0; estado < numeroEstados; estado++) {
+            escrever(' ');
+            estado(estado);
+        }
+        if (comComentarios) {
+            escrever(" # (Linha 2) ");
+            inteiro(numeroEstados);
+            escrever(" estados: ");
+            lista(numeroEstados, null, this::estado);
+        }
+        escrever('\n');
+
+        // Linha 3: os símbolos
+        inteiro(simbolos.length);
+        for (byte[] simbolo : simbolos) {
+            escrever(' ');
+            escrever(simbolo);
+        }
+        if (comComentarios) {
+            escrever(" # (Linha 3) ");
+            inteiro(simbolos.length);
+            escrever(" símbolos: ");
+            lista(simbolos.length, null, a -> escrever(simbolos[a]));
+        }
+        escrever('\n');
+
+        // Linha 4: o estado inicial
+        estado(estadoInicial);
+        if (comComentarios) {
+            escrever(" # (Linha 4) O estado inicial é o ");
+            estado(estadoInicial);
+        }
+        escrever('\n');
+
+        // Linha 5: os estados finais
+        int numeroFinais = 0;
+        for (long palavra : estadosFinais) {
+            numeroFinais += Long.bitCount(palavra);
+        }
+        inteiro(numeroFinais);
+        for (int i = 0; i < estadosFinais.length; i++) {
+            for (long bits = estadosFinais[i]; bits != 0; bits &= bits - 1) {
+                escrever(' ');
+                estado((i << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        if (comComentarios) {
+            escrever(numeroFinais == 1 ? " # (Linha 5) Possui 1 estado final: o " : " # (Linha 5) Possui ");
+            if (numeroFinais != 1) {
+                inteiro(numeroFinais);
+                escrever(" estados finais: ");
+            }
+            lista(numeroFinais, estadosFinais, this::estado);
+        }
+        escrever('\n');
+    }
+
+    private interface Item {
+        void escrever (int i) throws IOException;
+    }
+
+    // Lista "a, b e c" dos itens 0 .. quantidade - 1 (ou, com 'bits', dos índices dos bits ligados), resumida com
+    // COMENTARIOS_RESUMIDOS
+    private void lista (int quantidade, long[] bits, Item item) throws IOException {
+        int limite = comentarios == COMENTARIOS_RESUMIDOS && quantidade > LIMITE_LISTA + 1 ? LIMITE_LISTA : quantidade;
+        int i = 0;
+        int indice = -1;
+        while (i < quantidade) {
+            indice = proximo(bits, indice + 1);
+            if (i < limite) {
+                item.escrever(indice);
+                if (i == quantidade - 2) {
+                    escrever(" e ");
+                } else if (i != quantidade - 1) {
+                    escrever(SEPARADOR);
+                }
+            } else if (i == quantidade - 1) {
+                escrever("... e ");
+                item.escrever(indice);
+            }
+            i++;
+        }
+    }
+
+    // O primeiro índice >= 'de' (com 'bits', o primeiro bit ligado a partir de 'de')
+    private static int proximo (long[] bits, int de) {
+        if (bits == null) {
+            return de;
+        }
+        int i = de >>> 6;
+        if (i >= bits.length) {
+            return -1;
+        }
+        long palavra = bits[i] & (-1L << de);
+        while (palavra == 0) {
+            if (++i == bits.length) {
+                return -1;
+            }
+            palavra = bits[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(palavra);
+    }
+
+    // Linhas "estado símbolo destino" das transições definidas do estado, com os comentários
+    private void linhas (int estado, int[] transicoes, int inicio) throws IOException {
+        for (int a = 0; a < simbolos.length; a++) {
+            int proximoEstado = transicoes[inicio + a];
+            if (proximoEstado != TabelaAFD.SEM_TRANSICAO) {
+                linha(estado, a, proximoEstado);
+            }
+        }
+    }
+
+    private void linha (int estado, int a, int proximoEstado) throws IOException {
+        estado(estado);
+        escrever(' ');
+        escrever(simbolos[a]);
+        escrever(' ');
+        estado(proximoEstado);
+        boolean primeira = primeiraTransicao;
+        primeiraTransicao = false;
+        if (comentarios == COMENTARIOS_COMPLETOS || (comentarios == COMENTARIOS_RESUMIDOS && primeira)) {
+            // Como no arquivo de exemplo, o "(Linha 6 em diante)" acompanha a transição (primeiro estado, primeiro símbolo)
+            escrever(comentarios == COMENTARIOS_RESUMIDOS || (estado == 0 && a == 0) ? COMENTARIO_LINHA_6 : COMENTARIO_TRANSICAO);
+            estado(estado);
+            escrever(SEPARADOR);
+            escrever(simbolos[a]);
+            escrever(IGUAL);
+            estado(proximoEstado);
+        }
+        escrever('\n');
+    }
+
+    private void estado (int estado) throws IOException {
+        if (nomes != null) {
+            escrever(nomes[estado]);
+        } else {
+            inteiro(estado);
+        }
+    }
+
+    // Escreve o inteiro em decimal, sem criar uma String
+    private void inteiro (int valor) throws IOException {
+        garantir(11);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            valor = -valor;
+        }
+        int n = 0;
+        do {
+            digitos[n++] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        while (n > 0) {
+            buffer.put(digitos[--n]);
+        }
+    }
+
+    private void escrever (char c) throws IOException {
+        garantir(1);
+        buffer.put((byte) c);
+    }
+
+    private void escrever (String texto) throws IOException {
+        escrever(bytes(texto));
+    }
+
+    private void escrever (byte[] dados) throws IOException {
+        for (int i = 0; i < dados.length; ) {
+            garantir(1);
+            int parte = Math.min(buffer.remaining(), dados.length - i);
+            buffer.put(dados, i, parte);
+            i += parte;
+        }
+    }
+
+    private void garantir (int tamanho) throws IOException {
+        if (buffer.remaining() < tamanho) {
+            descarregar();
+        }
+    }
+
+    private void descarregar () throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            destino.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] bytes (String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package comum;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Evento do Java Flight Recorder para uma fase da conversão ou da minimização (a leitura da descrição, a construção de
+// subconjuntos, o refinamento da partição, a escrita do arquivo, ...). Com uma gravação do JFR ligada
+// (java -XX:StartFlightRecording=filename=gravacao.jfr -jar converter.jar ...), cada fase aparece na linha do tempo
+// com a sua duração e os tamanhos envolvidos, e pode ser listada com "jfr print --events sin131.Fase gravacao.jfr".
+//
+// Sem gravação, iniciar e concluir não fazem nada além de criar o objeto (o JIT elimina o resto), então os eventos
+// ficam sempre nas fases. Os campos que não se aplicam à fase ficam em 0.
+@Name("sin131.Fase")
+@Label("Fase")
+@Category("SIN131")
+@Description("Uma fase da conversão ou da minimização, com os tamanhos envolvidos")
+@StackTrace(false)
+public final class EventoFase extends Event {
+    @Label("Módulo")
+    private String modulo;
+
+    @Label("Fase")
+    private String fase;
+
+    @Label("Estados de entrada")
+    @Description("Estados do autômato que a fase recebe")
+    private long estadosEntrada;
+
+    @Label("Estados")
+    @Description("Estados do autômato que a fase produz (ou lê, na leitura)")
+    private long estados;
+
+    @Label("Símbolos")
+    private long simbolos;
+
+    @Label("Bytes")
+    @Description("Bytes lidos ou escritos")
+    @DataAmount
+    private long bytes;
+
+    private EventoFase () {
+    }
+
+    public static EventoFase iniciar (String modulo, String fase) {
+        EventoFase evento = new EventoFase();
+        evento.modulo = modulo;
+        evento.fase = fase;
+        evento.begin();
+        return evento;
+    }
+
+    public void concluir (long estadosEntrada, long estados, long simbolos, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.estadosEntrada = estadosEntrada;
+            this.estados = estados;
+            this.simbolos = simbolos;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
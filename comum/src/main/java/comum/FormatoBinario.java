@@ -0,0 +1,197 @@
+package comum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Formato binário do AFD compilado (arquivos .afdb). Evita a leitura do formato texto (com os comentários de cada linha)
+// a cada execução: o arquivo é mapeado em memória e a tabela de transições é usada diretamente, sem criar um objeto por
+// estado. Todos os inteiros são little-endian e as seções começam em posições múltiplas de 8:
+//
+//   cabeçalho (32 bytes): "AFDB", versão, número de estados, número de símbolos, estado inicial (-1 se não existe),
+//                         tamanho em bytes da tabela de símbolos, 8 bytes reservados (zero)
+//   tabela de símbolos:   para cada símbolo, o tamanho em bytes (int) seguido do símbolo em UTF-8
+//   estados finais:       mapa de bits, um long para cada 64 estados
+//   transições:           int[estados * símbolos], transicoes[estado * símbolos + símbolo] = destino ou -1
+//
+// Os nomes dos estados não são guardados: no formato binário o estado é o seu índice.
+public final class FormatoBinario {
+    public static final String EXTENSAO = ".afdb";
+    public static final int VERSAO = 1;
+
+    // "AFDB" lido como um int little-endian
+    private static final int MAGICO = 0x42444641;
+    private static final int TAMANHO_CABECALHO = 32;
+    private static final int TAMANHO_BUFFER = 1 << 16;
+    // Transições maiores que isso (em bytes) são lidas por partes, pois um MappedByteBuffer é limitado a 2 GiB
+    private static final int TAMANHO_JANELA = 1 << 30;
+
+    private FormatoBinario () {
+    }
+
+    // O formato da saída é escolhido pela extensão do arquivo
+    public static boolean usarFormatoBinario (String arquivoSaida) {
+        return arquivoSaida.endsWith(EXTENSAO);
+    }
+
+    // O formato da entrada é reconhecido pelos primeiros bytes do arquivo, qualquer que seja a extensão
+    public static boolean eBinario (Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer inicio = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (inicio.hasRemaining() && canal.read(inicio) != -1) {
+            }
+            return !inicio.hasRemaining() && inicio.getInt(0) == MAGICO;
+        }
+    }
+
+    public static TabelaAFD ler (Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanhoArquivo = canal.size();
+            if (tamanhoArquivo < TAMANHO_CABECALHO) {
+                throw erro(arquivo, "arquivo menor que o cabeçalho");
+            }
+            ByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+            if (cabecalho.getInt(0) != MAGICO) {
+                throw erro(arquivo, "não é um AFD no formato binário");
+            }
+            int versao = cabecalho.getInt(4);
+            if (versao != VERSAO) {
+                throw erro(arquivo, "versão " + versao + " não suportada (esperada " + VERSAO + ")");
+            }
+            int numeroEstados = cabecalho.getInt(8);
+            int numeroSimbolos = cabecalho.getInt(12);
+            int estadoInicial = cabecalho.getInt(16);
+            int tamanhoSimbolos = cabecalho.getInt(20);
+            if (numeroEstados < 0 || numeroSimbolos < 0 || tamanhoSimbolos < 0
+                    || estadoInicial < TabelaAFD.SEM_TRANSICAO || estadoInicial >= numeroEstados) {
+                throw erro(arquivo, "cabeçalho inválido");
+            }
+
+            long inicioFinais = TAMANHO_CABECALHO + alinhar(tamanhoSimbolos);
+            int palavrasFinais = (numeroEstados + 63) >>> 6;
+            long inicioTransicoes = inicioFinais + 8L * palavrasFinais;
+            long numeroTransicoes = TabelaAFD.tamanhoTabela(arquivo, numeroEstados, numeroSimbolos);
+            if (tamanhoArquivo != inicioTransicoes + 4 * numeroTransicoes) {
+                throw erro(arquivo, "tamanho do arquivo não corresponde ao cabeçalho (arquivo truncado?)");
+            }
+
+            // Símbolos e estados finais
+            ByteBuffer secao = canal.map(FileChannel.MapMode.READ_ONLY, TAMANHO_CABECALHO, inicioTransicoes - TAMANHO_CABECALHO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            String[] simbolos = new String[numeroSimbolos];
+            int posicao = 0;
+            for (int i = 0; i < numeroSimbolos; i++) {
+                int tamanho = posicao + 4 <= tamanhoSimbolos ? secao.getInt(posicao) : -1;
+                if (tamanho < 0 || tamanho > tamanhoSimbolos - posicao - 4) {
+                    throw erro(arquivo, "tabela de símbolos inválida");
+                }
+                byte[] bytes = new byte[tamanho];
+                secao.get(posicao + 4, bytes);
+                simbolos[i] = new String(bytes, StandardCharsets.UTF_8);
+                posicao += 4 + tamanho;
+            }
+            long[] estadosFinais = new long[palavrasFinais];
+            secao.position((int) (inicioFinais - TAMANHO_CABECALHO));
+            secao.asLongBuffer().get(estadosFinais);
+
+            IntBuffer transicoes = lerTransicoes(canal, inicioTransicoes, (int) numeroTransicoes);
+            for (int i = 0; i < numeroTransicoes; i++) {
+                int destino = transicoes.get(i);
+                if (destino < TabelaAFD.SEM_TRANSICAO || destino >= numeroEstados) {
+                    throw erro(arquivo, "transição " + i + " leva ao estado inexistente " + destino);
+                }
+            }
+            return new TabelaAFD(simbolos, numeroEstados, estadoInicial, estadosFinais, transicoes);
+        }
+    }
+
+    // A tabela é usada diretamente sobre o arquivo mapeado; só quando ela passa do limite de um mapeamento é que ela é
+    // copiada, por janelas, para um vetor
+    private static IntBuffer lerTransicoes (FileChannel canal, long inicio, int numeroTransicoes) throws IOException {
+        long tamanho = 4L * numeroTransicoes;
+        if (tamanho <= Integer.MAX_VALUE) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanho).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        int[] transicoes = new int[numeroTransicoes];
+        int copiadas = 0;
+        while (copiadas < numeroTransicoes) {
+            int parte = Math.min(TAMANHO_JANELA / 4, numeroTransicoes - copiadas);
+            canal.map(FileChannel.MapMode.READ_ONLY, inicio + 4L * copiadas, 4L * parte).order(ByteOrder.LITTLE_ENDIAN)
+                .asIntBuffer().get(transicoes, copiadas, parte);
+            copiadas += parte;
+        }
+        return IntBuffer.wrap(transicoes);
+    }
+
+    public static void escrever (TabelaAFD tabela, Path arquivo) throws IOException {
+        int numeroEstados = tabela.getNumeroEstados();
+        int numeroSimbolos = tabela.getNumeroSimbolos();
+        byte[][] simbolos = new byte[numeroSimbolos][];
+        int tamanhoSimbolos = 0;
+        for (int i = 0; i < numeroSimbolos; i++) {
+            simbolos[i] = tabela.getSimbolo(i).getBytes(StandardCharsets.UTF_8);
+            tamanhoSimbolos += 4 + simbolos[i].length;
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGICO).putInt(VERSAO).putInt(numeroEstados).putInt(numeroSimbolos).putInt(tabela.getEstadoInicial())
+                .putInt(tamanhoSimbolos).putLong(0);
+
+            for (byte[] simbolo : simbolos) {
+                garantir(canal, buffer, 4);
+                buffer.putInt(simbolo.length);
+                for (int i = 0; i < simbolo.length; ) {
+                    garantir(canal, buffer, 1);
+                    int parte = Math.min(buffer.remaining(), simbolo.length - i);
+                    buffer.put(simbolo, i, parte);
+                    i += parte;
+                }
+            }
+            for (long i = tamanhoSimbolos; i < alinhar(tamanhoSimbolos); i++) {
+                garantir(canal, buffer, 1);
+                buffer.put((byte) 0);
+            }
+
+            for (long palavra : tabela.copiarEstadosFinais()) {
+                garantir(canal, buffer, 8);
+                buffer.putLong(palavra);
+            }
+
+            for (int estado = 0; estado < numeroEstados; estado++) {
+                for (int simbolo = 0; simbolo < numeroSimbolos; simbolo++) {
+                    garantir(canal, buffer, 4);
+                    buffer.putInt(tabela.getTransicao(estado, simbolo));
+                }
+            }
+            descarregar(canal, buffer);
+        }
+    }
+
+    private static long alinhar (long tamanho) {
+        return (tamanho + 7) & ~7L;
+    }
+
+    private static void garantir (FileChannel canal, ByteBuffer buffer, int tamanho) throws IOException {
+        if (buffer.remaining() < tamanho) {
+            descarregar(canal, buffer);
+        }
+    }
+
+    private static void descarregar (FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static IOException erro (Path arquivo, String mensagem) {
+        return new IOException(arquivo + ": " + mensagem);
+    }
+}
@@ -0,0 +1,64 @@
+package comum;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de durações (em nanossegundos) com faixas em potências de 2: a faixa i conta os valores v com
+// 2^(i-1) <= v < 2^i (a faixa 0 conta o zero). Registrar um valor não aloca nada e não usa travas, então pode ficar
+// ligado no caminho principal de qualquer thread. Os quantis são aproximados pelo limite superior da faixa, ou seja,
+// com erro de até 2x, o suficiente para distinguir microssegundos de milissegundos.
+public final class Histograma {
+    private static final int FAIXAS = 64;
+
+    private final AtomicLongArray faixas = new AtomicLongArray(FAIXAS);
+    private final LongAdder contagem = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    public void registrar (long nanos) {
+        long valor = Math.max(0, nanos);
+        faixas.incrementAndGet(FAIXAS - Long.numberOfLeadingZeros(valor));
+        contagem.increment();
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    public long getContagem () {
+        return contagem.sum();
+    }
+
+    public long getSoma () {
+        return soma.sum();
+    }
+
+    public long getMaximo () {
+        return maximo.get();
+    }
+
+    public double getMedia () {
+        long n = contagem.sum();
+        return n == 0 ? 0 : (double) soma.sum() / n;
+    }
+
+    // Limite superior da faixa que contém o quantil q (0 < q <= 1), limitado ao máximo registrado
+    public long quantil (double q) {
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            total += faixas.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long posicao = (long) Math.ceil(q * total);
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += faixas.get(i);
+            if (acumulado >= posicao) {
+                long limite = i == 0 ? 0 : (i == FAIXAS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                return Math.min(limite, maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+}
@@ -0,0 +1,292 @@
+package comum;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Leitor da descrição de um autômato (o formato dos arquivos de exemplo), usado pelos três programas:
+//
+//   Linha 1: tipo do autômato (AFD, AFN)
+//   Linha 2: número de estados seguido dos estados
+//   Linha 3: número de símbolos seguido dos símbolos
+//   Linha 4: estado inicial
+//   Linha 5: número de estados finais seguido dos estados finais
+//   Demais:  estado símbolo destino [destino ...]
+//
+// Em um AFN o símbolo '_' (a palavra vazia) nas transições indica uma transição vazia (ε), que chega ao consumidor como
+// SIMBOLO_VAZIO. Isso só vale se '_' não foi declarado como um símbolo comum na linha 3.
+//
+// Tudo que vem depois de um '#' no início de um token é comentário, assim como o restante das linhas do cabeçalho depois
+// dos valores esperados. Linhas em branco (ou só com comentário) são ignoradas.
+//
+// O arquivo é lido em blocos para um buffer de bytes e os tokens são procurados diretamente nele: nas transições os
+// nomes dos estados e dos símbolos viram índices por uma tabela de espalhamento sobre os bytes, sem criar Strings nem
+// vetores por linha. Qualquer erro é informado com a linha e a coluna (ErroDescricao).
+//
+// O cabeçalho é lido no construtor; as transições são lidas depois, por lerTransicoes.
+public final class LeitorDescricao implements Closeable {
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    // Índice de símbolo das transições vazias de um AFN
+    public static final int SIMBOLO_VAZIO = -1;
+
+    // Recebe as transições de uma linha. 'simbolo' é o índice do símbolo ou SIMBOLO_VAZIO, e
+    // 'destinos[0 .. numeroDestinos)' são os índices dos estados de destino; o vetor é reaproveitado entre as chamadas
+    public interface Transicoes {
+        void transicao (int origem, int simbolo, int[] destinos, int numeroDestinos);
+    }
+
+    private final Path arquivo;
+    private final InputStream entrada;
+    private byte[] buffer;
+    private int ocupado;
+    private boolean fimDaEntrada;
+    // Linha atual: buffer[inicioLinha, fimLinha), sem o '\n' (e o '\r')
+    private int numeroLinha;
+    private int inicioLinha;
+    private int fimLinha;
+    private int proximaLinha;
+    // Até onde o '\n' da próxima linha já foi procurado
+    private int busca;
+    // Token atual: buffer[inicioToken, posicao)
+    private int posicao;
+    private int inicioToken;
+
+    private final TabelaNomes estados;
+    private final TabelaNomes simbolos;
+    private String tipo;
+    private String[] nomesEstados;
+    private String[] nomesSimbolos;
+    private int estadoInicial;
+    private int[] estadosFinais;
+    private int[] destinos;
+
+    public LeitorDescricao (Path arquivo) throws IOException {
+        this.arquivo = arquivo;
+        this.entrada = Files.newInputStream(arquivo);
+        this.buffer = new byte[TAMANHO_BUFFER];
+        this.estados = new TabelaNomes();
+        this.simbolos = new TabelaNomes();
+        this.destinos = new int[8];
+        try {
+            lerCabecalho();
+        } catch (IOException | RuntimeException e) {
+            entrada.close();
+            throw e;
+        }
+    }
+
+    public Path getArquivo () {
+        return arquivo;
+    }
+
+    public String getTipo () {
+        return tipo;
+    }
+
+    // Nomes dos estados; o índice de cada estado é a sua posição na linha 2
+    public String[] getEstados () {
+        return nomesEstados;
+    }
+
+    // Símbolos; o índice de cada símbolo é a sua posição na linha 3
+    public String[] getSimbolos () {
+        return nomesSimbolos;
+    }
+
+    public int getEstadoInicial () {
+        return estadoInicial;
+    }
+
+    public int[] getEstadosFinais () {
+        return estadosFinais;
+    }
+
+    private void lerCabecalho () throws IOException {
+        exigirLinha("o tipo do autômato");
+        proximoToken();
+        tipo = textoDoToken();
+
+        exigirLinha("os estados");
+        int n = lerNumero("o número de estados");
+        nomesEstados = new String[n];
+        for (int i = 0; i < n; i++) {
+            exigirToken("estados", i, n);
+            if (estados.adicionar(buffer, inicioToken, posicao - inicioToken) != i) {
+                throw erro(inicioToken, "estado repetido: " + textoDoToken());
+            }
+            nomesEstados[i] = textoDoToken();
+        }
+
+        exigirLinha("os símbolos");
+        n = lerNumero("o número de símbolos");
+        nomesSimbolos = new String[n];
+        for (int i = 0; i < n; i++) {
+            exigirToken("símbolos", i, n);
+            if (simbolos.adicionar(buffer, inicioToken, posicao - inicioToken) != i) {
+                throw erro(inicioToken, "símbolo repetido: " + textoDoToken());
+            }
+            nomesSimbolos[i] = textoDoToken();
+        }
+
+        exigirLinha("o estado inicial");
+        proximoToken();
+        estadoInicial = indiceDoEstado();
+
+        exigirLinha("os estados finais");
+        n = lerNumero("o número de estados finais");
+        estadosFinais = new int[n];
+        for (int i = 0; i < n; i++) {
+            exigirToken("estados finais", i, n);
+            estadosFinais[i] = indiceDoEstado();
+        }
+    }
+
+    // Lê as linhas de transição até o fim do arquivo
+    public void lerTransicoes (Transicoes consumidor) throws IOException {
+        while (proximaLinhaUtil()) {
+            proximoToken();
+            int origem = indiceDoEstado();
+            if (!proximoToken()) {
+                throw erro(posicao, "esperado o símbolo da transição");
+            }
+            int simbolo = simbolos.indice(buffer, inicioToken, posicao - inicioToken);
+            if (simbolo < 0) {
+                if (posicao - inicioToken != 1 || buffer[inicioToken] != '_') {
+                    throw erro(inicioToken, "símbolo desconhecido: " + textoDoToken());
+                }
+                if (!tipo.equals("AFN")) {
+                    throw erro(inicioToken, "transição vazia (_) só é permitida em um AFN");
+                }
+                simbolo = SIMBOLO_VAZIO;
+            }
+            int numeroDestinos = 0;
+            while (proximoToken()) {
+                if (numeroDestinos == destinos.length) {
+                    destinos = Arrays.copyOf(destinos, destinos.length * 2);
+                }
+                destinos[numeroDestinos++] = indiceDoEstado();
+            }
+            consumidor.transicao(origem, simbolo, destinos, numeroDestinos);
+        }
+    }
+
+    @Override
+    public void close () throws IOException {
+        entrada.close();
+    }
+
+    private void exigirLinha (String conteudo) throws IOException {
+        if (!proximaLinhaUtil()) {
+            throw new ErroDescricao(arquivo, numeroLinha + 1, 1, "fim do arquivo: esperada a linha com " + conteudo);
+        }
+    }
+
+    private void exigirToken (String conteudo, int i, int n) throws IOException {
+        if (!proximoToken()) {
+            throw erro(posicao, "esperados " + n + " " + conteudo + ", encontrados " + i);
+        }
+    }
+
+    private int lerNumero (String conteudo) throws IOException {
+        proximoToken();
+        long n = 0;
+        for (int i = inicioToken; i < posicao; i++) {
+            int digito = buffer[i] - '0';
+            if (digito < 0 || digito > 9 || (n = n * 10 + digito) > Integer.MAX_VALUE) {
+                throw erro(inicioToken, "esperado " + conteudo + ", encontrado " + textoDoToken());
+            }
+        }
+        return (int) n;
+    }
+
+    private int indiceDoEstado () throws IOException {
+        int i = estados.indice(buffer, inicioToken, posicao - inicioToken);
+        if (i < 0) {
+            throw erro(inicioToken, "estado desconhecido: " + textoDoToken());
+        }
+        return i;
+    }
+
+    private String textoDoToken () {
+        return new String(buffer, inicioToken, posicao - inicioToken, StandardCharsets.UTF_8);
+    }
+
+    private ErroDescricao erro (int posicaoNaLinha, String mensagem) {
+        return new ErroDescricao(arquivo, numeroLinha, posicaoNaLinha - inicioLinha + 1, mensagem);
+    }
+
+    // Avança para o próximo token da linha atual. Retorna falso no fim da linha ou no início de um comentário
+    private boolean proximoToken () {
+        while (posicao < fimLinha && eEspaco(buffer[posicao])) {
+            posicao++;
+        }
+        if (posicao == fimLinha || buffer[posicao] == '#') {
+            inicioToken = posicao = fimLinha;
+            return false;
+        }
+        inicioToken = posicao;
+        while (posicao < fimLinha && !eEspaco(buffer[posicao])) {
+            posicao++;
+        }
+        return true;
+    }
+
+    // Avança para a próxima linha que tem algum token, deixando a posição no início dela
+    private boolean proximaLinhaUtil () throws IOException {
+        while (proximaLinha()) {
+            if (proximoToken()) {
+                posicao = inicioLinha;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean proximaLinha () throws IOException {
+        while (true) {
+            int quebra = busca;
+            while (quebra < ocupado && buffer[quebra] != '\n') {
+                quebra++;
+            }
+            if (quebra < ocupado || (fimDaEntrada && proximaLinha < ocupado)) {
+                numeroLinha++;
+                inicioLinha = proximaLinha;
+                fimLinha = quebra;
+                if (fimLinha > inicioLinha && buffer[fimLinha - 1] == '\r') {
+                    fimLinha--;
+                }
+                proximaLinha = busca = Math.min(quebra + 1, ocupado);
+                posicao = inicioLinha;
+                return true;
+            }
+            if (fimDaEntrada) {
+                return false;
+            }
+            busca = quebra;
+
+            // A linha incompleta é levada para o começo do buffer, que cresce se ela ocupar o buffer inteiro
+            System.arraycopy(buffer, proximaLinha, buffer, 0, ocupado - proximaLinha);
+            ocupado -= proximaLinha;
+            busca -= proximaLinha;
+            proximaLinha = 0;
+            if (ocupado == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int lidos = entrada.read(buffer, ocupado, buffer.length - ocupado);
+            if (lidos == -1) {
+                fimDaEntrada = true;
+            } else {
+                ocupado += lidos;
+            }
+        }
+    }
+
+    private static boolean eEspaco (byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+}
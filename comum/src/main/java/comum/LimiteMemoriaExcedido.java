@@ -0,0 +1,15 @@
+package comum;
+
+// A memória fora do heap pedida a uma ArenaForaDoHeap passaria do limite configurado. A mensagem traz o pedido, o uso
+// de cada finalidade da arena e, quando quem usava a arena acrescenta, o ponto em que o trabalho foi interrompido
+public final class LimiteMemoriaExcedido extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public LimiteMemoriaExcedido (String mensagem) {
+        super(mensagem);
+    }
+
+    public LimiteMemoriaExcedido (String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
@@ -0,0 +1,204 @@
+package comum;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+// Conjunto de métricas de um programa (ou de um autômato, no modo servidor): contadores, histogramas de duração e
+// medidores (valores calculados na hora da leitura, como taxas e médias). Os contadores são LongAdder e os histogramas
+// não usam travas, então podem ser atualizados no caminho principal de várias threads sem alocar nada; só o cadastro
+// das métricas e a leitura (JSON ou JMX) passam pela trava do objeto.
+//
+// As métricas podem ser lidas por JMX (registrarJMX, com o nome "sin131:type=Metricas,name=<nome>", visível no JConsole
+// e no VisualVM) e escritas em um arquivo JSON (escreverJSON, usado pela opção --stats dos programas).
+public final class Metricas {
+    private final String nome;
+    private final Map<String, LongAdder> contadores = new LinkedHashMap<>();
+    private final Map<String, Histograma> histogramas = new LinkedHashMap<>();
+    private final Map<String, DoubleSupplier> medidores = new LinkedHashMap<>();
+    private ObjectName registroJMX;
+
+    public Metricas (String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome () {
+        return nome;
+    }
+
+    // O contador com o nome dado, criado na primeira chamada. O objeto deve ser guardado por quem atualiza o contador
+    public synchronized LongAdder contador (String nome) {
+        return contadores.computeIfAbsent(nome, n -> new LongAdder());
+    }
+
+    public synchronized Histograma histograma (String nome) {
+        return histogramas.computeIfAbsent(nome, n -> new Histograma());
+    }
+
+    public synchronized void medidor (String nome, DoubleSupplier valor) {
+        medidores.put(nome, valor);
+    }
+
+    // Nome e valor de todas as métricas, na ordem em que foram cadastradas. Um histograma vira cinco valores:
+    // nome.contagem, nome.media, nome.p50, nome.p99 e nome.max (em nanossegundos)
+    public synchronized Map<String, Number> valores () {
+        Map<String, Number> valores = new LinkedHashMap<>();
+        contadores.forEach((n, c) -> valores.put(n, c.sum()));
+        medidores.forEach((n, m) -> valores.put(n, m.getAsDouble()));
+        histogramas.forEach((n, h) -> {
+            valores.put(n + ".contagem", h.getContagem());
+            valores.put(n + ".media", h.getMedia());
+            valores.put(n + ".p50", h.quantil(0.5));
+            valores.put(n + ".p99", h.quantil(0.99));
+            valores.put(n + ".max", h.getMaximo());
+        });
+        return valores;
+    }
+
+    public String json () {
+        StringBuilder sb = new StringBuilder();
+        json(sb, "");
+        return sb.toString();
+    }
+
+    private void json (StringBuilder sb, String recuo) {
+        sb.append("{");
+        String separador = "\n";
+        for (Map.Entry<String, Number> valor : valores().entrySet()) {
+            sb.append(separador).append(recuo).append("  \"").append(valor.getKey()).append("\": ").append(numero(valor.getValue()));
+            separador = ",\n";
+        }
+        sb.append("\n").append(recuo).append("}");
+    }
+
+    private static String numero (Number valor) {
+        if (valor instanceof Double) {
+            double d = valor.doubleValue();
+            // NaN e infinito não existem em JSON
+            if (!Double.isFinite(d)) {
+                return "null";
+            }
+            return d == Math.rint(d) && Math.abs(d) < 1e15 ? Long.toString((long) d) : Double.toString(d);
+        }
+        return valor.toString();
+    }
+
+    // Escreve as métricas de cada conjunto em um objeto JSON com o nome do conjunto como chave
+    public static void escreverJSON (Path arquivo, Metricas... conjuntos) throws IOException {
+        StringBuilder sb = new StringBuilder("{");
+        String separador = "\n";
+        for (Metricas metricas : conjuntos) {
+            sb.append(separador).append("  \"").append(metricas.getNome()).append("\": ");
+            metricas.json(sb, "  ");
+            separador = ",\n";
+        }
+        sb.append("\n}\n");
+        Files.write(arquivo, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Registra as métricas no MBeanServer da plataforma. Um registro anterior com o mesmo nome (um autômato recarregado
+    // no modo servidor, por exemplo) é substituído
+    public void registrarJMX () {
+        registrarJMX(nome);
+    }
+
+    // O mesmo, com outro nome no JMX (no modo servidor, o nome dado ao autômato)
+    public synchronized void registrarJMX (String nomeJMX) {
+        removerJMX();
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objeto = new ObjectName("sin131:type=Metricas,name=" + ObjectName.quote(nomeJMX));
+            try {
+                servidor.unregisterMBean(objeto);
+            } catch (InstanceNotFoundException e) {
+                // Não havia registro anterior
+            }
+            servidor.registerMBean(new MBean(), objeto);
+            registroJMX = objeto;
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar as métricas " + nomeJMX + " no JMX", e);
+        }
+    }
+
+    public synchronized void removerJMX () {
+        if (registroJMX == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registroJMX);
+        } catch (JMException e) {
+            // Já foi removido
+        }
+        registroJMX = null;
+    }
+
+    // Cada métrica é um atributo somente leitura. A lista de atributos é montada a cada getMBeanInfo, então as métricas
+    // cadastradas depois do registro também aparecem
+    private final class MBean implements DynamicMBean {
+        @Override
+        public Object getAttribute (String atributo) throws AttributeNotFoundException {
+            Number valor = valores().get(atributo);
+            if (valor == null) {
+                throw new AttributeNotFoundException(atributo);
+            }
+            return valor;
+        }
+
+        @Override
+        public AttributeList getAttributes (String[] atributos) {
+            Map<String, Number> valores = valores();
+            AttributeList lista = new AttributeList();
+            for (String atributo : atributos) {
+                if (valores.containsKey(atributo)) {
+                    lista.add(new Attribute(atributo, valores.get(atributo)));
+                }
+            }
+            return lista;
+        }
+
+        @Override
+        public void setAttribute (Attribute atributo) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("As métricas são somente leitura: " + atributo.getName());
+        }
+
+        @Override
+        public AttributeList setAttributes (AttributeList atributos) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke (String operacao, Object[] parametros, String[] assinatura) throws ReflectionException {
+            // Nenhuma operação é exposta, só os atributos
+            throw new ReflectionException(new NoSuchMethodException(operacao));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo () {
+            List<MBeanAttributeInfo> atributos = new ArrayList<>();
+            for (Map.Entry<String, Number> valor : valores().entrySet()) {
+                atributos.add(new MBeanAttributeInfo(valor.getKey(), valor.getValue().getClass().getName(), valor.getKey(), true, false, false));
+            }
+            return new MBeanInfo(Metricas.class.getName(), "Métricas de " + nome, atributos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+    }
+}
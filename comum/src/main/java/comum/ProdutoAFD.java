@@ -0,0 +1,248 @@
+package comum;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+// Construção do produto de dois AFDs sob demanda, para a interseção, a união e a diferença das linguagens (e a diferença
+// simétrica, usada por EquivalenciaAFD para encontrar uma palavra aceita por um só dos dois). Cada estado do produto é
+// um par (estado de A, estado de B), e só os pares alcançados a partir de (inicial de A, inicial de B) são criados, à
+// medida que as transições são pedidas. Os pares recebem os identificadores 0, 1, 2, ... na ordem em que aparecem (o 0
+// é o inicial) e são guardados codificados em um long (estado de A nos 32 bits altos, o de B nos baixos), com uma
+// tabela de espalhamento de endereçamento aberto, como em ConjuntosEstados.
+//
+// O alfabeto do produto tem os símbolos de A, na ordem de A, seguidos dos de B que não estão em A. Uma transição
+// indefinida (ou um símbolo que o AFD não tem) leva o componente ao estado morto, representado por
+// TabelaAFD.SEM_TRANSICAO no par. Os pares que já não podem aceitar nada pela operação (na interseção, os que têm um
+// componente morto; na união e na diferença simétrica, os dois; na diferença, o de A) não são criados: a transição
+// fica indefinida.
+//
+// Um objeto não é seguro entre threads; quem simula em várias threads usa um produto por thread.
+public final class ProdutoAFD {
+    public static final int INTERSECAO = 0;
+    public static final int UNIAO = 1;
+    public static final int DIFERENCA = 2;
+    public static final int DIFERENCA_SIMETRICA = 3;
+
+    // Valor de uma transição ainda não calculada; uma transição para um par morto vale MORTO; as demais valem o
+    // identificador do par de destino + 1
+    private static final int DESCONHECIDA = 0;
+    private static final int MORTO = -1;
+
+    private final TabelaAFD a;
+    private final TabelaAFD b;
+    private final int operacao;
+    private final String[] simbolos;
+    // Índice de cada símbolo do produto em A e em B, ou -1 se o AFD não tem o símbolo
+    private final int[] simboloA;
+    private final int[] simboloB;
+    private final int numeroSimbolos;
+
+    // pares[i] = par de identificador i
+    private long[] pares;
+    private int quantidade;
+    // posicoes[p] = identificador + 1 do par que ocupa a posição p, ou 0 se a posição está livre. O número de posições é
+    // uma potência de 2
+    private int[] posicoes;
+    // transicoes[par * numeroSimbolos + simbolo]
+    private int[] transicoes;
+
+    public ProdutoAFD (TabelaAFD a, TabelaAFD b, int operacao) {
+        if (operacao < INTERSECAO || operacao > DIFERENCA_SIMETRICA) {
+            throw new IllegalArgumentException("Operação desconhecida: " + operacao);
+        }
+        this.a = a;
+        this.b = b;
+        this.operacao = operacao;
+
+        LinkedHashMap<String, Integer> alfabeto = new LinkedHashMap<>();
+        for (int s = 0; s < a.getNumeroSimbolos(); s++) {
+            alfabeto.putIfAbsent(a.getSimbolo(s), alfabeto.size());
+        }
+        HashMap<String, Integer> indiceB = new HashMap<>();
+        for (int s = 0; s < b.getNumeroSimbolos(); s++) {
+            alfabeto.putIfAbsent(b.getSimbolo(s), alfabeto.size());
+            indiceB.put(b.getSimbolo(s), s);
+        }
+        this.simbolos = alfabeto.keySet().toArray(new String[0]);
+        this.numeroSimbolos = simbolos.length;
+        this.simboloA = new int[numeroSimbolos];
+        this.simboloB = new int[numeroSimbolos];
+        for (int s = 0; s < numeroSimbolos; s++) {
+            simboloA[s] = s < a.getNumeroSimbolos() ? s : -1;
+            simboloB[s] = indiceB.getOrDefault(simbolos[s], -1);
+        }
+
+        this.pares = new long[16];
+        this.posicoes = new int[32];
+        this.transicoes = new int[16 * numeroSimbolos];
+        adicionar(par(a.getEstadoInicial(), b.getEstadoInicial()));
+    }
+
+    // Lê a operação pelo nome (intersecao, uniao, diferenca ou simetrica); -1 se o nome não é um desses
+    public static int operacao (String nome) {
+        switch (nome) {
+            case "intersecao":
+                return INTERSECAO;
+            case "uniao":
+                return UNIAO;
+            case "diferenca":
+                return DIFERENCA;
+            case "simetrica":
+                return DIFERENCA_SIMETRICA;
+            default:
+                return -1;
+        }
+    }
+
+    private static long par (int estadoA, int estadoB) {
+        return ((long) estadoA << 32) | (estadoB & 0xFFFFFFFFL);
+    }
+
+    // O estado de A e o de B do par, ou TabelaAFD.SEM_TRANSICAO se o componente está no estado morto
+    public int getEstadoA (int estado) {
+        return (int) (pares[estado] >> 32);
+    }
+
+    public int getEstadoB (int estado) {
+        return (int) pares[estado];
+    }
+
+    // O par já não pode aceitar nenhuma palavra pela operação, qualquer que seja o restante
+    private boolean morto (int estadoA, int estadoB) {
+        switch (operacao) {
+            case INTERSECAO:
+                return estadoA == TabelaAFD.SEM_TRANSICAO || estadoB == TabelaAFD.SEM_TRANSICAO;
+            case UNIAO:
+            case DIFERENCA_SIMETRICA:
+                return estadoA == TabelaAFD.SEM_TRANSICAO && estadoB == TabelaAFD.SEM_TRANSICAO;
+            default:
+                return estadoA == TabelaAFD.SEM_TRANSICAO;
+        }
+    }
+
+    public boolean eFinal (int estado) {
+        int estadoA = getEstadoA(estado);
+        int estadoB = getEstadoB(estado);
+        boolean finalA = estadoA != TabelaAFD.SEM_TRANSICAO && a.eFinal(estadoA);
+        boolean finalB = estadoB != TabelaAFD.SEM_TRANSICAO && b.eFinal(estadoB);
+        switch (operacao) {
+            case INTERSECAO:
+                return finalA && finalB;
+            case UNIAO:
+                return finalA || finalB;
+            case DIFERENCA_SIMETRICA:
+                return finalA != finalB;
+            default:
+                return finalA && !finalB;
+        }
+    }
+
+    // Próximo par, ou TabelaAFD.SEM_TRANSICAO se ele está morto. Um par ainda não visto é criado
+    public int transicao (int estado, int simbolo) {
+        int t = transicoes[estado * numeroSimbolos + simbolo];
+        if (t > 0) {
+            return t - 1;
+        }
+        return t == MORTO ? TabelaAFD.SEM_TRANSICAO : calcular(estado, simbolo);
+    }
+
+    private int calcular (int estado, int simbolo) {
+        int destinoA = destino(a, getEstadoA(estado), simboloA[simbolo]);
+        int destinoB = destino(b, getEstadoB(estado), simboloB[simbolo]);
+        if (morto(destinoA, destinoB)) {
+            transicoes[estado * numeroSimbolos + simbolo] = MORTO;
+            return TabelaAFD.SEM_TRANSICAO;
+        }
+        int destino = adicionar(par(destinoA, destinoB));
+        transicoes[estado * numeroSimbolos + simbolo] = destino + 1;
+        return destino;
+    }
+
+    private static int destino (TabelaAFD afd, int estado, int simbolo) {
+        if (estado == TabelaAFD.SEM_TRANSICAO || simbolo < 0) {
+            return TabelaAFD.SEM_TRANSICAO;
+        }
+        return afd.getTransicao(estado, simbolo);
+    }
+
+    // Identificador do par; um par novo entra no fim
+    private int adicionar (long par) {
+        int mascara = posicoes.length - 1;
+        int p = espalhar(par) & mascara;
+        for (; posicoes[p] != 0; p = (p + 1) & mascara) {
+            if (pares[posicoes[p] - 1] == par) {
+                return posicoes[p] - 1;
+            }
+        }
+        if (quantidade == pares.length) {
+            pares = Arrays.copyOf(pares, quantidade * 2);
+            transicoes = Arrays.copyOf(transicoes, quantidade * 2 * numeroSimbolos);
+        }
+        int i = quantidade++;
+        pares[i] = par;
+        posicoes[p] = i + 1;
+
+        // A tabela de espalhamento é mantida com no máximo metade das posições ocupadas
+        if (quantidade * 2 > posicoes.length) {
+            posicoes = new int[posicoes.length * 2];
+            mascara = posicoes.length - 1;
+            for (int j = 0; j < quantidade; j++) {
+                int q = espalhar(pares[j]) & mascara;
+                while (posicoes[q] != 0) {
+                    q = (q + 1) & mascara;
+                }
+                posicoes[q] = j + 1;
+            }
+        }
+        return i;
+    }
+
+    private static int espalhar (long par) {
+        long h = par * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // Pares criados até agora
+    public int getNumeroEstados () {
+        return quantidade;
+    }
+
+    public int getNumeroSimbolos () {
+        return numeroSimbolos;
+    }
+
+    public String getSimbolo (int simbolo) {
+        return simbolos[simbolo];
+    }
+
+    // Índice do símbolo do produto em A e em B, ou -1 se o AFD não tem o símbolo
+    public int getSimboloA (int simbolo) {
+        return simboloA[simbolo];
+    }
+
+    public int getSimboloB (int simbolo) {
+        return simboloB[simbolo];
+    }
+
+    // O produto inteiro: todos os pares alcançáveis são criados, na ordem de uma busca em largura a partir do inicial
+    // (a ordem dos identificadores), e as transições para pares mortos ficam indefinidas
+    public TabelaAFD tabela () {
+        for (int estado = 0; estado < quantidade; estado++) {
+            for (int simbolo = 0; simbolo < numeroSimbolos; simbolo++) {
+                transicao(estado, simbolo);
+            }
+        }
+        int[] tabela = new int[quantidade * numeroSimbolos];
+        long[] estadosFinais = new long[(quantidade + 63) >>> 6];
+        for (int estado = 0; estado < quantidade; estado++) {
+            for (int simbolo = 0; simbolo < numeroSimbolos; simbolo++) {
+                tabela[estado * numeroSimbolos + simbolo] = transicao(estado, simbolo);
+            }
+            if (eFinal(estado)) {
+                estadosFinais[estado >>> 6] |= 1L << estado;
+            }
+        }
+        return new TabelaAFD(simbolos.clone(), quantidade, 0, estadosFinais, tabela);
+    }
+}
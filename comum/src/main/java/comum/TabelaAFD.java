@@ -0,0 +1,113 @@
+package comum;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Representação compacta de um AFD, compartilhada pelos três programas: os estados são os índices 0 .. numeroEstados - 1,
+// os símbolos são os índices do vetor 'simbolos' e a função de transição é uma tabela densa de inteiros. A tabela pode
+// estar em um vetor comum ou diretamente sobre um arquivo mapeado em memória (ver FormatoBinario).
+public final class TabelaAFD {
+    // Valor da tabela (e do estado inicial) quando a transição (ou o estado) não está definida
+    public static final int SEM_TRANSICAO = -1;
+
+    private final String[] simbolos;
+    private final int numeroEstados;
+    private final int estadoInicial;
+    // Mapa de bits dos estados finais: o bit 'estado' está ligado se o estado é final
+    private final long[] estadosFinais;
+    // transicoes[estado * numeroSimbolos + simbolo] = próximo estado, ou SEM_TRANSICAO
+    private final IntBuffer transicoes;
+
+    public TabelaAFD (String[] simbolos, int numeroEstados, int estadoInicial, long[] estadosFinais, IntBuffer transicoes) {
+        if (estadosFinais.length != (numeroEstados + 63) >>> 6 || transicoes.limit() != (long) numeroEstados * simbolos.length) {
+            throw new IllegalArgumentException("Tamanho da tabela incompatível com " + numeroEstados + " estados e " + simbolos.length + " símbolos");
+        }
+        this.simbolos = simbolos;
+        this.numeroEstados = numeroEstados;
+        this.estadoInicial = estadoInicial;
+        this.estadosFinais = estadosFinais;
+        this.transicoes = transicoes;
+    }
+
+    public TabelaAFD (String[] simbolos, int numeroEstados, int estadoInicial, long[] estadosFinais, int[] transicoes) {
+        this(simbolos, numeroEstados, estadoInicial, estadosFinais, IntBuffer.wrap(transicoes));
+    }
+
+    // Lê as transições restantes do leitor (depois do cabeçalho). Como na Minimizacao, só o primeiro destino de cada
+    // transição é usado
+    public static TabelaAFD ler (LeitorDescricao leitor) throws IOException {
+        int numeroEstados = leitor.getEstados().length;
+        int numeroSimbolos = leitor.getSimbolos().length;
+        int[] transicoes = new int[tamanhoTabela(leitor.getArquivo(), numeroEstados, numeroSimbolos)];
+        Arrays.fill(transicoes, SEM_TRANSICAO);
+        leitor.lerTransicoes((origem, simbolo, destinos, numeroDestinos) -> {
+            if (numeroDestinos > 0 && simbolo != LeitorDescricao.SIMBOLO_VAZIO) {
+                transicoes[origem * numeroSimbolos + simbolo] = destinos[0];
+            }
+        });
+        long[] estadosFinais = new long[(numeroEstados + 63) >>> 6];
+        for (int estadoFinal : leitor.getEstadosFinais()) {
+            estadosFinais[estadoFinal >>> 6] |= 1L << estadoFinal;
+        }
+        return new TabelaAFD(leitor.getSimbolos(), numeroEstados, leitor.getEstadoInicial(), estadosFinais, transicoes);
+    }
+
+    // Número de posições de uma tabela de numeroEstados x numeroSimbolos, calculado sem estouro. Uma tabela que não cabe
+    // em um vetor Java é um erro do arquivo, com a mesma mensagem para o formato texto e o binário
+    public static int tamanhoTabela (Path arquivo, int numeroEstados, int numeroSimbolos) throws IOException {
+        long numeroTransicoes = (long) numeroEstados * numeroSimbolos;
+        if (numeroTransicoes > Integer.MAX_VALUE - 8) {
+            throw new IOException(arquivo + ": tabela de transições grande demais (" + numeroTransicoes + " transições)");
+        }
+        return (int) numeroTransicoes;
+    }
+
+    // Lê um AFD de um arquivo no formato texto ou no binário, conforme o conteúdo. Uma descrição de AFN é recusada
+    public static TabelaAFD ler (Path arquivo) throws IOException {
+        if (FormatoBinario.eBinario(arquivo)) {
+            return FormatoBinario.ler(arquivo);
+        }
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivo)) {
+            if (leitor.getTipo().equals("AFN")) {
+                throw new ErroDescricao(arquivo, 1, 1, "esperado um AFD, não um AFN");
+            }
+            return ler(leitor);
+        }
+    }
+
+    public int getNumeroEstados () {
+        return numeroEstados;
+    }
+
+    public int getNumeroSimbolos () {
+        return simbolos.length;
+    }
+
+    public String getSimbolo (int simbolo) {
+        return simbolos[simbolo];
+    }
+
+    public int getEstadoInicial () {
+        return estadoInicial;
+    }
+
+    public boolean eFinal (int estado) {
+        return (estadosFinais[estado >>> 6] & (1L << estado)) != 0;
+    }
+
+    public int getTransicao (int estado, int simbolo) {
+        return transicoes.get(estado * simbolos.length + simbolo);
+    }
+
+    // Cópia do mapa de bits dos estados finais
+    public long[] copiarEstadosFinais () {
+        return estadosFinais.clone();
+    }
+
+    // Copia a tabela inteira para 'destino' (que deve ter numeroEstados * numeroSimbolos posições) de uma só vez
+    public void copiarTransicoes (int[] destino) {
+        transicoes.get(0, destino, 0, transicoes.limit());
+    }
+}
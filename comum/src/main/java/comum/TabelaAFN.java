@@ -0,0 +1,335 @@
+package comum;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Representação compacta de um AFN: os estados são os índices 0 .. numeroEstados - 1 e um conjunto de estados é um vetor
+// de 'palavras' longs (o bit 'estado' ligado se o estado pertence ao conjunto). Os sucessores de um conjunto são o OU
+// dos destinos dos seus estados: os pares (estado, símbolo) com muitos destinos têm uma máscara de bits, e os demais
+// guardam só a lista dos destinos, porque ligar poucos bits é mais barato que percorrer uma máscara inteira (em AFNs
+// grandes a maioria dos pares tem um ou dois destinos). Com até 64 estados todo par com transição tem máscara.
+//
+// Transições vazias (LeitorDescricao.SIMBOLO_VAZIO) são permitidas. O fecho-ε de cada estado é calculado uma única vez,
+// em concluir(), e os sucessores já são devolvidos fechados, assim como o conjunto inicial.
+//
+// A tabela é preenchida uma linha de transição por vez (adicionarTransicoes tem a forma de LeitorDescricao.Transicoes),
+// depois concluir() é chamado, e ela não deve mais ser alterada.
+public final class TabelaAFN {
+    private static final int SEM_MASCARA = -1;
+    private static final int SEM_ARESTA = -1;
+    private static final int SEM_FECHO = -1;
+
+    private final String[] simbolos;
+    private final int numeroEstados;
+    private final int estadoInicial;
+    private final int palavras;
+    private final long[] estadosFinais;
+    // Os vetores indexados por par usam o índice estado * numeroSimbolos + simbolo
+    // Lista de destinos de cada par: primeiraAresta[par], proximaAresta[...], até SEM_ARESTA
+    private final int[] primeiraAresta;
+    private final int[] numeroArestas;
+    private int[] destinoAresta;
+    private int[] proximaAresta;
+    private int arestasUsadas;
+    // Posição da máscara do par em 'mascaras', ou SEM_MASCARA se o par usa a lista
+    private final int[] inicioMascara;
+    private long[] mascaras;
+    private int mascarasUsadas;
+    // Um par passa a ter máscara quando tem mais destinos que isso
+    private final int limiteLista;
+    // Lista das transições vazias de cada estado (nas mesmas arestas das listas dos pares)
+    private final int[] primeiraVazia;
+    private boolean temTransicoesVazias;
+    // Posição do fecho-ε do estado em 'fechos', ou SEM_FECHO se o estado não tem transições vazias (o fecho é só ele)
+    private int[] inicioFecho;
+    private long[] fechos;
+
+    public TabelaAFN (String[] simbolos, int numeroEstados, int estadoInicial, int[] estadosFinais) {
+        this.simbolos = simbolos;
+        this.numeroEstados = numeroEstados;
+        this.estadoInicial = estadoInicial;
+        this.palavras = Math.max(1, (numeroEstados + 63) >>> 6);
+        this.estadosFinais = new long[palavras];
+        for (int estado : estadosFinais) {
+            this.estadosFinais[estado >>> 6] |= 1L << estado;
+        }
+        this.primeiraAresta = new int[numeroEstados * simbolos.length];
+        Arrays.fill(primeiraAresta, SEM_ARESTA);
+        this.numeroArestas = new int[numeroEstados * simbolos.length];
+        this.destinoAresta = new int[16];
+        this.proximaAresta = new int[16];
+        this.arestasUsadas = 0;
+        this.inicioMascara = new int[numeroEstados * simbolos.length];
+        Arrays.fill(inicioMascara, SEM_MASCARA);
+        this.mascaras = new long[palavras * 16];
+        this.mascarasUsadas = 0;
+        this.limiteLista = palavras / 4;
+        this.primeiraVazia = new int[numeroEstados];
+        Arrays.fill(primeiraVazia, SEM_ARESTA);
+        this.temTransicoesVazias = false;
+        this.inicioFecho = null;
+        this.fechos = null;
+    }
+
+    // Lê as transições restantes do leitor (depois do cabeçalho) e conclui a tabela
+    public static TabelaAFN ler (LeitorDescricao leitor) throws IOException {
+        // As listas por (estado, símbolo) têm o mesmo limite da tabela de um AFD
+        TabelaAFD.tamanhoTabela(leitor.getArquivo(), leitor.getEstados().length, leitor.getSimbolos().length);
+        TabelaAFN tabela = new TabelaAFN(leitor.getSimbolos(), leitor.getEstados().length, leitor.getEstadoInicial(), leitor.getEstadosFinais());
+        leitor.lerTransicoes(tabela::adicionarTransicoes);
+        tabela.concluir();
+        return tabela;
+    }
+
+    public void adicionarTransicoes (int origem, int simbolo, int[] destinos, int numeroDestinos) {
+        if (simbolo == LeitorDescricao.SIMBOLO_VAZIO) {
+            for (int i = 0; i < numeroDestinos; i++) {
+                primeiraVazia[origem] = novaAresta(destinos[i], primeiraVazia[origem]);
+                temTransicoesVazias = true;
+            }
+            return;
+        }
+        int par = origem * simbolos.length + simbolo;
+        for (int i = 0; i < numeroDestinos; i++) {
+            if (inicioMascara[par] != SEM_MASCARA) {
+                mascaras[inicioMascara[par] + (destinos[i] >>> 6)] |= 1L << destinos[i];
+                continue;
+            }
+            primeiraAresta[par] = novaAresta(destinos[i], primeiraAresta[par]);
+            if (++numeroArestas[par] > limiteLista) {
+                criarMascara(par);
+            }
+        }
+    }
+
+    private int novaAresta (int destino, int proxima) {
+        if (arestasUsadas == destinoAresta.length) {
+            destinoAresta = Arrays.copyOf(destinoAresta, arestasUsadas * 2);
+            proximaAresta = Arrays.copyOf(proximaAresta, arestasUsadas * 2);
+        }
+        destinoAresta[arestasUsadas] = destino;
+        proximaAresta[arestasUsadas] = proxima;
+        return arestasUsadas++;
+    }
+
+    // Passa o par a usar uma máscara, com os destinos que estavam na lista
+    private void criarMascara (int par) {
+        if (mascarasUsadas + palavras > mascaras.length) {
+            mascaras = Arrays.copyOf(mascaras, Math.max(mascaras.length * 2, mascarasUsadas + palavras));
+        }
+        inicioMascara[par] = mascarasUsadas;
+        mascarasUsadas += palavras;
+        for (int a = primeiraAresta[par]; a != SEM_ARESTA; a = proximaAresta[a]) {
+            mascaras[inicioMascara[par] + (destinoAresta[a] >>> 6)] |= 1L << destinoAresta[a];
+        }
+    }
+
+    // Chamado depois de todas as transições: calcula os fechos-ε e os aplica às máscaras
+    public void concluir () {
+        if (!temTransicoesVazias || fechos != null) {
+            return;
+        }
+        calcularFechos();
+
+        // As máscaras passam a conter o fecho dos destinos; as listas são fechadas na consulta (sucessores)
+        long[] fechada = new long[palavras];
+        for (int par = 0; par < inicioMascara.length; par++) {
+            int inicio = inicioMascara[par];
+            if (inicio == SEM_MASCARA) {
+                continue;
+            }
+            Arrays.fill(fechada, 0L);
+            for (int i = 0; i < palavras; i++) {
+                for (long bits = mascaras[inicio + i]; bits != 0; bits &= bits - 1) {
+                    adicionarFecho((i << 6) + Long.numberOfTrailingZeros(bits), fechada);
+                }
+            }
+            System.arraycopy(fechada, 0, mascaras, inicio, palavras);
+        }
+    }
+
+    // Fechos-ε por componentes fortemente conexas (Tarjan, sem recursão) do grafo das transições vazias: todos os estados
+    // de uma componente têm o mesmo fecho, e as componentes saem em ordem topológica inversa, então o fecho de cada uma
+    // é ela mesma mais o fecho das componentes para as quais ela tem transições, que já foram calculados. Cada transição
+    // vazia é percorrida uma vez, e cada componente custa um OU de 'palavras' longs por transição que sai dela.
+    private void calcularFechos () {
+        int[] ordem = new int[numeroEstados];
+        Arrays.fill(ordem, -1);
+        int[] menor = new int[numeroEstados];
+        int[] componente = new int[numeroEstados];
+        Arrays.fill(componente, -1);
+        int[] arestaAtual = new int[numeroEstados];
+        // Pilha de Tarjan (estados visitados cuja componente ainda não foi fechada) e pilha de chamadas da busca
+        int[] pilha = new int[numeroEstados];
+        int topo = 0;
+        int[] chamadas = new int[numeroEstados];
+        int profundidade = 0;
+        int contador = 0;
+        int numeroComponentes = 0;
+
+        inicioFecho = new int[numeroEstados];
+        Arrays.fill(inicioFecho, SEM_FECHO);
+        fechos = new long[palavras * 16];
+
+        for (int raiz = 0; raiz < numeroEstados; raiz++) {
+            if (ordem[raiz] != -1 || primeiraVazia[raiz] == SEM_ARESTA) {
+                continue;
+            }
+            ordem[raiz] = menor[raiz] = contador++;
+            arestaAtual[raiz] = primeiraVazia[raiz];
+            pilha[topo++] = raiz;
+            chamadas[profundidade++] = raiz;
+
+            while (profundidade > 0) {
+                int estado = chamadas[profundidade - 1];
+                int a = arestaAtual[estado];
+                if (a != SEM_ARESTA) {
+                    arestaAtual[estado] = proximaAresta[a];
+                    int destino = destinoAresta[a];
+                    // Estados sem transições vazias são componentes triviais: o fecho deles é só eles mesmos
+                    if (primeiraVazia[destino] == SEM_ARESTA) {
+                        continue;
+                    }
+                    if (ordem[destino] == -1) {
+                        ordem[destino] = menor[destino] = contador++;
+                        arestaAtual[destino] = primeiraVazia[destino];
+                        pilha[topo++] = destino;
+                        chamadas[profundidade++] = destino;
+                    } else if (componente[destino] == -1) {
+                        menor[estado] = Math.min(menor[estado], ordem[destino]);
+                    }
+                    continue;
+                }
+
+                profundidade--;
+                if (profundidade > 0) {
+                    int chamador = chamadas[profundidade - 1];
+                    menor[chamador] = Math.min(menor[chamador], menor[estado]);
+                }
+                if (menor[estado] != ordem[estado]) {
+                    continue;
+                }
+
+                // 'estado' é a raiz de uma componente, formada por ele e pelos estados acima dele na pilha
+                int base = topo - 1;
+                while (pilha[base] != estado) {
+                    base--;
+                }
+                if ((numeroComponentes + 1) * palavras > fechos.length) {
+                    fechos = Arrays.copyOf(fechos, fechos.length * 2);
+                }
+                int inicio = numeroComponentes * palavras;
+                for (int i = base; i < topo; i++) {
+                    componente[pilha[i]] = numeroComponentes;
+                    inicioFecho[pilha[i]] = inicio;
+                }
+                for (int i = base; i < topo; i++) {
+                    int membro = pilha[i];
+                    fechos[inicio + (membro >>> 6)] |= 1L << membro;
+                    for (int b = primeiraVazia[membro]; b != SEM_ARESTA; b = proximaAresta[b]) {
+                        int destino = destinoAresta[b];
+                        if (inicioFecho[destino] == SEM_FECHO) {
+                            fechos[inicio + (destino >>> 6)] |= 1L << destino;
+                        } else if (inicioFecho[destino] != inicio) {
+                            for (int j = 0; j < palavras; j++) {
+                                fechos[inicio + j] |= fechos[inicioFecho[destino] + j];
+                            }
+                        }
+                    }
+                }
+                topo = base;
+                numeroComponentes++;
+            }
+        }
+    }
+
+    public int getNumeroEstados () {
+        return numeroEstados;
+    }
+
+    public int getNumeroSimbolos () {
+        return simbolos.length;
+    }
+
+    public String getSimbolo (int simbolo) {
+        return simbolos[simbolo];
+    }
+
+    public int getEstadoInicial () {
+        return estadoInicial;
+    }
+
+    // Número de longs de um conjunto de estados
+    public int getPalavras () {
+        return palavras;
+    }
+
+    public boolean temTransicoesVazias () {
+        return temTransicoesVazias;
+    }
+
+    public boolean eFinal (int estado) {
+        return (estadosFinais[estado >>> 6] & (1L << estado)) != 0;
+    }
+
+    // Verdadeiro se o conjunto tem algum estado final
+    public boolean contemFinal (long[] conjunto) {
+        for (int i = 0; i < palavras; i++) {
+            if ((conjunto[i] & estadosFinais[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Escreve em 'resultado' o fecho-ε do estado inicial
+    public void conjuntoInicial (long[] resultado) {
+        fecho(estadoInicial, resultado);
+    }
+
+    // Escreve em 'resultado' o fecho-ε do estado (só ele, se o AFN não tem transições vazias)
+    public void fecho (int estado, long[] resultado) {
+        Arrays.fill(resultado, 0, palavras, 0L);
+        adicionarFecho(estado, resultado);
+    }
+
+    private void adicionarFecho (int estado, long[] resultado) {
+        if (inicioFecho == null || inicioFecho[estado] == SEM_FECHO) {
+            resultado[estado >>> 6] |= 1L << estado;
+            return;
+        }
+        for (int j = 0; j < palavras; j++) {
+            resultado[j] |= fechos[inicioFecho[estado] + j];
+        }
+    }
+
+    // Escreve em 'resultado' o conjunto dos estados alcançados a partir de 'conjunto' pelo símbolo, já com o fecho-ε.
+    // Retorna falso se o resultado é vazio
+    public boolean sucessores (long[] conjunto, int simbolo, long[] resultado) {
+        Arrays.fill(resultado, 0, palavras, 0L);
+        long algum = 0;
+        for (int i = 0; i < palavras; i++) {
+            for (long bits = conjunto[i]; bits != 0; bits &= bits - 1) {
+                int par = ((i << 6) + Long.numberOfTrailingZeros(bits)) * simbolos.length + simbolo;
+                int inicio = inicioMascara[par];
+                if (inicio != SEM_MASCARA) {
+                    for (int j = 0; j < palavras; j++) {
+                        resultado[j] |= mascaras[inicio + j];
+                        algum |= mascaras[inicio + j];
+                    }
+                } else if (inicioFecho == null) {
+                    for (int a = primeiraAresta[par]; a != SEM_ARESTA; a = proximaAresta[a]) {
+                        resultado[destinoAresta[a] >>> 6] |= 1L << destinoAresta[a];
+                        algum = 1;
+                    }
+                } else {
+                    for (int a = primeiraAresta[par]; a != SEM_ARESTA; a = proximaAresta[a]) {
+                        adicionarFecho(destinoAresta[a], resultado);
+                        algum = 1;
+                    }
+                }
+            }
+        }
+        return algum != 0;
+    }
+}
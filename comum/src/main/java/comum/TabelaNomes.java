@@ -0,0 +1,148 @@
+package comum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Associa nomes (sequências de bytes em UTF-8) a índices 0, 1, 2, ... na ordem em que são adicionados. A busca é feita
+// diretamente sobre um trecho de um vetor de bytes, sem criar uma String para cada consulta. Os nomes ficam copiados em
+// um único vetor e a tabela de espalhamento é de endereçamento aberto.
+//
+// Em autômatos grandes a busca é dominada pelos acessos à memória, por isso cada posição da tabela guarda uma chave ao
+// lado do índice: os nomes de até 7 bytes (o caso comum, como q0 ou q123456) ficam inteiros na chave e são encontrados
+// com um único acesso, sem comparar os bytes guardados. Quando os nomes são os próprios índices (0, 1, 2, ..., como nos
+// AFDs gerados pelo Converter) a tabela nem é consultada.
+final class TabelaNomes {
+    private byte[] bytes;
+    private int bytesUsados;
+    // nomes[i] = (início << 32) | tamanho do nome de índice i em 'bytes'
+    private long[] nomes;
+    private int quantidade;
+    // Cada posição p ocupa posicoes[2p] (a chave do nome) e posicoes[2p + 1] (o índice + 1, ou 0 se a posição está
+    // livre). O número de posições é uma potência de 2
+    private long[] posicoes;
+    // Verdadeiro enquanto todo nome adicionado é o número do seu próprio índice, escrito sem zeros à esquerda
+    private boolean nomesSaoIndices;
+
+    TabelaNomes () {
+        this.bytes = new byte[256];
+        this.bytesUsados = 0;
+        this.nomes = new long[16];
+        this.quantidade = 0;
+        this.posicoes = new long[64];
+        this.nomesSaoIndices = true;
+    }
+
+    int tamanho () {
+        return quantidade;
+    }
+
+    // Índice do nome dados[de, de + n), ou -1 se ele não está na tabela
+    int indice (byte[] dados, int de, int n) {
+        if (nomesSaoIndices) {
+            int i = numero(dados, de, n);
+            return i < quantidade ? i : -1;
+        }
+        long chave = chave(dados, de, n);
+        int mascara = (posicoes.length >> 1) - 1;
+        for (int p = espalhar(chave) & mascara; posicoes[2 * p + 1] != 0; p = (p + 1) & mascara) {
+            if (posicoes[2 * p] == chave) {
+                int i = (int) posicoes[2 * p + 1] - 1;
+                if (n < 8) {
+                    return i;
+                }
+                int inicio = (int) (nomes[i] >>> 32);
+                if (Arrays.equals(bytes, inicio, inicio + (int) nomes[i], dados, de, de + n)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Adiciona o nome e retorna o novo índice. Se o nome já existe, retorna o índice dele
+    int adicionar (byte[] dados, int de, int n) {
+        int existente = indice(dados, de, n);
+        if (existente >= 0) {
+            return existente;
+        }
+        if (quantidade == nomes.length) {
+            nomes = Arrays.copyOf(nomes, quantidade * 2);
+        }
+        if (bytesUsados + n > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesUsados + n));
+        }
+        System.arraycopy(dados, de, bytes, bytesUsados, n);
+        int i = quantidade++;
+        nomes[i] = ((long) bytesUsados << 32) | n;
+        bytesUsados += n;
+        nomesSaoIndices = nomesSaoIndices && numero(dados, de, n) == i;
+
+        // A tabela de espalhamento é mantida com no máximo metade das posições ocupadas
+        if (quantidade * 4 > posicoes.length) {
+            posicoes = new long[posicoes.length * 2];
+            for (int j = 0; j < quantidade; j++) {
+                posicionar(j);
+            }
+        } else {
+            posicionar(i);
+        }
+        return i;
+    }
+
+    String nome (int i) {
+        return new String(bytes, (int) (nomes[i] >>> 32), (int) nomes[i], StandardCharsets.UTF_8);
+    }
+
+    private void posicionar (int i) {
+        long chave = chave(bytes, (int) (nomes[i] >>> 32), (int) nomes[i]);
+        int mascara = (posicoes.length >> 1) - 1;
+        int p = espalhar(chave) & mascara;
+        while (posicoes[2 * p + 1] != 0) {
+            p = (p + 1) & mascara;
+        }
+        posicoes[2 * p] = chave;
+        posicoes[2 * p + 1] = i + 1;
+    }
+
+    // Os nomes de até 7 bytes são a própria chave (os bytes seguidos do tamanho); os maiores são representados pelo
+    // tamanho e por um valor de espalhamento dos bytes, e precisam ser comparados
+    private static long chave (byte[] dados, int de, int n) {
+        long chave = 0;
+        if (n < 8) {
+            for (int i = de + n - 1; i >= de; i--) {
+                chave = (chave << 8) | (dados[i] & 0xFF);
+            }
+        } else {
+            for (int i = de; i < de + n; i++) {
+                chave = 31 * chave + dados[i];
+            }
+            chave &= 0xFFFFFFFFFFFFFFL;
+        }
+        return chave | (long) Math.min(n, 8) << 56;
+    }
+
+    // O número escrito em dados[de, de + n) sem zeros à esquerda, ou -1 se o trecho não é um número nesse formato
+    private static int numero (byte[] dados, int de, int n) {
+        if (n == 0 || n > 9 || (dados[de] == '0' && n > 1)) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = de; i < de + n; i++) {
+            int digito = dados[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    private static int espalhar (long chave) {
+        // Nomes parecidos (q1, q2, ..., q999999) têm chaves próximas; a mistura final (a do MurmurHash3) espalha os bits
+        // para que o endereçamento aberto não forme longas sequências de posições ocupadas
+        chave ^= chave >>> 33;
+        chave *= 0xFF51AFD7ED558CCDL;
+        chave ^= chave >>> 33;
+        return (int) chave;
+    }
+}
@@ -0,0 +1,97 @@
+package comum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Um AFD escrito no formato binário e lido de volta deve ser o mesmo AFD: símbolos (em UTF-8), estado inicial, estados
+// finais e transições, inclusive as ausentes
+class FormatoBinarioTest {
+    @TempDir
+    Path diretorio;
+
+    // Mais de 64 estados, para que os estados finais ocupem mais de um long, e símbolos com mais de um byte em UTF-8
+    @Test
+    void idaEVolta () throws IOException {
+        Random aleatorio = new Random(131);
+        String[] simbolos = {"a", "ç", "λ", "😀"};
+        int numeroEstados = 130;
+        int[] transicoes = new int[numeroEstados * simbolos.length];
+        for (int t = 0; t < transicoes.length; t++) {
+            transicoes[t] = aleatorio.nextInt(5) == 0 ? TabelaAFD.SEM_TRANSICAO : aleatorio.nextInt(numeroEstados);
+        }
+        long[] finais = new long[(numeroEstados + 63) >>> 6];
+        for (int estado = 0; estado < numeroEstados; estado += 1 + aleatorio.nextInt(3)) {
+            finais[estado >>> 6] |= 1L << estado;
+        }
+        TabelaAFD original = new TabelaAFD(simbolos, numeroEstados, 77, finais, transicoes);
+
+        Path arquivo = diretorio.resolve("afd" + FormatoBinario.EXTENSAO);
+        FormatoBinario.escrever(original, arquivo);
+        assertTrue(FormatoBinario.usarFormatoBinario(arquivo.toString()));
+        assertTrue(FormatoBinario.eBinario(arquivo));
+        assertIguais(original, FormatoBinario.ler(arquivo));
+        // TabelaAFD.ler reconhece o formato pelo conteúdo, qualquer que seja a extensão
+        Path semExtensao = Files.move(arquivo, diretorio.resolve("afd.txt"));
+        assertIguais(original, TabelaAFD.ler(semExtensao));
+    }
+
+    // Sem estados (e portanto sem estado inicial) e sem símbolos
+    @Test
+    void afdVazio () throws IOException {
+        TabelaAFD vazio = new TabelaAFD(new String[0], 0, TabelaAFD.SEM_TRANSICAO, new long[0], new int[0]);
+        Path arquivo = diretorio.resolve("vazio.afdb");
+        FormatoBinario.escrever(vazio, arquivo);
+        assertIguais(vazio, FormatoBinario.ler(arquivo));
+    }
+
+    // O mesmo AFD lido da descrição em texto e do binário escrito a partir dela
+    @Test
+    void textoEBinario () throws IOException {
+        Path texto = Files.writeString(diretorio.resolve("afd.txt"),
+            "AFD\n3 q0 q1 q2\n2 ã b\nq1\n2 q0 q2\nq0 ã q1\nq1 b q2 # comentário\nq2 ã q0\nq2 b q2\n");
+        assertFalse(FormatoBinario.eBinario(texto));
+        TabelaAFD lido = TabelaAFD.ler(texto);
+        Path binario = diretorio.resolve("afd.afdb");
+        FormatoBinario.escrever(lido, binario);
+        assertIguais(lido, TabelaAFD.ler(binario));
+        assertEquals("ã", TabelaAFD.ler(binario).getSimbolo(0));
+    }
+
+    @Test
+    void arquivoTruncado () throws IOException {
+        TabelaAFD afd = new TabelaAFD(new String[] {"a"}, 2, 0, new long[] {2}, new int[] {1, TabelaAFD.SEM_TRANSICAO});
+        Path arquivo = diretorio.resolve("truncado.afdb");
+        FormatoBinario.escrever(afd, arquivo);
+        byte[] bytes = Files.readAllBytes(arquivo);
+        Files.write(arquivo, Arrays.copyOf(bytes, bytes.length - 4));
+        IOException erro = assertThrows(IOException.class, () -> FormatoBinario.ler(arquivo));
+        assertTrue(erro.getMessage().contains("arquivo truncado"), erro.getMessage());
+    }
+
+    private static void assertIguais (TabelaAFD esperado, TabelaAFD lido) {
+        assertEquals(esperado.getNumeroEstados(), lido.getNumeroEstados());
+        assertEquals(esperado.getNumeroSimbolos(), lido.getNumeroSimbolos());
+        assertEquals(esperado.getEstadoInicial(), lido.getEstadoInicial());
+        for (int s = 0; s < esperado.getNumeroSimbolos(); s++) {
+            assertEquals(esperado.getSimbolo(s), lido.getSimbolo(s));
+        }
+        assertArrayEquals(esperado.copiarEstadosFinais(), lido.copiarEstadosFinais());
+        int[] transicoesEsperadas = new int[esperado.getNumeroEstados() * esperado.getNumeroSimbolos()];
+        int[] transicoesLidas = new int[transicoesEsperadas.length];
+        esperado.copiarTransicoes(transicoesEsperadas);
+        lido.copiarTransicoes(transicoesLidas);
+        assertArrayEquals(transicoesEsperadas, transicoesLidas);
+    }
+}
@@ -0,0 +1,83 @@
+package comum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+// Os erros da descrição são informados com a linha e a coluna (em bytes) do token, contando as linhas em branco e de
+// comentário, tanto no cabeçalho quanto nas transições
+class LeitorDescricaoTest {
+    @TempDir
+    Path diretorio;
+
+    // Cada descrição é dada com '|' no lugar das quebras de linha
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+        "AFD|2 q0 q1|1 a|q9|1 q1;                         4; 1; estado desconhecido: q9",
+        "# comentário||AFD|2 q0 q1|1 a|q0|1 q1|q0 a q1|q1  b q0; 9; 5; símbolo desconhecido: b",
+        "AFD|2 q0 q0;                                     2; 6; estado repetido: q0",
+        "AFD|2 q0 q1|2 a a;                               3; 5; símbolo repetido: a",
+        "AFD|2 q0 q1|1 a|q0|1 q1|q0 _ q1;                 6; 4; transição vazia (_) só é permitida em um AFN",
+        "AFD|2 ç q1|1 a|ç|1 q1|ç a q9;                    6; 6; estado desconhecido: q9",
+        "AFD|2 q0 q1|1 a|q0|2 q1;                         5; 5; esperados 2 estados finais, encontrados 1",
+    })
+    void linhaEColunaDoErro (String descricao, int linha, int coluna, String mensagem) throws IOException {
+        Path arquivo = escrever(descricao);
+        ErroDescricao erro = assertThrows(ErroDescricao.class, () -> lerTudo(arquivo));
+        assertEquals(arquivo + ":" + linha + ":" + coluna + ": " + mensagem, erro.getMessage());
+        assertEquals(linha, erro.getLinha());
+        assertEquals(coluna, erro.getColuna());
+    }
+
+    @Test
+    void fimDoArquivoNoCabecalho () throws IOException {
+        Path arquivo = escrever("AFD|2 q0 q1|1 a|# sem o estado inicial");
+        ErroDescricao erro = assertThrows(ErroDescricao.class, () -> lerTudo(arquivo));
+        assertEquals(5, erro.getLinha());
+        assertEquals(1, erro.getColuna());
+    }
+
+    // Um AFN com transições vazias, vários destinos, comentários e linhas em branco
+    @Test
+    void leituraDeUmAFN () throws IOException {
+        Path arquivo = escrever("AFN # tipo|3 p q r|2 a b|p|1 r||p _ q # vazia|q a q r|# comentário|r b p");
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivo)) {
+            assertEquals("AFN", leitor.getTipo());
+            assertArrayEquals(new String[] {"p", "q", "r"}, leitor.getEstados());
+            assertArrayEquals(new String[] {"a", "b"}, leitor.getSimbolos());
+            assertEquals(0, leitor.getEstadoInicial());
+            assertArrayEquals(new int[] {2}, leitor.getEstadosFinais());
+            List<String> transicoes = new ArrayList<>();
+            leitor.lerTransicoes((origem, simbolo, destinos, numeroDestinos) -> {
+                StringBuilder transicao = new StringBuilder(origem + " " + simbolo);
+                for (int i = 0; i < numeroDestinos; i++) {
+                    transicao.append(' ').append(destinos[i]);
+                }
+                transicoes.add(transicao.toString());
+            });
+            assertEquals(List.of("0 " + LeitorDescricao.SIMBOLO_VAZIO + " 1", "1 0 1 2", "2 1 0"), transicoes);
+        }
+    }
+
+    private Path escrever (String descricao) throws IOException {
+        return Files.writeString(diretorio.resolve("descricao.txt"), descricao.replace('|', '\n') + "\n");
+    }
+
+    private static void lerTudo (Path arquivo) throws IOException {
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivo)) {
+            leitor.lerTransicoes((origem, simbolo, destinos, numeroDestinos) -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package comum;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.junit.jupiter.api.Test;
+
+// As métricas registradas no JMX são atributos somente leitura; o MBean não tem operações
+class MetricasTest {
+    @Test
+    void atributosEOperacoesNoJMX () throws JMException {
+        Metricas metricas = new Metricas("teste");
+        metricas.contador("palavras").add(42);
+        metricas.medidor("taxa", () -> 0.5);
+        metricas.registrarJMX();
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objeto = new ObjectName("sin131:type=Metricas,name=" + ObjectName.quote("teste"));
+        try {
+            assertEquals(42L, servidor.getAttribute(objeto, "palavras"));
+            assertEquals(0.5, servidor.getAttribute(objeto, "taxa"));
+            ReflectionException erro = assertThrows(ReflectionException.class, () -> servidor.invoke(objeto, "zerar", null, null));
+            assertInstanceOf(NoSuchMethodException.class, erro.getCause());
+            assertEquals("zerar", erro.getCause().getMessage());
+        } finally {
+            metricas.removerJMX();
+        }
+        assertFalse(servidor.isRegistered(objeto));
+    }
+}
@@ -0,0 +1,125 @@
+package comum;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Os fechos-ε calculados em concluir() (pelas componentes fortemente conexas) e os sucessores já fechados devem ser os
+// mesmos de uma busca em largura pelas transições vazias, feita a cada consulta
+class TabelaAFNTest {
+    private static final String[] SIMBOLOS = {"a", "b"};
+
+    // AFNs aleatórios com ciclos de transições vazias, com até 200 estados (conjuntos de mais de um long)
+    @Test
+    void fechosDeAFNsAleatorios () {
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 300; i++) {
+            int numeroEstados = 1 + aleatorio.nextInt(i < 250 ? 12 : 200);
+            List<List<int[]>> transicoes = new ArrayList<>();
+            for (int simbolo = 0; simbolo < SIMBOLOS.length + 1; simbolo++) {
+                List<int[]> porEstado = new ArrayList<>();
+                for (int estado = 0; estado < numeroEstados; estado++) {
+                    int[] destinos = new int[aleatorio.nextInt(simbolo == SIMBOLOS.length ? 3 : 4)];
+                    for (int d = 0; d < destinos.length; d++) {
+                        destinos[d] = aleatorio.nextInt(numeroEstados);
+                    }
+                    porEstado.add(destinos);
+                }
+                transicoes.add(porEstado);
+            }
+            verificar(numeroEstados, aleatorio.nextInt(numeroEstados), transicoes, aleatorio);
+        }
+    }
+
+    // Uma cadeia longa de transições vazias, que estouraria a pilha de um cálculo recursivo, fechada em ciclo no fim
+    @Test
+    void cadeiaLongaDeTransicoesVazias () {
+        int numeroEstados = 20000;
+        TabelaAFN tabela = new TabelaAFN(SIMBOLOS, numeroEstados, 0, new int[] {numeroEstados - 1});
+        for (int estado = 0; estado + 1 < numeroEstados; estado++) {
+            tabela.adicionarTransicoes(estado, LeitorDescricao.SIMBOLO_VAZIO, new int[] {estado + 1}, 1);
+        }
+        tabela.adicionarTransicoes(numeroEstados - 1, LeitorDescricao.SIMBOLO_VAZIO, new int[] {numeroEstados / 2}, 1);
+        tabela.concluir();
+
+        long[] fecho = new long[tabela.getPalavras()];
+        tabela.conjuntoInicial(fecho);
+        assertEquals(numeroEstados, Arrays.stream(fecho).map(Long::bitCount).sum());
+        // Do meio da cadeia em diante todos os estados estão no mesmo ciclo, e portanto têm o mesmo fecho
+        tabela.fecho(numeroEstados - 1, fecho);
+        assertEquals(numeroEstados - numeroEstados / 2, Arrays.stream(fecho).map(Long::bitCount).sum());
+        assertEquals(true, tabela.contemFinal(fecho));
+    }
+
+    // transicoes.get(simbolo).get(estado) são os destinos; o último "símbolo" são as transições vazias
+    private static void verificar (int numeroEstados, int estadoInicial, List<List<int[]>> transicoes, Random aleatorio) {
+        TabelaAFN tabela = new TabelaAFN(SIMBOLOS, numeroEstados, estadoInicial, new int[] {numeroEstados - 1});
+        for (int simbolo = 0; simbolo <= SIMBOLOS.length; simbolo++) {
+            for (int estado = 0; estado < numeroEstados; estado++) {
+                int[] destinos = transicoes.get(simbolo).get(estado);
+                tabela.adicionarTransicoes(estado, simbolo == SIMBOLOS.length ? LeitorDescricao.SIMBOLO_VAZIO : simbolo, destinos, destinos.length);
+            }
+        }
+        tabela.concluir();
+        List<int[]> vazias = transicoes.get(SIMBOLOS.length);
+        int palavras = tabela.getPalavras();
+
+        long[] obtido = new long[palavras];
+        for (int estado = 0; estado < numeroEstados; estado++) {
+            tabela.fecho(estado, obtido);
+            assertArrayEquals(fecho(vazias, palavras, estado), obtido, "fecho de " + estado);
+        }
+        tabela.conjuntoInicial(obtido);
+        assertArrayEquals(fecho(vazias, palavras, estadoInicial), obtido, "conjunto inicial");
+
+        // Sucessores de conjuntos aleatórios: os destinos pelo símbolo de cada estado do conjunto, com os seus fechos
+        for (int i = 0; i < 20; i++) {
+            long[] conjunto = new long[palavras];
+            for (int estado = 0; estado < numeroEstados; estado++) {
+                if (aleatorio.nextInt(3) == 0) {
+                    conjunto[estado >>> 6] |= 1L << estado;
+                }
+            }
+            for (int simbolo = 0; simbolo < SIMBOLOS.length; simbolo++) {
+                long[] esperado = new long[palavras];
+                for (int estado = 0; estado < numeroEstados; estado++) {
+                    if ((conjunto[estado >>> 6] & 1L << estado) != 0) {
+                        for (int destino : transicoes.get(simbolo).get(estado)) {
+                            long[] fechoDestino = fecho(vazias, palavras, destino);
+                            for (int j = 0; j < palavras; j++) {
+                                esperado[j] |= fechoDestino[j];
+                            }
+                        }
+                    }
+                }
+                boolean algum = tabela.sucessores(conjunto, simbolo, obtido);
+                assertArrayEquals(esperado, obtido, "sucessores por " + SIMBOLOS[simbolo]);
+                assertEquals(Arrays.stream(esperado).anyMatch(p -> p != 0), algum);
+            }
+        }
+    }
+
+    // Busca em largura pelas transições vazias
+    private static long[] fecho (List<int[]> vazias, int palavras, int estado) {
+        long[] fecho = new long[palavras];
+        ArrayDeque<Integer> fila = new ArrayDeque<>();
+        fecho[estado >>> 6] |= 1L << estado;
+        fila.add(estado);
+        while (!fila.isEmpty()) {
+            for (int destino : vazias.get(fila.poll())) {
+                if ((fecho[destino >>> 6] & 1L << destino) == 0) {
+                    fecho[destino >>> 6] |= 1L << destino;
+                    fila.add(destino);
+                }
+            }
+        }
+        return fecho;
+    }
+}
@@ -0,0 +1,482 @@
+package conversao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import comum.ArenaForaDoHeap;
+import comum.EscritorDescricao;
+import comum.EventoFase;
+import comum.FormatoBinario;
+import comum.LeitorDescricao;
+import comum.LimiteMemoriaExcedido;
+import comum.Metricas;
+import comum.TabelaAFD;
+import comum.TabelaAFN;
+
+
+class AFD {
+    private String tipoAutomato;
+    private String[] conjuntoSimbolos;
+
+    // Os estados do AFD recebem identificadores 0, 1, 2, ... na ordem em que são encontrados pela construção de
+    // subconjuntos, e a função de transição é a tabela por índices da Determinizacao. O identificador já é o nome do
+    // estado no AFD simplificado; o nome do conjunto de estados do AFN (Ex: <q0q1q2>) só é usado na impressão
+    private Determinizacao determinizacao;
+    private String[] nomesConjuntos;
+
+
+    public AFD (AFN afn, Determinizacao determinizacao, String[] nomesConjuntos) {
+        tipoAutomato = "AFD";
+        conjuntoSimbolos = afn.getConjuntoSimbolos().keySet().toArray(new String[0]);
+        this.determinizacao = determinizacao;
+        this.nomesConjuntos = nomesConjuntos;
+    }
+
+    // Escreve o AFD simplificado no formato texto (ver comum.EscritorDescricao), com os comentários dados por
+    // EscritorDescricao.COMENTARIOS_*
+    public void escreverArquivoSaida (String arquivoSaidaDescricaoAFD, int comentarios) {
+        EventoFase evento = EventoFase.iniciar("conversao", "escrita");
+        try {
+            Path arquivo = Paths.get(arquivoSaidaDescricaoAFD);
+            EscritorDescricao.escrever(this.tabela(), null, arquivo, comentarios);
+            evento.concluir(0, this.getNumeroEstados(), conjuntoSimbolos.length, Files.size(arquivo));
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Escreve o AFD simplificado no formato binário (ver comum.FormatoBinario)
+    public void escreverArquivoBinario (String arquivoSaidaDescricaoAFD) {
+        EventoFase evento = EventoFase.iniciar("conversao", "escrita");
+        try {
+            Path arquivo = Paths.get(arquivoSaidaDescricaoAFD);
+            FormatoBinario.escrever(this.tabela(), arquivo);
+            evento.concluir(0, this.getNumeroEstados(), conjuntoSimbolos.length, Files.size(arquivo));
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Representação por índices do AFD simplificado: o estado "i" tem índice i e os símbolos seguem a ordem do AFN
+    public TabelaAFD tabela () {
+        return determinizacao.tabela();
+    }
+
+    // Imprime o AFD com os estados chamados pelos conjuntos de estados do AFN que eles representam
+    public void imprimirAFDNaoSimplificado () {
+        imprimir(estado -> nomesConjuntos[estado], estado -> "<" + nomesConjuntos[estado] + ">");
+    }
+
+    // Imprime o AFD com os estados chamados pelos seus identificadores
+    public void imprimirAFDFinal () {
+        imprimir(estado -> Integer.toString(estado), estado -> Integer.toString(estado));
+    }
+
+    // 'nome' é o nome do estado nos conjuntos e 'nomeTabela' o nome na tabela da função de transição
+    private void imprimir (IntFunction<String> nome, IntFunction<String> nomeTabela) {
+        int numeroEstados = this.getNumeroEstados();
+
+        System.out.println();
+
+        // Retorna todos os simbolos
+        Supplier<String> simbolos = () -> "{" + String.join(", ", conjuntoSimbolos) + "}";
+
+        // Retorna todos os estados
+        Supplier<String> estados = () -> {
+            StringBuilder sb = new StringBuilder();
+            sb.append("{");
+            for (int estado = 0; estado < numeroEstados; estado++) {
+                if (estado > 0) {
+                    sb.append(", ");
+                }
+                sb.append(nome.apply(estado));
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados finais
+        Supplier<String> estadosFinais = () -> {
+            StringBuilder sb = new StringBuilder();
+            sb.append("{");
+            for (int estado = 0; estado < numeroEstados; estado++) {
+                if (determinizacao.eFinal(estado)) {
+                    if (sb.length() > 1) {
+                        sb.append(", ");
+                    }
+                    sb.append(nome.apply(estado));
+                }
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        System.out.println(this.getTipoAutomato() + 
+            " = (" + simbolos.get() + ", " + estados.get() + ", δD, " + nome.apply(0) + 
+            ", " + estadosFinais.get() + ")");
+        
+        //Função de transição
+
+        Function<String, String> formatarString = s -> String.format("%-10s", s);
+
+        System.out.printf(formatarString.apply("δD"));
+        for (String simbolo : conjuntoSimbolos) {
+            System.out.printf(formatarString.apply(simbolo));
+        }
+        System.out.println();
+        for (int estado = 0; estado < numeroEstados; estado++) {
+            System.out.printf(formatarString.apply(nomeTabela.apply(estado)));
+            for (int simbolo = 0; simbolo < conjuntoSimbolos.length; simbolo++) {
+                int proximo = determinizacao.getTransicao(estado, simbolo);
+                if (proximo != TabelaAFD.SEM_TRANSICAO) {
+                    System.out.printf(formatarString.apply(nomeTabela.apply(proximo)));
+                } else {
+                    System.out.printf(formatarString.apply("-"));
+                }
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    public String getTipoAutomato() {
+        return tipoAutomato;
+    }
+
+    public int getNumeroEstados() {
+        return determinizacao.getNumeroEstados();
+    }
+
+    public String[] getConjuntoSimbolos() {
+        return conjuntoSimbolos;
+    }
+}
+
+class AFN {
+    private String tipoAutomato;
+
+    // É usado um LinkedHashMap para armazenar os estados e os simbolos, onde c/ estado ou simbolo é associado a um indice. Ex: estado -> indice
+    // Esse indice é usado para acessar a função de transição, onde busca-se o estado ou símbolo e é retornado o índice. Esse
+    // índice é atribuído conforme a entrada. Um LinkedHashMap lembra a ordem de inserção.
+    private LinkedHashMap<String,Integer> conjuntoEstados;
+    private LinkedHashMap<String,Integer> conjuntoSimbolos;
+    private HashSet<String> conjuntoEstadosFinais;
+    private String estadoInicial;
+    // A função de transição é guardada por índices: para cada par (estado, símbolo), os estados de destino, de modo que
+    // os sucessores de um conjunto de estados são calculados sobre mapas de bits (ver comum.TabelaAFN)
+    private TabelaAFN funcaoTransicao;
+
+    // Um erro de leitura (arquivo inexistente, descrição inválida) é repassado para quem chamou
+    public AFN (String arquivoEntradaDescricaoAFN) throws IOException {
+        tipoAutomato = null;
+        conjuntoEstados = new LinkedHashMap<>();
+        conjuntoSimbolos = new LinkedHashMap<>();
+        conjuntoEstadosFinais = new HashSet<>();
+        estadoInicial = null;
+        funcaoTransicao = null;
+        inicializar(arquivoEntradaDescricaoAFN);
+    }
+
+    private void inicializar (String arquivoEntradaDescricaoAFN) throws IOException {
+        EventoFase evento = EventoFase.iniciar("conversao", "leitura");
+        Path arquivo = Paths.get(arquivoEntradaDescricaoAFN);
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivo)) {
+            this.setTipoAutomato(leitor.getTipo());
+            String[] estados = leitor.getEstados();
+            for (int i = 0; i < estados.length; i++) {
+                this.getConjuntoEstados().put(estados[i], i);
+            }
+            String[] simbolos = leitor.getSimbolos();
+            for (int i = 0; i < simbolos.length; i++) {
+                this.getConjuntoSimbolos().put(simbolos[i], i);
+            }
+            this.setEstadoInicial(estados[leitor.getEstadoInicial()]);
+            for (int estadoFinal : leitor.getEstadosFinais()) {
+                this.getConjuntoEstadosFinais().add(estados[estadoFinal]);
+            }
+
+            // Lê as transições e calcula os fechos-ε (se houver transições vazias), usados por toda a conversão
+            this.setFuncaoTransicao(TabelaAFN.ler(leitor));
+            evento.concluir(0, estados.length, simbolos.length, Files.size(arquivo));
+        }
+    }
+
+    public AFD converterAFNparaAFD () {
+        // Cada estado do AFD é um conjunto de estados do AFN, representado por um mapa de bits (ver Determinizacao). Os
+        // conjuntos recebem identificadores 0, 1, 2, ... na ordem em que aparecem, que já são os nomes dos estados no AFD
+        // gerado, e as transições vão direto para uma tabela por índices
+        Determinizacao determinizacao = new Determinizacao(funcaoTransicao);
+
+        // Nome de cada conjunto, usado na impressão: a concatenação dos nomes dos seus estados. Ex: {q0, q1} -> q0q1
+        EventoFase evento = EventoFase.iniciar("conversao", "nomes");
+        String[] nomes = new String[determinizacao.getNumeroEstados()];
+        String[] estados = this.getConjuntoEstados().keySet().toArray(new String[0]);
+        long[] conjunto = new long[funcaoTransicao.getPalavras()];
+        for (int estado = 0; estado < nomes.length; estado++) {
+            determinizacao.conjunto(estado, conjunto);
+            nomes[estado] = nome(conjunto, estados, "");
+        }
+
+        evento.concluir(funcaoTransicao.getNumeroEstados(), nomes.length, funcaoTransicao.getNumeroSimbolos(), 0);
+
+        AFD afd = new AFD (this, determinizacao, nomes);
+        return afd;
+    }
+
+    // Conversão de AFNs cujo AFD não caberia no heap: os conjuntos de estados e a tabela de transições ficam em 'arena'
+    // (ver Determinizacao), e o AFD é escrito direto no arquivo, no formato texto à medida que os estados são
+    // encontrados. Os conjuntos não recebem nomes e as tabelas não são impressas, então o heap não cresce com o AFD
+    public Determinizacao converterForaDoHeap (String arquivoSaidaDescricaoAFD, int comentarios, ArenaForaDoHeap arena) throws IOException {
+        Path arquivo = Paths.get(arquivoSaidaDescricaoAFD);
+        if (FormatoBinario.usarFormatoBinario(arquivoSaidaDescricaoAFD)) {
+            Determinizacao determinizacao = new Determinizacao(funcaoTransicao, null, arena);
+            EventoFase evento = EventoFase.iniciar("conversao", "escrita");
+            FormatoBinario.escrever(determinizacao.tabela(), arquivo);
+            evento.concluir(0, determinizacao.getNumeroEstados(), funcaoTransicao.getNumeroSimbolos(), Files.size(arquivo));
+            return determinizacao;
+        }
+        String[] simbolos = this.getConjuntoSimbolos().keySet().toArray(new String[0]);
+        try (EscritorDescricao escritor = EscritorDescricao.aosPoucos(arquivo, simbolos, comentarios)) {
+            return new Determinizacao(funcaoTransicao, escritor, arena);
+        }
+    }
+
+    // Nomes dos estados do conjunto, na ordem dos índices, separados por 'separador'
+    private static String nome (long[] conjunto, String[] estados, String separador) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < conjunto.length; i++) {
+            for (long bits = conjunto[i]; bits != 0; bits &= bits - 1) {
+                if (sb.length() > 0) {
+                    sb.append(separador);
+                }
+                sb.append(estados[(i << 6) + Long.numberOfTrailingZeros(bits)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void imprimirAFN () {
+
+        System.out.println();
+
+        // Retorna todos os simbolos
+        Supplier<String> simbolos = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoSimbolos().size();
+            sb.append("{");
+            for (String estado : this.getConjuntoSimbolos().keySet()) {
+                sb.append(estado);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados
+        Supplier<String> estados = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoEstados().size();
+            sb.append("{");
+            for (String estado : this.getConjuntoEstados().keySet()) {
+                sb.append(estado);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados finais
+        Supplier<String> estadosFinais = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoEstadosFinais().size();
+            sb.append("{");
+            for (String estadoFinal : this.getConjuntoEstadosFinais()) {
+                sb.append(estadoFinal);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        System.out.println(this.getTipoAutomato() + 
+            " = (" + simbolos.get() + ", " + estados.get() + ", δN, " + this.getEstadoInicial() + 
+            ", " + estadosFinais.get() + ")");
+        
+
+        //Função de transição
+
+        Function<String, String> formatarString = s -> String.format("%-10s", s);
+        String[] nomesEstados = this.getConjuntoEstados().keySet().toArray(new String[0]);
+        long[] origem = new long[funcaoTransicao.getPalavras()];
+        long[] destinos = new long[funcaoTransicao.getPalavras()];
+       
+        // Com transições vazias, a coluna "_" mostra o fecho-ε de cada estado, e as demais já incluem o fecho dos destinos
+        System.out.printf(formatarString.apply("δN"));
+        for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+            System.out.printf(formatarString.apply(simbolo));
+        }
+        if (funcaoTransicao.temTransicoesVazias()) {
+            System.out.printf(formatarString.apply("_"));
+        }
+        System.out.println();
+        for (String estado : this.getConjuntoEstados().keySet()) {
+            System.out.printf(formatarString.apply(estado));
+            String fecho = null;
+            if (funcaoTransicao.temTransicoesVazias()) {
+                funcaoTransicao.fecho(this.getConjuntoEstados().get(estado), destinos);
+                fecho = "{" + nome(destinos, nomesEstados, ",") + "}";
+            }
+            for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+                Arrays.fill(origem, 0L);
+                int indiceEstado = this.getConjuntoEstados().get(estado);
+                origem[indiceEstado >>> 6] |= 1L << indiceEstado;
+                if (!funcaoTransicao.sucessores(origem, this.getConjuntoSimbolos().get(simbolo), destinos)) {
+                    System.out.printf(formatarString.apply("-"));
+                } else {
+                    System.out.printf(formatarString.apply("{" + nome(destinos, nomesEstados, ",") + "}"));
+                }
+                
+            }
+            if (funcaoTransicao.temTransicoesVazias()) {
+                System.out.printf(formatarString.apply(fecho));
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    public LinkedHashMap<String, Integer> getConjuntoSimbolos() {
+        return conjuntoSimbolos;
+    }
+
+    public LinkedHashMap<String,Integer> getConjuntoEstados() {
+        return conjuntoEstados;
+    }
+
+    public HashSet<String> getConjuntoEstadosFinais() {
+        return conjuntoEstadosFinais;
+    }
+
+    public String getEstadoInicial() {
+        return estadoInicial;
+    }
+
+    public String getTipoAutomato() {
+        return tipoAutomato;
+    }
+
+    public void setTipoAutomato(String tipoAutomato) {
+        this.tipoAutomato = tipoAutomato;
+    }
+
+    public void setEstadoInicial(String estadoInicial) {
+        this.estadoInicial = estadoInicial;
+    }
+
+    public void setFuncaoTransicao(TabelaAFN funcaoTransicao) {
+        this.funcaoTransicao = funcaoTransicao;
+    }
+}
+
+public class Converter {
+    public static void main (String args[]) {
+        String arquivoEntradaDescricaoAFN = args[0];
+        String arquivoSaidaDescricaoAFD = args[1];
+
+        // Opcional: --comentarios completos|resumidos|nenhum (o padrão são os completos até
+        // EscritorDescricao.LIMITE_COMENTARIOS_COMPLETOS estados e os resumidos acima disso); --stats arquivo.json escreve
+        // as métricas da conversão no arquivo ao terminar; --limite-memoria MB faz a conversão fora do heap, com no máximo MB
+        // megabytes para os conjuntos de estados e a tabela (ver AFN.converterForaDoHeap)
+        int comentarios = -1;
+        String arquivoMetricas = null;
+        long limiteMemoria = 0;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--comentarios") && i + 1 < args.length && EscritorDescricao.comentarios(args[i + 1]) >= 0) {
+                comentarios = EscritorDescricao.comentarios(args[++i]);
+            } else if (args[i].equals("--stats") && i + 1 < args.length) {
+                arquivoMetricas = args[++i];
+            } else if (args[i].equals("--limite-memoria") && i + 1 < args.length && args[i + 1].matches("0*[1-9][0-9]{0,6}")) {
+                limiteMemoria = Long.parseLong(args[++i]) << 20;
+            } else {
+                System.out.println("Opção desconhecida: " + args[i]);
+                return;
+            }
+        }
+
+        Determinizacao.metricas().registrarJMX();
+
+        // Sem o AFN não há o que converter: o erro é informado e nenhum arquivo de saída é criado
+        AFN afn;
+        try {
+            afn = new AFN (arquivoEntradaDescricaoAFN);
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        EventoFase impressao = EventoFase.iniciar("conversao", "impressao");
+        afn.imprimirAFN();
+        impressao.concluir(0, afn.getConjuntoEstados().size(), afn.getConjuntoSimbolos().size(), 0);
+
+        if (limiteMemoria > 0) {
+            // O número de estados só é conhecido no fim, então o padrão são os comentários resumidos
+            ArenaForaDoHeap arena = new ArenaForaDoHeap(limiteMemoria);
+            try {
+                Determinizacao determinizacao = afn.converterForaDoHeap(arquivoSaidaDescricaoAFD,
+                    comentarios >= 0 ? comentarios : EscritorDescricao.COMENTARIOS_RESUMIDOS, arena);
+                System.out.println("AFD: " + determinizacao.getNumeroEstados() + " estados, " + ArenaForaDoHeap.megabytes(arena.getMaiorUso())
+                    + " fora do heap (as tabelas não são impressas com --limite-memoria)");
+            }catch(LimiteMemoriaExcedido | IOException e) {
+                System.out.println(e.getMessage());
+            }
+            escreverMetricas(arquivoMetricas);
+            return;
+        }
+
+        AFD afdGerado = afn.converterAFNparaAFD ();
+
+        impressao = EventoFase.iniciar("conversao", "impressao");
+        afdGerado.imprimirAFDNaoSimplificado();
+        afdGerado.imprimirAFDFinal();
+        impressao.concluir(0, afdGerado.getNumeroEstados(), afn.getConjuntoSimbolos().size(), 0);
+
+        // Um arquivo de saída .afdb é escrito no formato binário
+        if (FormatoBinario.usarFormatoBinario(arquivoSaidaDescricaoAFD)) {
+            afdGerado.escreverArquivoBinario(arquivoSaidaDescricaoAFD);
+        } else {
+            afdGerado.escreverArquivoSaida(arquivoSaidaDescricaoAFD, comentarios >= 0 ? comentarios : EscritorDescricao.comentariosPadrao(afdGerado.getNumeroEstados()));
+        }
+
+        escreverMetricas(arquivoMetricas);
+    }
+
+    private static void escreverMetricas (String arquivoMetricas) {
+        if (arquivoMetricas != null) {
+            try {
+                Metricas.escreverJSON(Paths.get(arquivoMetricas), Determinizacao.metricas());
+            }catch(IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package conversao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import comum.ArenaForaDoHeap;
+import comum.ConjuntosEstados;
+import comum.ConjuntosForaDoHeap;
+import comum.ConjuntosNumerados;
+import comum.EscritorDescricao;
+import comum.EventoFase;
+import comum.Histograma;
+import comum.LimiteMemoriaExcedido;
+import comum.Metricas;
+import comum.TabelaAFD;
+import comum.TabelaAFN;
+
+// Construção de subconjuntos sobre a representação por índices: cada estado do AFD é um conjunto de estados do AFN (um
+// mapa de bits, com os fechos-ε aplicados), e os conjuntos encontrados recebem identificadores 0, 1, 2, ... na ordem em
+// que aparecem. Os identificadores ainda não processados fazem o papel da fila do algoritmo, e as transições vão direto
+// para um vetor de inteiros, sem nomes de estados.
+//
+// É usada pelo Converter (que depois dá nomes aos conjuntos) e pelo pipeline, que passa a TabelaAFD resultante para a
+// minimização sem escrever o AFD em um arquivo. Com um EscritorDescricao, cada estado é escrito assim que as suas
+// transições ficam prontas.
+public final class Determinizacao {
+    // Métricas de todas as construções do processo, registradas uma vez por construção: os conjuntos encontrados, a soma
+    // dos seus tamanhos (em estados do AFN) e o maior número de conjuntos esperando na fila
+    private static final Metricas METRICAS = new Metricas("conversao");
+    private static final LongAdder CONSTRUCOES = METRICAS.contador("construcoes");
+    private static final LongAdder CONJUNTOS = METRICAS.contador("conjuntosEncontrados");
+    private static final LongAdder SOMA_TAMANHOS = METRICAS.contador("somaTamanhosConjuntos");
+    private static final LongAccumulator MAIOR_FILA = new LongAccumulator(Math::max, 0);
+    private static final LongAccumulator MAIOR_USO_FORA_DO_HEAP = new LongAccumulator(Math::max, 0);
+    private static final Histograma DURACAO = METRICAS.histograma("duracao");
+
+    static {
+        METRICAS.medidor("maiorFila", MAIOR_FILA::get);
+        METRICAS.medidor("maiorUsoForaDoHeap", MAIOR_USO_FORA_DO_HEAP::get);
+        METRICAS.medidor("tamanhoMedioConjunto", () -> {
+            long conjuntos = CONJUNTOS.sum();
+            return conjuntos == 0 ? 0 : (double) SOMA_TAMANHOS.sum() / conjuntos;
+        });
+    }
+
+    private TabelaAFN afn;
+    private int numeroSimbolos;
+    private ConjuntosNumerados conjuntos;
+    // transicoes[estado * numeroSimbolos + simbolo], com TabelaAFD.SEM_TRANSICAO para o conjunto vazio. No heap é a visão
+    // de um int[]; com uma arena, de 'memoriaTransicoes'
+    private IntBuffer transicoes;
+    private ArenaForaDoHeap arena;
+    private ByteBuffer memoriaTransicoes;
+    private long[] estadosFinais;
+    private long somaTamanhos;
+    private int maiorFila;
+
+    public Determinizacao (TabelaAFN afn) {
+        inicializar(afn, null);
+        try {
+            executar(null);
+        } catch (IOException e) {
+            // Sem escritor não há escrita
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Escreve o AFD em 'escritor' (criado por EscritorDescricao.aosPoucos) durante a construção e conclui o arquivo
+    public Determinizacao (TabelaAFN afn, EscritorDescricao escritor) throws IOException {
+        inicializar(afn, null);
+        executar(escritor);
+    }
+
+    // Os conjuntos de estados, o índice deles e a tabela de transições ficam fora do heap, em 'arena' (no heap ficam só os
+    // estados finais, um bit por estado). Se o limite da arena é atingido, a construção é interrompida com um
+    // LimiteMemoriaExcedido que diz até onde ela chegou. 'escritor' pode ser null; com 'arena' null, tudo fica no heap
+    public Determinizacao (TabelaAFN afn, EscritorDescricao escritor, ArenaForaDoHeap arena) throws IOException {
+        inicializar(afn, arena);
+        executar(escritor);
+    }
+
+    private void inicializar (TabelaAFN afn, ArenaForaDoHeap arena) {
+        this.afn = afn;
+        this.numeroSimbolos = afn.getNumeroSimbolos();
+        this.arena = arena;
+        if (arena == null) {
+            this.conjuntos = new ConjuntosEstados(afn.getPalavras());
+            this.transicoes = IntBuffer.wrap(new int[16 * numeroSimbolos]);
+        } else {
+            this.conjuntos = new ConjuntosForaDoHeap(afn.getPalavras(), arena);
+            this.memoriaTransicoes = arena.alocar(4L * 16 * numeroSimbolos, "tabela de transições");
+            this.transicoes = memoriaTransicoes.asIntBuffer();
+        }
+        this.estadosFinais = new long[1];
+    }
+
+    // Converte o AFN em um AFD cujo estado inicial é o 0 (o conjunto inicial do AFN)
+    public static TabelaAFD converter (TabelaAFN afn) {
+        return new Determinizacao(afn).tabela();
+    }
+
+    public static Metricas metricas () {
+        return METRICAS;
+    }
+
+    private void executar (EscritorDescricao escritor) throws IOException {
+        EventoFase evento = EventoFase.iniciar("conversao", "subconjuntos");
+        long inicio = System.nanoTime();
+        long[] estadoAtual = new long[afn.getPalavras()];
+        long[] novo = new long[afn.getPalavras()];
+        int[] linha = new int[numeroSimbolos];
+
+        int atual = 0;
+        try {
+            afn.conjuntoInicial(estadoAtual);
+            adicionar(estadoAtual);
+
+            for (; atual < conjuntos.tamanho(); atual++) {
+                conjuntos.copiar(atual, estadoAtual);
+                for (int simbolo = 0; simbolo < numeroSimbolos; simbolo++) {
+                    int destino = TabelaAFD.SEM_TRANSICAO;
+                    // δ({estados}, simbolo) = OU dos destinos dos estados, com o fecho-ε. O conjunto vazio não gera
+                    // transição
+                    if (afn.sucessores(estadoAtual, simbolo, novo)) {
+                        destino = adicionar(novo);
+                    }
+                    linha[simbolo] = destino;
+                }
+                transicoes.put(atual * numeroSimbolos, linha);
+                if (escritor != null) {
+                    escritor.transicoes(atual, linha, 0);
+                }
+                // Os conjuntos depois do atual são os que ainda estão na fila
+                maiorFila = Math.max(maiorFila, conjuntos.tamanho() - atual - 1);
+            }
+        } catch (LimiteMemoriaExcedido e) {
+            throw new LimiteMemoriaExcedido(e.getMessage() + "\nConstrução de subconjuntos interrompida com " + conjuntos.tamanho()
+                + " estados do AFD encontrados, " + atual + " processados e " + (conjuntos.tamanho() - atual) + " na fila; cada conjunto ocupa "
+                + 8L * afn.getPalavras() + " bytes (" + afn.getNumeroEstados() + " estados do AFN) e cada linha da tabela "
+                + 4L * numeroSimbolos + " bytes", e);
+        }
+        if (escritor != null) {
+            escritor.concluir(conjuntos.tamanho(), 0, estadosFinais);
+        }
+        CONSTRUCOES.increment();
+        CONJUNTOS.add(conjuntos.tamanho());
+        SOMA_TAMANHOS.add(somaTamanhos);
+        MAIOR_FILA.accumulate(maiorFila);
+        if (arena != null) {
+            MAIOR_USO_FORA_DO_HEAP.accumulate(arena.getMaiorUso());
+        }
+        DURACAO.registrar(System.nanoTime() - inicio);
+        evento.concluir(afn.getNumeroEstados(), conjuntos.tamanho(), numeroSimbolos, 0);
+    }
+
+    // Um conjunto ainda não encontrado entra no fim da "fila"
+    private int adicionar (long[] conjunto) {
+        int anterior = conjuntos.tamanho();
+        int estado = conjuntos.adicionar(conjunto);
+        if (estado == anterior) {
+            if ((long) (estado + 1) * numeroSimbolos > transicoes.capacity()) {
+                crescerTransicoes((long) (estado + 1) * numeroSimbolos);
+            }
+            if ((estado >>> 6) == estadosFinais.length) {
+                estadosFinais = Arrays.copyOf(estadosFinais, estadosFinais.length * 2);
+            }
+            if (afn.contemFinal(conjunto)) {
+                estadosFinais[estado >>> 6] |= 1L << estado;
+            }
+            for (long palavra : conjunto) {
+                somaTamanhos += Long.bitCount(palavra);
+            }
+        }
+        return estado;
+    }
+
+    private void crescerTransicoes (long minimo) {
+        long capacidade = Math.max(minimo, 2L * transicoes.capacity());
+        if (arena == null) {
+            transicoes = IntBuffer.wrap(Arrays.copyOf(transicoes.array(), (int) Math.min(Integer.MAX_VALUE - 8, capacidade)));
+        } else {
+            capacidade = Math.max(minimo, Math.min(ArenaForaDoHeap.MAXIMO_BUFFER / 4, capacidade));
+            memoriaTransicoes = arena.realocar(memoriaTransicoes, 4 * capacidade, "tabela de transições");
+            transicoes = memoriaTransicoes.asIntBuffer();
+        }
+    }
+
+    public int getNumeroEstados () {
+        return conjuntos.tamanho();
+    }
+
+    public int getTransicao (int estado, int simbolo) {
+        return transicoes.get(estado * numeroSimbolos + simbolo);
+    }
+
+    // Maior número de conjuntos encontrados e ainda não processados durante a construção
+    public int getMaiorFila () {
+        return maiorFila;
+    }
+
+    // Número médio de estados do AFN em cada estado do AFD
+    public double getTamanhoMedioConjunto () {
+        int n = conjuntos.tamanho();
+        return n == 0 ? 0 : (double) somaTamanhos / n;
+    }
+
+    public boolean eFinal (int estado) {
+        return (estadosFinais[estado >>> 6] & (1L << estado)) != 0;
+    }
+
+    // Copia o conjunto de estados do AFN que forma o estado do AFD
+    public void conjunto (int estado, long[] destino) {
+        conjuntos.copiar(estado, destino);
+    }
+
+    // O AFD construído. Com uma arena a tabela não é copiada para o heap: a TabelaAFD lê direto da memória da arena
+    public TabelaAFD tabela () {
+        int numeroEstados = conjuntos.tamanho();
+        String[] simbolos = new String[numeroSimbolos];
+        for (int i = 0; i < numeroSimbolos; i++) {
+            simbolos[i] = afn.getSimbolo(i);
+        }
+        IntBuffer tabela = arena == null ? IntBuffer.wrap(Arrays.copyOf(transicoes.array(), numeroEstados * numeroSimbolos))
+            : transicoes.slice(0, numeroEstados * numeroSimbolos).asReadOnlyBuffer();
+        return new TabelaAFD(simbolos, numeroEstados, 0, Arrays.copyOf(estadosFinais, (numeroEstados + 63) >>> 6), tabela);
+    }
+}
@@ -0,0 +1,31 @@
+package minimizacao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Evento do JFR para uma chamada de marcarParesDaListaRecursivamente no algoritmo da tabela. A marcação acontece no meio
+// do preenchimento da tabela, uma vez para cada par marcado que encabeça uma lista, então só as chamadas de pelo menos
+// 1 ms são gravadas (o limite pode ser mudado nas configurações da gravação).
+@Name("sin131.MarcacaoPares")
+@Label("Marcação recursiva de pares")
+@Category({"SIN131", "Minimização"})
+@Description("Marcação dos pares das listas encabeçadas por um par recém-marcado (algoritmo da tabela)")
+@Threshold("1 ms")
+@StackTrace(false)
+final class EventoMarcacaoPares extends Event {
+    @Label("Listas visitadas")
+    private int listasVisitadas;
+
+    void concluir (int listasVisitadas) {
+        end();
+        if (shouldCommit()) {
+            this.listasVisitadas = listasVisitadas;
+            commit();
+        }
+    }
+}
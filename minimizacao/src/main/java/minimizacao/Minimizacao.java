@@ -0,0 +1,890 @@
+package minimizacao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import comum.AnaliseAlcance;
+import comum.EquivalenciaAFD;
+import comum.EscritorDescricao;
+import comum.EventoFase;
+import comum.FormatoBinario;
+import comum.LeitorDescricao;
+import comum.Metricas;
+import comum.ProdutoAFD;
+import comum.TabelaAFD;
+
+class AFDMinimizado {
+    private String tipoAutomato;
+    private LinkedHashMap<String,Integer> conjuntoEstados;
+    private LinkedHashMap<String,Integer> conjuntoSimbolos;
+    private HashSet<String> conjuntoEstadosFinais;
+    private String estadoInicial;
+    private String[][] funcaoTransicao;
+    
+    // AFD mínimo sem estados, preenchido pela minimização
+    public AFDMinimizado (HashMap<String,Integer> conjuntoSimbolos) {
+        this.tipoAutomato = "AFD";
+        this.conjuntoEstados = new LinkedHashMap<>();
+        this.conjuntoEstadosFinais = new HashSet<>();
+        this.conjuntoSimbolos = new LinkedHashMap<>(conjuntoSimbolos);
+    }
+
+    public void imprimirAFD () {
+        
+        System.out.println();
+
+        // Retorna todos os simbolos
+        Supplier<String> simbolos = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoSimbolos().size();
+            sb.append("{");
+            for (String estado : this.getConjuntoSimbolos().keySet()) {
+                sb.append(estado);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados
+        Supplier<String> estados = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoEstados().size();
+            sb.append("{");
+            for (String estado : this.getConjuntoEstados().keySet()) {
+                sb.append(estado);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados finais
+        Supplier<String> estadosFinais = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoEstadosFinais().size();
+            sb.append("{");
+            for (String estadoFinal : this.getConjuntoEstadosFinais()) {
+                sb.append(estadoFinal);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        System.out.println(this.getTipoAutomato() + " Minimizado" +  
+            " = (" + simbolos.get() + ", " + estados.get() + ", δM, " + this.getEstadoInicial() + 
+            ", " + estadosFinais.get() + ")");
+
+
+        // Função de transição
+
+        Function<String, String> formatarString = s -> String.format("%-10s", s);
+
+        System.out.printf(formatarString.apply("δM"));
+        for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+            System.out.printf(formatarString.apply(simbolo));
+        }
+        System.out.println();
+        for (String estado : this.getConjuntoEstados().keySet()) {
+            System.out.printf(formatarString.apply(estado));
+            for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+                String proximoEstado = funcaoTransicao[this.getConjuntoEstados().get(estado)][this.getConjuntoSimbolos().get(simbolo)];
+                if ( proximoEstado != null) {
+                    System.out.printf(formatarString.apply(proximoEstado));
+                } else {
+                    System.out.printf(formatarString.apply("-"));
+                }
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+    
+    // Escreve o AFD mínimo no formato texto (ver comum.EscritorDescricao), com os comentários dados por
+    // EscritorDescricao.COMENTARIOS_*
+    public void escreverArquivoSaida (String arquivoSaidaDescricaoAFDMinimo, int comentarios) {
+        EventoFase evento = EventoFase.iniciar("minimizacao", "escrita");
+        try {
+            Path arquivo = Paths.get(arquivoSaidaDescricaoAFDMinimo);
+            String[] nomes = this.getConjuntoEstados().keySet().toArray(new String[0]);
+            EscritorDescricao.escrever(this.tabela(), nomes, arquivo, comentarios);
+            evento.concluir(0, nomes.length, this.getConjuntoSimbolos().size(), Files.size(arquivo));
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Escreve o AFD mínimo no formato binário (ver comum.FormatoBinario)
+    public void escreverArquivoBinario (String arquivoSaidaDescricaoAFDMinimo) {
+        EventoFase evento = EventoFase.iniciar("minimizacao", "escrita");
+        try {
+            Path arquivo = Paths.get(arquivoSaidaDescricaoAFDMinimo);
+            FormatoBinario.escrever(this.tabela(), arquivo);
+            evento.concluir(0, this.getConjuntoEstados().size(), this.getConjuntoSimbolos().size(), Files.size(arquivo));
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Representação por índices do AFD mínimo: os estados são renumerados na ordem do conjunto de estados (os índices
+    // do conjunto não são contínuos depois da exclusão dos estados inúteis)
+    public TabelaAFD tabela () {
+        String[] simbolos = this.getConjuntoSimbolos().keySet().toArray(new String[0]);
+        int numeroEstados = this.getConjuntoEstados().size();
+
+        HashMap<String, Integer> indices = new HashMap<>();
+        for (String estado : this.getConjuntoEstados().keySet()) {
+            indices.put(estado, indices.size());
+        }
+
+        int[] transicoes = new int[numeroEstados * simbolos.length];
+        long[] estadosFinais = new long[(numeroEstados + 63) >>> 6];
+        for (String estado : this.getConjuntoEstados().keySet()) {
+            int i = indices.get(estado);
+            for (int j = 0; j < simbolos.length; j++) {
+                String proximoEstado = this.getFuncaoTransicao(this.getConjuntoEstados().get(estado), this.getConjuntoSimbolos().get(simbolos[j]));
+                Integer destino = proximoEstado == null ? null : indices.get(proximoEstado);
+                transicoes[i * simbolos.length + j] = destino == null ? TabelaAFD.SEM_TRANSICAO : destino;
+            }
+            if (this.getConjuntoEstadosFinais().contains(estado)) {
+                estadosFinais[i >>> 6] |= 1L << i;
+            }
+        }
+
+        Integer inicial = indices.get(this.getEstadoInicial());
+        return new TabelaAFD(simbolos, numeroEstados, inicial == null ? TabelaAFD.SEM_TRANSICAO : inicial, estadosFinais, transicoes);
+    }
+
+    public String getTipoAutomato() {
+        return tipoAutomato;
+    }
+
+    public LinkedHashMap<String, Integer> getConjuntoEstados() {
+        return conjuntoEstados;
+    }
+
+    public LinkedHashMap<String, Integer> getConjuntoSimbolos() {
+        return conjuntoSimbolos;
+    }
+
+    public HashSet<String> getConjuntoEstadosFinais() {
+        return conjuntoEstadosFinais;
+    }
+
+    public String getEstadoInicial() {
+        return estadoInicial;
+    }
+
+    public void setFuncaoTransicao(String[][] funcaoTransicao) {
+        this.funcaoTransicao = funcaoTransicao;
+    }
+
+    public void setFuncaoTransicao(int linha, int coluna, String s) {
+        this.funcaoTransicao[linha][coluna] = s;
+    }
+
+    public String getFuncaoTransicao(int l, int c) {
+        return funcaoTransicao[l][c];
+    }
+
+    public void setEstadoInicial(String estadoInicial) {
+        this.estadoInicial = estadoInicial;
+    }
+
+}
+
+class AFD {
+    private String tipoAutomato;
+    private LinkedHashMap<String,Integer> conjuntoEstados;
+    private LinkedHashMap<String,Integer> conjuntoSimbolos;
+    private HashSet<String> conjuntoEstadosFinais;
+    private String estadoInicial;
+    private String[][] funcaoTransicao;
+    // O mesmo AFD por índices, como foi lido (antes da remoção dos estados inacessíveis), usado pelo algoritmo de
+    // Hopcroft e na construção do AFD mínimo
+    private String[] nomesEstados;
+    private TabelaAFD tabela;
+
+    // Auxiliar o processo de minimização
+    private boolean[][] tabelaDeEstados;
+    private HashMap<String, LinkedList<Par>> lista;
+
+    private class Par { 
+        String u;
+        String v;
+
+        public Par (String u, String v) {
+            this.u = u;
+            this.v = v;
+        }
+
+        public String toString() {
+            return v + u;
+        }
+    }
+    
+
+    // Um erro de leitura (arquivo inexistente, descrição inválida) é repassado para quem chamou
+    public AFD (String arquivoEntradaDescricaoAFD) throws IOException {
+        conjuntoEstados = new LinkedHashMap<>();
+        conjuntoSimbolos = new LinkedHashMap<>();
+        conjuntoEstadosFinais = new HashSet<>();
+        lista = new HashMap<>();
+        inicializar(arquivoEntradaDescricaoAFD);
+    }
+
+    private void inicializar (String arquivoEntradaDescricaoAFD) throws IOException {
+        EventoFase evento = EventoFase.iniciar("minimizacao", "leitura");
+        Path arquivo = Paths.get(arquivoEntradaDescricaoAFD);
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivo)) {
+            this.setTipoAutomato(leitor.getTipo());
+            String[] estados = leitor.getEstados();
+            for (int i = 0; i < estados.length; i++) {
+                this.getConjuntoEstados().put(estados[i], i);
+            }
+            String[] simbolos = leitor.getSimbolos();
+            for (int i = 0; i < simbolos.length; i++) {
+                this.getConjuntoSimbolos().put(simbolos[i], i);
+            }
+            this.setEstadoInicial(estados[leitor.getEstadoInicial()]);
+            for (int estadoFinal : leitor.getEstadosFinais()) {
+                this.getConjuntoEstadosFinais().add(estados[estadoFinal]);
+            }
+
+            // Cria-se uma matriz de tamanho conjuntoEstados.size() + 1 x conjuntoSimbolos.size() que armazena objetos
+            int[] transicoes = new int[TabelaAFD.tamanhoTabela(arquivo, estados.length, simbolos.length)];
+            this.setFuncaoTransicao(new String[estados.length + 1][simbolos.length]);
+            Arrays.fill(transicoes, TabelaAFD.SEM_TRANSICAO);
+            leitor.lerTransicoes((origem, simbolo, destinos, numeroDestinos) -> {
+                if (numeroDestinos > 0) {
+                    funcaoTransicao[origem][simbolo] = estados[destinos[0]];
+                    transicoes[origem * simbolos.length + simbolo] = destinos[0];
+                }
+            });
+            long[] estadosFinais = new long[(estados.length + 63) >>> 6];
+            for (int estadoFinal : leitor.getEstadosFinais()) {
+                estadosFinais[estadoFinal >>> 6] |= 1L << estadoFinal;
+            }
+            this.nomesEstados = estados;
+            this.tabela = new TabelaAFD(simbolos, estados.length, leitor.getEstadoInicial(), estadosFinais, transicoes);
+            evento.concluir(0, estados.length, simbolos.length, Files.size(arquivo));
+        }
+    }
+
+    public void imprimirAFD () {
+        
+        System.out.println();
+
+        // Retorna todos os simbolos
+        Supplier<String> simbolos = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoSimbolos().size();
+            sb.append("{");
+            for (String estado : this.getConjuntoSimbolos().keySet()) {
+                sb.append(estado);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados
+        Supplier<String> estados = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoEstados().size();
+            sb.append("{");
+            for (String estado : this.getConjuntoEstados().keySet()) {
+                sb.append(estado);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        // Retorna todos os estados finais
+        Supplier<String> estadosFinais = () -> {
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            int limite = this.getConjuntoEstadosFinais().size();
+            sb.append("{");
+            for (String estadoFinal : this.getConjuntoEstadosFinais()) {
+                sb.append(estadoFinal);
+                if (i != limite) {
+                    sb.append(", ");
+                }
+                i++;
+            }
+            sb.append("}");
+            return sb.toString();
+        };
+
+        System.out.println(this.getTipoAutomato() + 
+            " = (" + simbolos.get() + ", " + estados.get() + ", δD, " + this.getEstadoInicial() + 
+            ", " + estadosFinais.get() + ")");
+
+
+        // Função de transição
+
+        Function<String, String> formatarString = s -> String.format("%-10s", s);
+
+        System.out.printf(formatarString.apply("δD"));
+        for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+            System.out.printf(formatarString.apply(simbolo));
+        }
+        System.out.println();
+        for (String estado : this.getConjuntoEstados().keySet()) {
+            System.out.printf(formatarString.apply(estado));
+            for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+                String proximoEstado = funcaoTransicao[this.getConjuntoEstados().get(estado)][this.getConjuntoSimbolos().get(simbolo)];
+                if ( proximoEstado != null) {
+                    System.out.printf(formatarString.apply(proximoEstado));
+                } else {
+                    System.out.printf(formatarString.apply("-"));
+                }
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    // Minimização pelo algoritmo de Hopcroft (ver ParticaoHopcroft), em O(n·k·log n)
+    public AFDMinimizado minimizar () {
+        return construirAFDMinimizado(Minimizador.classes(tabela, 0));
+    }
+
+    // Minimização pelo algoritmo de Moore, com cada rodada dividida entre 'numeroThreads' threads (ver ParticaoMoore).
+    // O AFD mínimo é o mesmo de minimizar()
+    public AFDMinimizado minimizarParalelo (int numeroThreads) {
+        return construirAFDMinimizado(Minimizador.classes(tabela, numeroThreads));
+    }
+
+    // Minimização pelo algoritmo da tabela de pares de estados, em O(n²·k) tempo e O(n²) memória. Mantida para comparação
+    // com minimizar()
+    public AFDMinimizado minimizarPorTabela () {
+
+        EventoFase evento = EventoFase.iniciar("minimizacao", "preRequisitos");
+        verificarPreRequisitos();
+        evento.concluir(tabela.getNumeroEstados(), this.getConjuntoEstados().size(), this.getConjuntoSimbolos().size(), 0);
+        
+        // Novo conjunto de estados  onde o acesso aos estados é feito pelo índice 
+        LinkedHashMap<Integer, String> conjuntoEstadosPeloIndice = new LinkedHashMap<>();
+        for (String estado : this.getConjuntoEstados().keySet()) {
+            conjuntoEstadosPeloIndice.put(this.getConjuntoEstados().get(estado), estado);
+        }
+
+        // Algumas funções auxiliares
+
+        // Testa se os estados são pares do tipo {estado final, estado não-final}
+        BiPredicate<String, String> eParFinaleNaoFinal = (s1, s2) -> {
+            if (this.getConjuntoEstadosFinais().contains(s1)) {
+                if (!this.getConjuntoEstadosFinais().contains(s2)) {
+                    return true;
+                }
+            }else {
+                if (this.getConjuntoEstadosFinais().contains(s2)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+
+        BiFunction<String, String, String> δ = (estado, simbolo) -> {
+            return funcaoTransicao[this.getConjuntoEstados().get(estado)][this.getConjuntoSimbolos().get(simbolo)];
+        };
+
+        BiPredicate<String, String> estaMarcado = (s1, s2) -> {
+            return tabelaDeEstados[this.getConjuntoEstados().get(s1)][this.getConjuntoEstados().get(s2)];
+        };
+
+
+        // Passo 1 - Criar uma tabela de estados
+        evento = EventoFase.iniciar("minimizacao", "tabela");
+        this.setTabelaDeEstados(new boolean[this.getConjuntoEstados().size()][this.getConjuntoEstados().size()]);
+
+    
+        // Passo 2 - Marcar os pares {final, não-final}
+        int i = 0;
+        while (i < this.getConjuntoEstados().size()) {
+            int j = 0;
+            while (i > j) {
+                Par q = new Par(conjuntoEstadosPeloIndice.get(i), conjuntoEstadosPeloIndice.get(j));
+               
+                // Marcar os estados não equivalentes
+                if (eParFinaleNaoFinal.test(q.u, q.v)) {
+                    tabelaDeEstados[i][j] = true;
+                }
+                j++;
+            }
+            i++;
+        }
+
+        // Passo 3 - Verificar para as entradas não marcadas na tabela
+        i = 0;
+        while (i < this.getConjuntoEstados().size()) {
+            int j = 0;
+            while (i > j) {
+                if (tabelaDeEstados[i][j] == false) {
+                    Par q = new Par(conjuntoEstadosPeloIndice.get(i), conjuntoEstadosPeloIndice.get(j));
+
+                    for (String simbolo : this.getConjuntoSimbolos().keySet()) {
+                        Par p = new Par(δ.apply(q.u, simbolo), δ.apply(q.v, simbolo));
+                        
+
+                        // É preciso garantir que o par {pu,pv} esteja dentro do range da tabela, para isso o índice do pu deve
+                        // ser maior que o pv. Caso contrário, é preciso trocar ambos de lugar. O par {qu, qv} está correto pois
+                        // ele foi obtido a partir do i e j
+
+                        if (this.getConjuntoEstados().get(p.u) < this.getConjuntoEstados().get(p.v)) {
+                            String aux = p.u;
+                            p.u = p.v;
+                            p.v = aux;
+                        }
+                        
+                        // Se pu != pv e {pu,pv} não está marcado
+                        if (!p.u.equals(p.v) && !estaMarcado.test(p.u, p.v)) {
+                            if (!lista.containsKey(p.toString())) {
+                                lista.put((p.toString()), new LinkedList<>());
+                            }
+                            // {qu,qv} é incluído na lista encabeçada por {pu,pv}
+                            if (!lista.get(p.toString()).contains(q)) {
+                                // Caso não exista o par, adiciona o mesmo na lista
+                                lista.get(p.toString()).add(q);
+                            }
+
+                        // Se pu != pv e {pu,pv} está marcado
+                        } else if (!p.u.equals(p.v) && estaMarcado.test(p.u, p.v)) {
+                            
+                            // Se {qu,qv} não é equivalente, marcar; ou seja, se {pu, pv} é um par do tipo {final, não-final}
+                            // significa que {qu, qv} não é equivalente, caso contrário, se {pu, pv} for do tipo {final, final}
+                            // ou {não-final, não-final} então {qu, qv} é equivalente
+
+                            // Como {pu,pv} está marcado (entrou no loop), marca {qu,qv} ({qu,qv} não é equivalente)
+                            tabelaDeEstados[this.getConjuntoEstados().get(q.u)][this.getConjuntoEstados().get(q.v)] = true;
+                            
+                            // Se {qu,qv} encabeça uma lista, marcar todos os pares da lista recursivamente
+                            if (this.getLista().containsKey(q.toString())) {
+                                EventoMarcacaoPares marcacao = new EventoMarcacaoPares();
+                                marcacao.begin();
+                                HashSet<String> visitadas = new HashSet<>();
+                                marcarParesDaListaRecursivamente(q.toString(), visitadas);
+                                marcacao.concluir(visitadas.size());
+                            }
+                        }
+                    }
+                }
+                j++;
+            }
+            i++;
+        }
+
+        evento.concluir(this.getConjuntoEstados().size(), this.getConjuntoEstados().size(), this.getConjuntoSimbolos().size(), 0);
+
+        // Passo 4 - Unificação dos estados (pares não marcados são equivalentes). Ao fim do passo 3 a relação "não
+        // marcado" é de equivalência, então cada estado fica na classe do primeiro estado (de menor índice) não marcado
+        // com ele
+        int[] classeTabela = new int[this.getConjuntoEstados().size()];
+        int numeroClasses = 0;
+        for (i = 0; i < classeTabela.length; i++) {
+            classeTabela[i] = -1;
+            for (int j = 0; j < i; j++) {
+                if (!tabelaDeEstados[i][j]) {
+                    classeTabela[i] = classeTabela[j];
+                    break;
+                }
+            }
+            if (classeTabela[i] < 0) {
+                classeTabela[i] = numeroClasses++;
+            }
+        }
+
+        // As classes são levadas para os índices da leitura; o estado 'd' é o estado morto (índice numeroEstados) e cada
+        // estado inacessível (removido por verificarPreRequisitos) fica em uma classe só dele, que será descartada
+        int numeroEstados = tabela.getNumeroEstados();
+        int[] classe = new int[numeroEstados + 1];
+        for (i = 0; i <= numeroEstados; i++) {
+            Integer indice = this.getConjuntoEstados().get(i < numeroEstados ? nomesEstados[i] : "d");
+            classe[i] = indice != null ? classeTabela[indice] : numeroClasses++;
+        }
+
+        // Passo 5 - Exclusão dos estados inúteis (feita na construção)
+        return construirAFDMinimizado(classe, numeroClasses, Minimizador.transicoesTotais(tabela), Minimizador.finaisComEstadoMorto(tabela));
+    }
+
+    // Monta o AFD mínimo a partir das classes de equivalência dos estados 0 .. numeroEstados (o último é o estado morto que
+    // completa a função programa), com os estados e as transições do quociente (ver Minimizador.Quociente). Cada classe
+    // recebe o nome dos seus estados acessíveis concatenados na ordem da leitura.
+    private AFDMinimizado construirAFDMinimizado (Minimizador.Classes classes) {
+        return construirAFDMinimizado(classes.classe, classes.numeroClasses, classes.transicoes, classes.finais);
+    }
+
+    private AFDMinimizado construirAFDMinimizado (int[] classe, int numeroClasses, int[] transicoes, boolean[] finais) {
+        EventoFase evento = EventoFase.iniciar("minimizacao", "remocaoInuteis");
+        Minimizador.Quociente quociente = new Minimizador.Quociente(tabela, classe, numeroClasses, transicoes, finais);
+        int numeroMantidas = quociente.numeroMantidas;
+        int numeroSimbolos = tabela.getNumeroSimbolos();
+        evento.concluir(numeroClasses, numeroMantidas, numeroSimbolos, 0);
+
+        evento = EventoFase.iniciar("minimizacao", "construcao");
+
+        StringBuilder[] nomes = new StringBuilder[numeroMantidas];
+        for (int q = 0; q < nomesEstados.length; q++) {
+            int n = quociente.novoIndice[classe[q]];
+            if (n >= 0 && quociente.acessivel[q]) {
+                if (nomes[n] == null) {
+                    nomes[n] = new StringBuilder();
+                }
+                nomes[n].append(nomesEstados[q]);
+            }
+        }
+        // Um nome concatenado pode coincidir com o de outro estado (por exemplo, 1 e 2 unificados em 12 quando já existe
+        // um estado 12); nesse caso recebe apóstrofos até ficar único
+        String[] nomesClasses = new String[numeroMantidas];
+        HashSet<String> usados = new HashSet<>();
+        for (int n = 0; n < numeroMantidas; n++) {
+            String nome = nomes[n] == null ? "d" : nomes[n].toString();
+            while (!usados.add(nome)) {
+                nome = nome + "'";
+            }
+            nomesClasses[n] = nome;
+        }
+
+        // Os símbolos têm os mesmos índices na tabela e no conjunto de símbolos (os dois vêm da leitura)
+        AFDMinimizado afdMinimizado = new AFDMinimizado(this.getConjuntoSimbolos());
+        afdMinimizado.setFuncaoTransicao(new String[numeroMantidas][numeroSimbolos]);
+        for (int n = 0; n < numeroMantidas; n++) {
+            afdMinimizado.getConjuntoEstados().put(nomesClasses[n], n);
+            if (quociente.eFinal(n)) {
+                afdMinimizado.getConjuntoEstadosFinais().add(nomesClasses[n]);
+            }
+            for (int a = 0; a < numeroSimbolos; a++) {
+                int destino = quociente.destino(n, a);
+                if (destino != TabelaAFD.SEM_TRANSICAO) {
+                    afdMinimizado.setFuncaoTransicao(n, a, nomesClasses[destino]);
+                }
+            }
+        }
+        afdMinimizado.setEstadoInicial(nomesClasses[quociente.getEstadoInicial()]);
+        evento.concluir(numeroClasses, numeroMantidas, numeroSimbolos, 0);
+        return afdMinimizado;
+    }
+
+    // Usada na função Minimizar
+    private void marcarParesDaListaRecursivamente(String cabecaLista, HashSet<String> cabecaListaJaVisitada) {
+
+        if (cabecaListaJaVisitada.contains(cabecaLista)) {
+            return;
+        } else {
+            cabecaListaJaVisitada.add(cabecaLista);
+        }
+
+        // Percorre a lista encabeçada pela 'cabecaLista'
+        for (Par par : this.getLista().get(cabecaLista)) {
+            // Se 'par' encabeça um lista, marcar todos os pares dessa lista
+            if (this.getLista().containsKey(par.toString())) {
+                marcarParesDaListaRecursivamente(par.toString(), cabecaListaJaVisitada);
+            }
+            tabelaDeEstados[this.getConjuntoEstados().get(par.u)][this.getConjuntoEstados().get(par.v)] = true;
+        }
+        
+        return;
+    }
+    
+    private void verificarPreRequisitos() {
+        // Pré-requisitos: 
+
+        // 1 - O autômato deve ser um AFD
+
+        // Espera-se que o autômato seja um AFD
+        // if (!this.getTipoAutomato().equals("AFD")) {
+        //     return false;
+        // }
+
+        // 2 - Todos os estados são alcançáveis a partir do estado inicial
+
+        // Os estados inacessíveis são encontrados pela busca em largura de AnaliseAlcance, sobre a tabela por índices
+        boolean[] acessivel = AnaliseAlcance.acessiveis(tabela);
+        HashSet<String> estados = new HashSet<>();
+        for (int q = 0; q < acessivel.length; q++) {
+            if (!acessivel[q]) {
+                estados.add(nomesEstados[q]);
+            }
+        }
+        if (estados.size() > 0) {
+            // Remove os estados inacessíveis caso existam
+            this.getConjuntoEstados().keySet().removeIf((s) -> estados.contains(s));
+            this.getConjuntoEstadosFinais().removeIf((s) -> estados.contains(s));
+            // Atualiza os índices do conjunto de estados e move as linhas da função de transição para os novos índices
+            String[][] funcaoTransicaoAcessiveis = new String[this.getConjuntoEstados().size() + 1][];
+            int i = 0;
+            for (String estado : this.getConjuntoEstados().keySet()) {
+                funcaoTransicaoAcessiveis[i] = funcaoTransicao[this.getConjuntoEstados().get(estado)];
+                this.getConjuntoEstados().replace(estado, i++);
+            }
+            funcaoTransicaoAcessiveis[i] = new String[this.getConjuntoSimbolos().size()];
+            this.setFuncaoTransicao(funcaoTransicaoAcessiveis);
+        }
+        
+
+        // 3 - A função programa deve ser total
+
+        // Cria a função programa total se necessário (adiciona um estado 'd' onde todas transições não previstas
+        // ligam a esse estado)
+        boolean acrescentarEstado = false;
+        for (int i = 0; i < this.getConjuntoEstados().size(); i++) {
+            for (int j = 0; j < this.getConjuntoSimbolos().size(); j++) {
+                if (funcaoTransicao[i][j] == null) {
+                    funcaoTransicao[i][j] = "d";
+                    acrescentarEstado = true;
+                }
+            }
+        }
+        if (acrescentarEstado) {
+            int tam = this.getConjuntoEstados().size();
+            this.getConjuntoEstados().put("d", tam);
+            for (int i = 0; i < this.getConjuntoSimbolos().size(); i++) {
+                funcaoTransicao[this.getConjuntoEstados().size() - 1][i] = "d";
+            }
+        }
+
+        // return true;
+    }
+
+    public String getTipoAutomato() {
+        return tipoAutomato;
+    }
+
+    public void setTipoAutomato(String tipoAutomato) {
+        this.tipoAutomato = tipoAutomato;
+    }
+
+    public HashMap<String, Integer> getConjuntoEstados() {
+        return conjuntoEstados;
+    }
+
+    public HashMap<String, Integer> getConjuntoSimbolos() {
+        return conjuntoSimbolos;
+    }
+
+    public HashSet<String> getConjuntoEstadosFinais() {
+        return conjuntoEstadosFinais;
+    }
+
+    public String getEstadoInicial() {
+        return estadoInicial;
+    }
+
+    public void setEstadoInicial(String estadoInicial) {
+        this.estadoInicial = estadoInicial;
+    }
+
+    public void setFuncaoTransicao(String[][] funcaoTransicao) {
+        this.funcaoTransicao = funcaoTransicao;
+    }
+
+    public void setTabelaDeEstados(boolean[][] tabelaDeEstados) {
+        this.tabelaDeEstados = tabelaDeEstados;
+    }
+
+    public HashMap<String, LinkedList<Par>> getLista() {
+        return lista;
+    }
+}
+
+public class Minimizacao {
+
+    public static void main (String args[]) {
+        // Verificação de equivalência: --equivalencia afd1.txt afd2.txt
+        if (args.length > 0 && args[0].equals("--equivalencia")) {
+            if (args.length != 3) {
+                System.out.println("Uso: --equivalencia afd1.txt afd2.txt");
+                return;
+            }
+            verificarEquivalencia(args[1], args[2]);
+            return;
+        }
+
+        String arquivoEntradaDescricaoAFD = args[0];
+        String arquivoSaidaDescricaoAFDMinimo = args[1];
+
+        // Opcional: --algoritmo hopcroft|moore|tabela escolhe o algoritmo (o padrão é o de Hopcroft); --threads N divide
+        // as rodadas do algoritmo de Moore entre N threads (o padrão é o número de processadores); --comentarios
+        // completos|resumidos|nenhum escolhe os comentários do arquivo de saída (ver Converter); --stats arquivo.json
+        // escreve as métricas da minimização no arquivo ao terminar; --produto intersecao|uniao|diferenca|simetrica
+        // outro.txt minimiza o produto do AFD com o outro AFD (ver minimizarProduto)
+        String algoritmo = "hopcroft";
+        int numeroThreads = Runtime.getRuntime().availableProcessors();
+        int comentarios = -1;
+        String arquivoMetricas = null;
+        int operacaoProduto = -1;
+        String arquivoProduto = null;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--algoritmo") && i + 1 < args.length && (args[i + 1].equals("hopcroft") || args[i + 1].equals("moore") || args[i + 1].equals("tabela"))) {
+                algoritmo = args[++i];
+            } else if (args[i].equals("--threads") && i + 1 < args.length && args[i + 1].matches("0*[0-9]{1,7}")) {
+                numeroThreads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--comentarios") && i + 1 < args.length && EscritorDescricao.comentarios(args[i + 1]) >= 0) {
+                comentarios = EscritorDescricao.comentarios(args[++i]);
+            } else if (args[i].equals("--stats") && i + 1 < args.length) {
+                arquivoMetricas = args[++i];
+            } else if (args[i].equals("--produto") && i + 2 < args.length && ProdutoAFD.operacao(args[i + 1]) >= 0) {
+                operacaoProduto = ProdutoAFD.operacao(args[++i]);
+                arquivoProduto = args[++i];
+            } else {
+                System.out.println("Opção desconhecida: " + args[i]);
+                return;
+            }
+        }
+        if (numeroThreads < 1) {
+            System.out.println("O número de threads deve ser maior que zero");
+            return;
+        }
+
+        Minimizador.metricas().registrarJMX();
+
+        if (arquivoProduto != null) {
+            if (algoritmo.equals("tabela")) {
+                System.out.println("O algoritmo da tabela não minimiza produtos; use hopcroft ou moore");
+                return;
+            }
+            minimizarProduto(arquivoEntradaDescricaoAFD, arquivoProduto, operacaoProduto, algoritmo.equals("moore") ? numeroThreads : 0,
+                arquivoSaidaDescricaoAFDMinimo, comentarios);
+            escreverMetricas(arquivoMetricas);
+            return;
+        }
+
+        // Sem o AFD não há o que minimizar: o erro é informado e o arquivo de saída não é criado (nem truncado)
+        AFD afd;
+        try {
+            afd = new AFD (arquivoEntradaDescricaoAFD);
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        EventoFase impressao = EventoFase.iniciar("minimizacao", "impressao");
+        afd.imprimirAFD();
+        impressao.concluir(0, afd.getConjuntoEstados().size(), afd.getConjuntoSimbolos().size(), 0);
+
+        AFDMinimizado afdMinimizado;
+        if (algoritmo.equals("tabela")) {
+            afdMinimizado = afd.minimizarPorTabela();
+        } else if (algoritmo.equals("moore")) {
+            afdMinimizado = afd.minimizarParalelo(numeroThreads);
+        } else {
+            afdMinimizado = afd.minimizar();
+        }
+
+        impressao = EventoFase.iniciar("minimizacao", "impressao");
+        afdMinimizado.imprimirAFD();
+        impressao.concluir(0, afdMinimizado.getConjuntoEstados().size(), afdMinimizado.getConjuntoSimbolos().size(), 0);
+
+        // Um arquivo de saída .afdb é escrito no formato binário
+        if (FormatoBinario.usarFormatoBinario(arquivoSaidaDescricaoAFDMinimo)) {
+            afdMinimizado.escreverArquivoBinario(arquivoSaidaDescricaoAFDMinimo);
+        } else {
+            afdMinimizado.escreverArquivoSaida(arquivoSaidaDescricaoAFDMinimo,
+                comentarios >= 0 ? comentarios : EscritorDescricao.comentariosPadrao(afdMinimizado.getConjuntoEstados().size()));
+        }
+
+        escreverMetricas(arquivoMetricas);
+    }
+
+    // O produto dos dois AFDs é construído só com os pares alcançáveis e minimizado pelo algoritmo de Hopcroft (ou pelo
+    // de Moore, com 'numeroThreads' > 0), sem imprimir as tabelas. No AFD mínimo os estados são chamados pelos índices
+    private static void minimizarProduto (String arquivoA, String arquivoB, int operacao, int numeroThreads, String arquivoSaida, int comentarios) {
+        try {
+            EventoFase leitura = EventoFase.iniciar("minimizacao", "leitura");
+            TabelaAFD a = TabelaAFD.ler(Paths.get(arquivoA));
+            TabelaAFD b = TabelaAFD.ler(Paths.get(arquivoB));
+            leitura.concluir(0, (long) a.getNumeroEstados() + b.getNumeroEstados(), a.getNumeroSimbolos(), Files.size(Paths.get(arquivoA)) + Files.size(Paths.get(arquivoB)));
+
+            TabelaAFD produto = Minimizador.produto(a, b, operacao, false);
+            TabelaAFD minimo = numeroThreads > 0 ? Minimizador.minimizarParalelo(produto, numeroThreads) : Minimizador.minimizar(produto);
+            System.out.println();
+            System.out.println("Produto: " + a.getNumeroEstados() + " x " + b.getNumeroEstados() + " estados, " + produto.getNumeroEstados()
+                + " pares alcançáveis, " + minimo.getNumeroEstados() + " estados no AFD mínimo");
+
+            EventoFase escrita = EventoFase.iniciar("minimizacao", "escrita");
+            Path arquivo = Paths.get(arquivoSaida);
+            if (FormatoBinario.usarFormatoBinario(arquivoSaida)) {
+                FormatoBinario.escrever(minimo, arquivo);
+            } else {
+                EscritorDescricao.escrever(minimo, null, arquivo, comentarios >= 0 ? comentarios : EscritorDescricao.comentariosPadrao(minimo.getNumeroEstados()));
+            }
+            escrita.concluir(0, minimo.getNumeroEstados(), minimo.getNumeroSimbolos(), Files.size(arquivo));
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Compara as linguagens de dois AFDs (no formato texto ou binário, com quaisquer nomes de estados) pelo algoritmo de
+    // Hopcroft e Karp (ver comum.EquivalenciaAFD) e, se elas diferem, mostra a menor palavra aceita por um só deles
+    private static void verificarEquivalencia (String arquivoA, String arquivoB) {
+        try {
+            EventoFase leitura = EventoFase.iniciar("minimizacao", "leitura");
+            TabelaAFD a = TabelaAFD.ler(Paths.get(arquivoA));
+            TabelaAFD b = TabelaAFD.ler(Paths.get(arquivoB));
+            leitura.concluir(0, (long) a.getNumeroEstados() + b.getNumeroEstados(), a.getNumeroSimbolos(), Files.size(Paths.get(arquivoA)) + Files.size(Paths.get(arquivoB)));
+
+            EventoFase evento = EventoFase.iniciar("minimizacao", "equivalencia");
+            EquivalenciaAFD equivalencia = new EquivalenciaAFD(a, b);
+            String[] palavra = equivalencia.contraExemplo();
+            evento.concluir((long) a.getNumeroEstados() + b.getNumeroEstados(), equivalencia.getUnioes(), a.getNumeroSimbolos(), 0);
+
+            if (palavra == null) {
+                System.out.println("Os AFDs são equivalentes (" + equivalencia.getUnioes() + " pares de estados unidos)");
+            } else {
+                String aceita = equivalencia.contraExemploAceitoPorA() ? arquivoA : arquivoB;
+                String rejeita = equivalencia.contraExemploAceitoPorA() ? arquivoB : arquivoA;
+                // A palavra vazia é representada pelo símbolo "_"
+                System.out.println("Os AFDs não são equivalentes: a palavra " + (palavra.length == 0 ? "_" : String.join("", palavra))
+                    + " (" + palavra.length + " símbolos) é aceita por " + aceita + " e rejeitada por " + rejeita);
+            }
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private static void escreverMetricas (String arquivoMetricas) {
+        if (arquivoMetricas != null) {
+            try {
+                Metricas.escreverJSON(Paths.get(arquivoMetricas), Minimizador.metricas());
+            }catch(IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+    
+}
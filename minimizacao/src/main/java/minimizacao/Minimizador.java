@@ -0,0 +1,237 @@
+package minimizacao;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
+
+import comum.AnaliseAlcance;
+import comum.EventoFase;
+import comum.Histograma;
+import comum.Metricas;
+import comum.ProdutoAFD;
+import comum.TabelaAFD;
+
+// Minimização sobre a representação por índices, sem os nomes dos estados: recebe e devolve uma TabelaAFD. É a mesma
+// minimização de AFD.minimizar() e AFD.minimizarParalelo() (o AFD mínimo tem os mesmos estados, na mesma ordem), usada
+// pelo pipeline para passar o AFD do Converter para a simulação sem escrever arquivos.
+public final class Minimizador {
+    // Métricas de todas as minimizações do processo (por Hopcroft ou Moore, aqui ou em AFD.minimizar), registradas uma
+    // vez por minimização. As rodadas são os divisores processados (Hopcroft) ou as rodadas de refinamento (Moore), e
+    // os blocos são as classes da partição final, com a do estado morto
+    private static final Metricas METRICAS = new Metricas("minimizacao");
+    private static final LongAdder MINIMIZACOES = METRICAS.contador("minimizacoes");
+    private static final LongAdder ESTADOS = METRICAS.contador("estados");
+    private static final LongAdder RODADAS = METRICAS.contador("rodadas");
+    private static final LongAdder BLOCOS = METRICAS.contador("blocos");
+    private static final Histograma DURACAO = METRICAS.histograma("duracao");
+
+    private Minimizador () {
+    }
+
+    public static Metricas metricas () {
+        return METRICAS;
+    }
+
+    private static void registrar (int estados, int rodadas, int blocos, long nanos) {
+        MINIMIZACOES.increment();
+        ESTADOS.add(estados);
+        RODADAS.add(rodadas);
+        BLOCOS.add(blocos);
+        DURACAO.registrar(nanos);
+    }
+
+    // AFD mínimo pelo algoritmo de Hopcroft (ver ParticaoHopcroft)
+    public static TabelaAFD minimizar (TabelaAFD afd) {
+        return quociente(afd, classes(afd, 0));
+    }
+
+    // AFD mínimo pelo algoritmo de Moore, com cada rodada dividida entre 'numeroThreads' threads (ver ParticaoMoore)
+    public static TabelaAFD minimizarParalelo (TabelaAFD afd, int numeroThreads) {
+        return quociente(afd, classes(afd, numeroThreads));
+    }
+
+    // A função programa completada com o estado morto e a classe de equivalência de cada estado (o último é o morto),
+    // resultado de classes()
+    static final class Classes {
+        final int[] transicoes;
+        final boolean[] finais;
+        final int[] classe;
+        final int numeroClasses;
+
+        private Classes (int[] transicoes, boolean[] finais, int[] classe, int numeroClasses) {
+            this.transicoes = transicoes;
+            this.finais = finais;
+            this.classe = classe;
+            this.numeroClasses = numeroClasses;
+        }
+    }
+
+    // O refinamento comum a todas as minimizações por partição (aqui e em AFD.minimizar): pelo algoritmo de Hopcroft com
+    // 'numeroThreads' = 0, ou pelo de Moore com 'numeroThreads' threads. Emite o evento "refinamento" e registra a
+    // minimização nas métricas
+    static Classes classes (TabelaAFD afd, int numeroThreads) {
+        long inicio = System.nanoTime();
+        int[] transicoes = transicoesTotais(afd);
+        boolean[] finais = finaisComEstadoMorto(afd);
+        int numeroSimbolos = afd.getNumeroSimbolos();
+        EventoFase evento = EventoFase.iniciar("minimizacao", "refinamento");
+        int numeroClasses;
+        int rodadas;
+        IntUnaryOperator classeDe;
+        if (numeroThreads == 0) {
+            ParticaoHopcroft particao = new ParticaoHopcroft(finais.length, numeroSimbolos, transicoes, finais);
+            numeroClasses = particao.refinar();
+            rodadas = particao.getRodadas();
+            classeDe = particao::getClasse;
+        } else {
+            ParticaoMoore particao = new ParticaoMoore(finais.length, numeroSimbolos, transicoes, finais, numeroThreads);
+            numeroClasses = particao.refinar();
+            rodadas = particao.getRodadas();
+            classeDe = particao::getClasse;
+        }
+        evento.concluir(finais.length, numeroClasses, numeroSimbolos, 0);
+        registrar(afd.getNumeroEstados(), rodadas, numeroClasses, System.nanoTime() - inicio);
+        int[] classe = new int[finais.length];
+        for (int i = 0; i < classe.length; i++) {
+            classe[i] = classeDe.applyAsInt(i);
+        }
+        return new Classes(transicoes, finais, classe, numeroClasses);
+    }
+
+    // O produto de 'a' e 'b' pela operação (ProdutoAFD.INTERSECAO, UNIAO, DIFERENCA ou DIFERENCA_SIMETRICA), com só os
+    // pares alcançáveis a partir dos iniciais. Com 'minimizar', o produto passa direto pelo algoritmo de Hopcroft
+    public static TabelaAFD produto (TabelaAFD a, TabelaAFD b, int operacao, boolean minimizar) {
+        EventoFase evento = EventoFase.iniciar("minimizacao", "produto");
+        TabelaAFD produto = new ProdutoAFD(a, b, operacao).tabela();
+        evento.concluir((long) a.getNumeroEstados() + b.getNumeroEstados(), produto.getNumeroEstados(), produto.getNumeroSimbolos(), 0);
+        return minimizar ? minimizar(produto) : produto;
+    }
+
+    // O AFD mínimo: o quociente pelas classes, sem as classes inacessíveis e inúteis
+    private static TabelaAFD quociente (TabelaAFD afd, Classes classes) {
+        EventoFase evento = EventoFase.iniciar("minimizacao", "remocaoInuteis");
+        TabelaAFD minimo = new Quociente(afd, classes.classe, classes.numeroClasses, classes.transicoes, classes.finais).tabela(afd);
+        evento.concluir(classes.numeroClasses, minimo.getNumeroEstados(), afd.getNumeroSimbolos(), 0);
+        return minimo;
+    }
+
+    // A função programa completada com um estado morto (o de índice numeroEstados), como no passo 3 de
+    // AFD.verificarPreRequisitos. Os estados inacessíveis não precisam ser removidos antes: as classes que só têm
+    // estados inacessíveis são descartadas no Quociente
+    static int[] transicoesTotais (TabelaAFD afd) {
+        int numeroEstados = afd.getNumeroEstados();
+        int numeroSimbolos = afd.getNumeroSimbolos();
+        int[] transicoes = new int[(numeroEstados + 1) * numeroSimbolos];
+        afd.copiarTransicoes(transicoes);
+        for (int i = 0; i < transicoes.length; i++) {
+            if (i >= numeroEstados * numeroSimbolos || transicoes[i] == TabelaAFD.SEM_TRANSICAO) {
+                transicoes[i] = numeroEstados;
+            }
+        }
+        return transicoes;
+    }
+
+    static boolean[] finaisComEstadoMorto (TabelaAFD afd) {
+        boolean[] finais = new boolean[afd.getNumeroEstados() + 1];
+        for (int i = 0; i < afd.getNumeroEstados(); i++) {
+            finais[i] = afd.eFinal(i);
+        }
+        return finais;
+    }
+
+    // O AFD quociente a partir das classes de equivalência dos estados 0 .. numeroEstados (o último é o estado morto que
+    // completa a função programa). Cada classe vira um estado. São descartadas as classes sem estados acessíveis e as
+    // inúteis (que não levam a uma classe final), exceto a inicial; as transições para classes inúteis ficam
+    // indefinidas. As classes mantidas recebem os índices 0, 1, 2, ... na ordem dos seus representantes
+    static final class Quociente {
+        final int[] classe;
+        final int numeroSimbolos;
+        // acessivel[q]: o estado q é alcançado a partir do inicial
+        final boolean[] acessivel;
+        // Representante de cada classe: o estado acessível de menor índice, ou -1 se a classe não tem estados acessíveis
+        final int[] representante;
+        // Novo índice de cada classe (-1 se ela foi descartada) e a classe de cada novo índice
+        final int[] novoIndice;
+        final int[] mantidas;
+        final int numeroMantidas;
+        private final int[] transicoesClasse;
+        private final boolean[] finalClasse;
+        private final boolean[] util;
+        private final int inicial;
+
+        Quociente (TabelaAFD afd, int[] classe, int numeroClasses, int[] transicoes, boolean[] finais) {
+            int numeroEstados = classe.length;
+            this.classe = classe;
+            this.numeroSimbolos = afd.getNumeroSimbolos();
+            this.acessivel = AnaliseAlcance.acessiveis(numeroEstados, numeroSimbolos, transicoes, afd.getEstadoInicial());
+
+            representante = new int[numeroClasses];
+            Arrays.fill(representante, -1);
+            for (int q = 0; q < numeroEstados; q++) {
+                if (acessivel[q] && representante[classe[q]] < 0) {
+                    representante[classe[q]] = q;
+                }
+            }
+            transicoesClasse = new int[numeroClasses * numeroSimbolos];
+            for (int c = 0; c < numeroClasses; c++) {
+                for (int a = 0; a < numeroSimbolos; a++) {
+                    transicoesClasse[c * numeroSimbolos + a] = representante[c] < 0 ? TabelaAFD.SEM_TRANSICAO : classe[transicoes[representante[c] * numeroSimbolos + a]];
+                }
+            }
+            inicial = classe[afd.getEstadoInicial()];
+
+            // Classes úteis: as que chegam a uma classe final
+            finalClasse = new boolean[numeroClasses];
+            for (int c = 0; c < numeroClasses; c++) {
+                finalClasse[c] = representante[c] >= 0 && finais[representante[c]];
+            }
+            util = AnaliseAlcance.uteis(numeroClasses, numeroSimbolos, transicoesClasse, finalClasse);
+
+            novoIndice = new int[numeroClasses];
+            mantidas = new int[numeroClasses];
+            Arrays.fill(novoIndice, -1);
+            int n = 0;
+            for (int q = 0; q < numeroEstados; q++) {
+                int c = classe[q];
+                if (representante[c] == q && (util[c] || c == inicial)) {
+                    mantidas[n] = c;
+                    novoIndice[c] = n++;
+                }
+            }
+            numeroMantidas = n;
+        }
+
+        // Novo índice do destino do estado 'n' com o símbolo 'a', ou TabelaAFD.SEM_TRANSICAO
+        int destino (int n, int a) {
+            int d = transicoesClasse[mantidas[n] * numeroSimbolos + a];
+            return novoIndice[d] >= 0 && util[d] ? novoIndice[d] : TabelaAFD.SEM_TRANSICAO;
+        }
+
+        boolean eFinal (int n) {
+            return finalClasse[mantidas[n]];
+        }
+
+        int getEstadoInicial () {
+            return novoIndice[inicial];
+        }
+
+        // Os símbolos são os de 'afd', nos mesmos índices
+        TabelaAFD tabela (TabelaAFD afd) {
+            String[] simbolos = new String[numeroSimbolos];
+            for (int a = 0; a < numeroSimbolos; a++) {
+                simbolos[a] = afd.getSimbolo(a);
+            }
+            int[] transicoes = new int[numeroMantidas * numeroSimbolos];
+            long[] estadosFinais = new long[(numeroMantidas + 63) >>> 6];
+            for (int n = 0; n < numeroMantidas; n++) {
+                for (int a = 0; a < numeroSimbolos; a++) {
+                    transicoes[n * numeroSimbolos + a] = destino(n, a);
+                }
+                if (eFinal(n)) {
+                    estadosFinais[n >>> 6] |= 1L << n;
+                }
+            }
+            return new TabelaAFD(simbolos, numeroMantidas, getEstadoInicial(), estadosFinais, transicoes);
+        }
+    }
+}
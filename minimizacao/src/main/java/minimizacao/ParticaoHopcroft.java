@@ -0,0 +1,183 @@
+package minimizacao;
+
+// Algoritmo de Hopcroft para encontrar as classes de estados equivalentes de um AFD com função de transição total, em
+// tempo O(n·k·log n) e memória O(n·k), com n estados e k símbolos.
+//
+// A partição começa com {finais, não-finais} e é refinada por "divisores": para um bloco S e um símbolo a, cada bloco que
+// tem estados que vão para S com a e estados que não vão é dividido em dois. Os predecessores de S são encontrados por um
+// índice das transições invertidas, então o custo de usar S como divisor é proporcional ao número de transições que
+// chegam em S. Quando um bloco é dividido, basta usar como divisor a menor das duas partes (a maior fica implícita), e é
+// isso que dá o log n: cada estado entra em um divisor no máximo log2 n vezes.
+//
+// A partição fica em um único vetor de estados ('elementos'), em que cada bloco ocupa um intervalo contínuo. Marcar um
+// estado o troca de lugar com o primeiro não marcado do bloco, então as partes marcada e não marcada também ficam
+// contínuas e a divisão só muda os limites do intervalo.
+final class ParticaoHopcroft {
+    private final int numeroEstados;
+    private final int numeroSimbolos;
+
+    // Índice invertido: os estados p com δ(p, a) = q são origens[inicioOrigens[a * numeroEstados + q] ..
+    // inicioOrigens[a * numeroEstados + q + 1])
+    private final int[] inicioOrigens;
+    private final int[] origens;
+
+    // Partição: o bloco b ocupa elementos[inicioBloco[b] .. fimBloco[b]); posicao[estado] é o índice do estado em
+    // 'elementos'. marcados[b] é o número de estados marcados do bloco (os primeiros do intervalo)
+    private final int[] elementos;
+    private final int[] posicao;
+    private final int[] bloco;
+    private final int[] inicioBloco;
+    private final int[] fimBloco;
+    private final int[] marcados;
+    private int numeroBlocos;
+
+    // Blocos que ainda serão usados como divisores (uma pilha) e blocos com estados marcados no divisor atual
+    private final int[] divisores;
+    private final boolean[] eDivisor;
+    private int numeroDivisores;
+    // Divisores processados por refinar (as rodadas do algoritmo de Hopcroft)
+    private int rodadas;
+    private final int[] tocados;
+
+    // 'transicoes[estado * numeroSimbolos + simbolo]' deve ser total (sem TabelaAFD.SEM_TRANSICAO)
+    ParticaoHopcroft (int numeroEstados, int numeroSimbolos, int[] transicoes, boolean[] finais) {
+        this.numeroEstados = numeroEstados;
+        this.numeroSimbolos = numeroSimbolos;
+
+        // Contagem das origens de cada par (símbolo, destino) e depois as posições de cada lista
+        this.inicioOrigens = new int[numeroSimbolos * numeroEstados + 1];
+        this.origens = new int[numeroEstados * numeroSimbolos];
+        for (int p = 0; p < numeroEstados; p++) {
+            for (int a = 0; a < numeroSimbolos; a++) {
+                inicioOrigens[a * numeroEstados + transicoes[p * numeroSimbolos + a] + 1]++;
+            }
+        }
+        for (int i = 1; i < inicioOrigens.length; i++) {
+            inicioOrigens[i] += inicioOrigens[i - 1];
+        }
+        int[] proxima = new int[numeroSimbolos * numeroEstados];
+        System.arraycopy(inicioOrigens, 0, proxima, 0, proxima.length);
+        for (int p = 0; p < numeroEstados; p++) {
+            for (int a = 0; a < numeroSimbolos; a++) {
+                origens[proxima[a * numeroEstados + transicoes[p * numeroSimbolos + a]]++] = p;
+            }
+        }
+
+        this.elementos = new int[numeroEstados];
+        this.posicao = new int[numeroEstados];
+        this.bloco = new int[numeroEstados];
+        this.inicioBloco = new int[numeroEstados];
+        this.fimBloco = new int[numeroEstados];
+        this.marcados = new int[numeroEstados];
+        this.divisores = new int[numeroEstados];
+        this.eDivisor = new boolean[numeroEstados];
+        this.tocados = new int[numeroEstados];
+
+        // Partição inicial: os finais no começo do vetor, os não-finais depois
+        int numeroFinais = 0;
+        for (int q = 0; q < numeroEstados; q++) {
+            if (finais[q]) {
+                numeroFinais++;
+            }
+        }
+        int proximoFinal = 0;
+        int proximoNaoFinal = numeroFinais;
+        for (int q = 0; q < numeroEstados; q++) {
+            int i = finais[q] ? proximoFinal++ : proximoNaoFinal++;
+            elementos[i] = q;
+            posicao[q] = i;
+        }
+        numeroBlocos = 0;
+        if (numeroFinais > 0) {
+            criarBloco(0, numeroFinais);
+        }
+        if (numeroFinais < numeroEstados) {
+            criarBloco(numeroFinais, numeroEstados);
+        }
+        // Com dois blocos, só o menor precisa ser divisor
+        if (numeroBlocos == 2) {
+            adicionarDivisor(numeroFinais <= numeroEstados - numeroFinais ? 0 : 1);
+        }
+    }
+
+    private int criarBloco (int inicio, int fim) {
+        int b = numeroBlocos++;
+        inicioBloco[b] = inicio;
+        fimBloco[b] = fim;
+        for (int i = inicio; i < fim; i++) {
+            bloco[elementos[i]] = b;
+        }
+        return b;
+    }
+
+    private void adicionarDivisor (int b) {
+        eDivisor[b] = true;
+        divisores[numeroDivisores++] = b;
+    }
+
+    // Refina a partição até não haver mais divisores e retorna o número de classes. Depois disso getClasse(estado) é a
+    // classe (0 .. numeroClasses - 1) de cada estado
+    int refinar () {
+        int[] divisor = new int[numeroEstados];
+        while (numeroDivisores > 0) {
+            rodadas++;
+            int s = divisores[--numeroDivisores];
+            eDivisor[s] = false;
+            // O bloco pode ser dividido enquanto é usado como divisor, então os estados dele são copiados antes
+            int tamanho = fimBloco[s] - inicioBloco[s];
+            System.arraycopy(elementos, inicioBloco[s], divisor, 0, tamanho);
+            for (int a = 0; a < numeroSimbolos; a++) {
+                dividir(divisor, tamanho, a);
+            }
+        }
+        return numeroBlocos;
+    }
+
+    // Marca os predecessores por 'a' dos estados do divisor e divide os blocos que ficaram parcialmente marcados
+    private void dividir (int[] divisor, int tamanho, int a) {
+        int numeroTocados = 0;
+        for (int i = 0; i < tamanho; i++) {
+            int base = a * numeroEstados + divisor[i];
+            for (int j = inicioOrigens[base]; j < inicioOrigens[base + 1]; j++) {
+                int p = origens[j];
+                int b = bloco[p];
+                if (marcados[b] == 0) {
+                    tocados[numeroTocados++] = b;
+                }
+                // Troca p com o primeiro estado não marcado do bloco
+                int destino = inicioBloco[b] + marcados[b]++;
+                int outro = elementos[destino];
+                int origem = posicao[p];
+                elementos[destino] = p;
+                posicao[p] = destino;
+                elementos[origem] = outro;
+                posicao[outro] = origem;
+            }
+        }
+
+        for (int t = 0; t < numeroTocados; t++) {
+            int b = tocados[t];
+            int m = marcados[b];
+            marcados[b] = 0;
+            if (m == fimBloco[b] - inicioBloco[b]) {
+                continue;
+            }
+            // A parte marcada vira um bloco novo e o bloco antigo fica com o restante
+            int novo = criarBloco(inicioBloco[b], inicioBloco[b] + m);
+            inicioBloco[b] += m;
+            if (eDivisor[b]) {
+                adicionarDivisor(novo);
+            } else {
+                adicionarDivisor(m <= fimBloco[b] - inicioBloco[b] ? novo : b);
+            }
+        }
+    }
+
+    int getRodadas () {
+        return rodadas;
+    }
+
+    int getClasse (int estado) {
+        return bloco[estado];
+    }
+}
@@ -0,0 +1,246 @@
+package minimizacao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Algoritmo de Moore para encontrar as classes de estados equivalentes de um AFD com função de transição total, com cada
+// rodada dividida entre várias threads.
+//
+// A cada rodada, a assinatura de um estado é o seu bloco atual seguido dos blocos dos seus sucessores (um por símbolo), e
+// os estados com a mesma assinatura formam os blocos da rodada seguinte. A nova partição sempre refina a anterior, então
+// as rodadas terminam quando o número de blocos para de crescer. Cada rodada custa O(n·k), e o número de rodadas é no
+// máximo n (na prática, poucas dezenas para AFDs aleatórios), enquanto o algoritmo de Hopcroft é sequencial mas garante
+// O(n·k·log n).
+//
+// Uma rodada tem quatro fases, todas paralelas:
+// 1. o espalhamento da assinatura de cada estado, por faixas de estados, contando quantos estados de cada faixa caem em
+//    cada fatia (a fatia é dada pelos bits altos do espalhamento);
+// 2. os estados são copiados para 'ordem' agrupados por fatia (e, dentro da fatia, por faixa);
+// 3. cada fatia numera as suas assinaturas distintas com uma tabela de espalhamento própria, comparando as assinaturas
+//    completas (estados com o mesmo espalhamento e assinaturas diferentes continuam separados);
+// 4. a numeração de cada fatia é deslocada pelo total das fatias anteriores.
+final class ParticaoMoore {
+    // Faixas e fatias por thread, para equilibrar a carga entre as threads
+    private static final int PARTES_POR_THREAD = 4;
+
+    private final int numeroEstados;
+    private final int numeroSimbolos;
+    private final int[] transicoes;
+    private final int numeroThreads;
+    private final int partes;
+
+    private int[] bloco;
+    private int[] novoBloco;
+    private final int[] espalhamento;
+    private final int[] ordem;
+    // contagem[faixa * partes + fatia]: estados da faixa que caem na fatia; depois, a posição em 'ordem' onde eles começam
+    private final int[] contagem;
+    // inicioFatia[fatia] .. inicioFatia[fatia + 1]: os estados da fatia em 'ordem'
+    private final int[] inicioFatia;
+    private final int[] blocosFatia;
+    private int numeroBlocos;
+    private int rodadas;
+
+    // 'transicoes[estado * numeroSimbolos + simbolo]' deve ser total (sem TabelaAFD.SEM_TRANSICAO)
+    ParticaoMoore (int numeroEstados, int numeroSimbolos, int[] transicoes, boolean[] finais, int numeroThreads) {
+        this.numeroEstados = numeroEstados;
+        this.numeroSimbolos = numeroSimbolos;
+        this.transicoes = transicoes;
+        this.numeroThreads = numeroThreads;
+        this.partes = Math.max(1, Math.min(numeroEstados, numeroThreads * PARTES_POR_THREAD));
+        this.bloco = new int[numeroEstados];
+        this.novoBloco = new int[numeroEstados];
+        this.espalhamento = new int[numeroEstados];
+        this.ordem = new int[numeroEstados];
+        this.contagem = new int[partes * partes];
+        this.inicioFatia = new int[partes + 1];
+        this.blocosFatia = new int[partes];
+
+        // Partição inicial: {finais, não-finais}, sem blocos vazios
+        boolean temFinal = false;
+        boolean temNaoFinal = false;
+        for (int q = 0; q < numeroEstados; q++) {
+            temFinal |= finais[q];
+            temNaoFinal |= !finais[q];
+        }
+        for (int q = 0; q < numeroEstados; q++) {
+            bloco[q] = finais[q] && temNaoFinal ? 1 : 0;
+        }
+        this.numeroBlocos = (temFinal ? 1 : 0) + (temNaoFinal ? 1 : 0);
+    }
+
+    // Refina a partição até o número de blocos se estabilizar e retorna o número de classes. Depois disso
+    // getClasse(estado) é a classe (0 .. numeroClasses - 1) de cada estado
+    int refinar () {
+        if (numeroEstados == 0) {
+            return 0;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        try {
+            while (true) {
+                rodadas++;
+                executar(executor, this::espalhar);
+                posicionar();
+                executar(executor, this::agrupar);
+                executar(executor, this::numerar);
+                int total = 0;
+                for (int fatia = 0; fatia < partes; fatia++) {
+                    int b = blocosFatia[fatia];
+                    blocosFatia[fatia] = total;
+                    total += b;
+                }
+                executar(executor, this::deslocar);
+
+                int[] troca = bloco;
+                bloco = novoBloco;
+                novoBloco = troca;
+                // A nova partição refina a anterior: com o mesmo número de blocos, é a mesma partição
+                if (total == numeroBlocos) {
+                    return numeroBlocos;
+                }
+                numeroBlocos = total;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Executa a fase para cada parte (0 .. partes - 1) e espera todas terminarem
+    private void executar (ExecutorService executor, Fase fase) {
+        List<Callable<Void>> tarefas = new ArrayList<>(partes);
+        for (int parte = 0; parte < partes; parte++) {
+            int p = parte;
+            tarefas.add(() -> {
+                fase.executar(p);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> tarefa : executor.invokeAll(tarefas)) {
+                tarefa.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Minimização interrompida", e);
+        }
+    }
+
+    private interface Fase {
+        void executar (int parte);
+    }
+
+    private int inicioFaixa (int faixa) {
+        return (int) ((long) numeroEstados * faixa / partes);
+    }
+
+    // A fatia é dada pelos bits altos do espalhamento; a tabela de cada fatia usa os bits baixos
+    private int fatia (int h) {
+        return (int) (((h & 0xFFFFFFFFL) * partes) >>> 32);
+    }
+
+    // Fase 1
+    private void espalhar (int faixa) {
+        int base = faixa * partes;
+        for (int f = 0; f < partes; f++) {
+            contagem[base + f] = 0;
+        }
+        for (int q = inicioFaixa(faixa); q < inicioFaixa(faixa + 1); q++) {
+            long h = bloco[q];
+            for (int a = 0; a < numeroSimbolos; a++) {
+                h = (h + bloco[transicoes[q * numeroSimbolos + a]]) * 0x9E3779B97F4A7C15L;
+            }
+            h ^= h >>> 32;
+            h *= 0xFF51AFD7ED558CCDL;
+            int e = (int) (h ^ (h >>> 29));
+            espalhamento[q] = e;
+            contagem[base + fatia(e)]++;
+        }
+    }
+
+    // Entre as fases 1 e 2: a posição em 'ordem' de cada par (faixa, fatia), com as fatias em sequência
+    private void posicionar () {
+        int posicao = 0;
+        for (int f = 0; f < partes; f++) {
+            inicioFatia[f] = posicao;
+            for (int faixa = 0; faixa < partes; faixa++) {
+                int n = contagem[faixa * partes + f];
+                contagem[faixa * partes + f] = posicao;
+                posicao += n;
+            }
+        }
+        inicioFatia[partes] = posicao;
+    }
+
+    // Fase 2
+    private void agrupar (int faixa) {
+        int base = faixa * partes;
+        for (int q = inicioFaixa(faixa); q < inicioFaixa(faixa + 1); q++) {
+            ordem[contagem[base + fatia(espalhamento[q])]++] = q;
+        }
+    }
+
+    // Fase 3: novoBloco[q] recebe o número da assinatura de q dentro da fatia
+    private void numerar (int f) {
+        int inicio = inicioFatia[f];
+        int fim = inicioFatia[f + 1];
+        int capacidade = Integer.highestOneBit(Math.max(1, fim - inicio)) << 2;
+        int mascara = capacidade - 1;
+        // posicoes[p] = estado + 1 do primeiro estado com essa assinatura, ou 0 se a posição está livre
+        int[] posicoes = new int[capacidade];
+        int numero = 0;
+        for (int i = inicio; i < fim; i++) {
+            int q = ordem[i];
+            int h = espalhamento[q];
+            int p = h & mascara;
+            while (true) {
+                int r = posicoes[p] - 1;
+                if (r < 0) {
+                    posicoes[p] = q + 1;
+                    novoBloco[q] = numero++;
+                    break;
+                }
+                if (espalhamento[r] == h && mesmaAssinatura(q, r)) {
+                    novoBloco[q] = novoBloco[r];
+                    break;
+                }
+                p = (p + 1) & mascara;
+            }
+        }
+        blocosFatia[f] = numero;
+    }
+
+    private boolean mesmaAssinatura (int p, int q) {
+        if (bloco[p] != bloco[q]) {
+            return false;
+        }
+        for (int a = 0; a < numeroSimbolos; a++) {
+            if (bloco[transicoes[p * numeroSimbolos + a]] != bloco[transicoes[q * numeroSimbolos + a]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Fase 4
+    private void deslocar (int f) {
+        int deslocamento = blocosFatia[f];
+        for (int i = inicioFatia[f]; i < inicioFatia[f + 1]; i++) {
+            novoBloco[ordem[i]] += deslocamento;
+        }
+    }
+
+    int getRodadas () {
+        return rodadas;
+    }
+
+    int getClasse (int estado) {
+        return bloco[estado];
+    }
+}
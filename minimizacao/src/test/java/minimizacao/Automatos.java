@@ -0,0 +1,126 @@
+package minimizacao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import comum.TabelaAFD;
+
+// Auxiliares dos testes: construção de AFDs pequenos, simulação direta sobre a TabelaAFD e equivalência por enumeração (sem passar pelos algoritmos
+// testados), enumeração de todas as palavras até um tamanho e execução do programa capturando a saída.
+final class Automatos {
+    private Automatos () {
+    }
+
+    // transicoes[estado][simbolo] = destino, ou TabelaAFD.SEM_TRANSICAO
+    static TabelaAFD afd (String[] simbolos, int estadoInicial, int[] finais, int[][] transicoes) {
+        int numeroEstados = transicoes.length;
+        int[] tabela = new int[numeroEstados * simbolos.length];
+        for (int estado = 0; estado < numeroEstados; estado++) {
+            System.arraycopy(transicoes[estado], 0, tabela, estado * simbolos.length, simbolos.length);
+        }
+        long[] estadosFinais = new long[(numeroEstados + 63) >>> 6];
+        for (int estado : finais) {
+            estadosFinais[estado >>> 6] |= 1L << estado;
+        }
+        return new TabelaAFD(simbolos, numeroEstados, estadoInicial, estadosFinais, tabela);
+    }
+
+    // AFD com 'numeroEstados' estados sobre os símbolos dados; cada transição falta com probabilidade 1/5 e cada estado
+    // é final com probabilidade 1/2
+    static TabelaAFD aleatorio (Random aleatorio, String[] simbolos, int numeroEstados) {
+        int[][] transicoes = new int[numeroEstados][simbolos.length];
+        for (int[] linha : transicoes) {
+            for (int s = 0; s < linha.length; s++) {
+                linha[s] = aleatorio.nextInt(5) == 0 ? TabelaAFD.SEM_TRANSICAO : aleatorio.nextInt(numeroEstados);
+            }
+        }
+        int[] finais = IntStream.range(0, numeroEstados).filter(e -> aleatorio.nextBoolean()).toArray();
+        return afd(simbolos, 0, finais, transicoes);
+    }
+
+    // Simulação pela definição: um símbolo que o AFD não tem, ou uma transição indefinida, rejeita a palavra
+    static boolean aceita (TabelaAFD afd, String[] palavra) {
+        int estado = afd.getEstadoInicial();
+        for (String simbolo : palavra) {
+            if (estado == TabelaAFD.SEM_TRANSICAO) {
+                return false;
+            }
+            int indice = -1;
+            for (int s = 0; s < afd.getNumeroSimbolos(); s++) {
+                if (afd.getSimbolo(s).equals(simbolo)) {
+                    indice = s;
+                }
+            }
+            if (indice < 0) {
+                return false;
+            }
+            estado = afd.getTransicao(estado, indice);
+        }
+        return estado != TabelaAFD.SEM_TRANSICAO && afd.eFinal(estado);
+    }
+
+    // Equivalência pela definição: os dois AFDs concordam em todas as palavras sobre a união dos alfabetos com até
+    // nA + nB símbolos (com os estados mortos, uma palavra que os distingue tem no máximo nA + nB símbolos)
+    static boolean equivalentes (TabelaAFD a, TabelaAFD b) {
+        for (String[] palavra : palavras(alfabeto(a, b), a.getNumeroEstados() + b.getNumeroEstados())) {
+            if (aceita(a, palavra) != aceita(b, palavra)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Os símbolos de 'a', na ordem de 'a', seguidos dos de 'b' que não estão em 'a'
+    static String[] alfabeto (TabelaAFD a, TabelaAFD b) {
+        LinkedHashSet<String> simbolos = new LinkedHashSet<>();
+        for (TabelaAFD afd : new TabelaAFD[] {a, b}) {
+            for (int s = 0; s < afd.getNumeroSimbolos(); s++) {
+                simbolos.add(afd.getSimbolo(s));
+            }
+        }
+        return simbolos.toArray(new String[0]);
+    }
+
+    // Todas as palavras sobre o alfabeto com até 'tamanhoMaximo' símbolos, das menores para as maiores (nenhuma se o
+    // tamanho máximo é negativo)
+    static List<String[]> palavras (String[] alfabeto, int tamanhoMaximo) {
+        List<String[]> palavras = new ArrayList<>();
+        if (tamanhoMaximo < 0) {
+            return palavras;
+        }
+        palavras.add(new String[0]);
+        int inicio = 0;
+        for (int tamanho = 1; tamanho <= tamanhoMaximo; tamanho++) {
+            int fim = palavras.size();
+            for (int i = inicio; i < fim; i++) {
+                for (String simbolo : alfabeto) {
+                    String[] palavra = Arrays.copyOf(palavras.get(i), tamanho);
+                    palavra[tamanho - 1] = simbolo;
+                    palavras.add(palavra);
+                }
+            }
+            inicio = fim;
+        }
+        return palavras;
+    }
+
+    // Executa Minimizacao.main e retorna o que foi impresso
+    static String executar (String... args) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(saida, true, StandardCharsets.UTF_8));
+        try {
+            Minimizacao.main(args);
+        } finally {
+            System.setOut(original);
+        }
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package minimizacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import comum.EquivalenciaAFD;
+import comum.TabelaAFD;
+
+// A verificação de equivalência: um AFD é equivalente ao seu mínimo e, quando os AFDs diferem, o contraexemplo é aceito
+// por exatamente um deles e nenhuma palavra menor os distingue
+class EquivalenciaTest {
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void exemplosEquivalentesAosMinimos () throws IOException {
+        for (int i = 1; i <= 7; i++) {
+            TabelaAFD original = TabelaAFD.ler(Paths.get("afd" + i + ".txt"));
+            EquivalenciaAFD equivalencia = new EquivalenciaAFD(original, Minimizador.minimizar(original));
+            assertTrue(equivalencia.equivalentes(), "afd" + i);
+            assertNull(equivalencia.contraExemplo(), "afd" + i);
+        }
+    }
+
+    @Test
+    void contraExemploMaisCurtoEntreExemplos () throws IOException {
+        for (int i = 1; i <= 7; i++) {
+            for (int j = 1; j <= 7; j++) {
+                verificar(TabelaAFD.ler(Paths.get("afd" + i + ".txt")), TabelaAFD.ler(Paths.get("afd" + j + ".txt")));
+            }
+        }
+    }
+
+    // Pares aleatórios com o mesmo alfabeto e com alfabetos diferentes (o símbolo que falta leva ao estado morto)
+    @Test
+    void contraExemploMaisCurtoEntreAFDsAleatorios () {
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 300; i++) {
+            TabelaAFD a = Automatos.aleatorio(aleatorio, new String[] {"a", "b"}, 1 + aleatorio.nextInt(4));
+            String[] alfabetoB = i % 2 == 0 ? new String[] {"b", "a"} : new String[] {"b", "c"};
+            TabelaAFD b = Automatos.aleatorio(aleatorio, alfabetoB, 1 + aleatorio.nextInt(4));
+            verificar(a, b);
+        }
+    }
+
+    @Test
+    void linhaDeComando () throws IOException {
+        Path minimo = diretorio.resolve("minimo.txt");
+        Automatos.executar("afd2.txt", minimo.toString());
+        String equivalentes = Automatos.executar("--equivalencia", "afd2.txt", minimo.toString());
+        assertTrue(equivalentes.startsWith("Os AFDs são equivalentes"), equivalentes);
+        String diferentes = Automatos.executar("--equivalencia", "afd1.txt", "afd2.txt");
+        assertTrue(diferentes.startsWith("Os AFDs não são equivalentes: a palavra "), diferentes);
+    }
+
+    private static void verificar (TabelaAFD a, TabelaAFD b) {
+        EquivalenciaAFD equivalencia = new EquivalenciaAFD(a, b);
+        boolean equivalentes = equivalencia.equivalentes();
+        String[] contraExemplo = equivalencia.contraExemplo();
+        assertEquals(equivalentes, contraExemplo == null);
+
+        // Com os estados mortos, a menor palavra que distingue os AFDs tem menos que nA + nB + 1 símbolos
+        int limite = contraExemplo == null ? a.getNumeroEstados() + b.getNumeroEstados() : contraExemplo.length - 1;
+        for (String[] palavra : Automatos.palavras(Automatos.alfabeto(a, b), limite)) {
+            assertEquals(Automatos.aceita(a, palavra), Automatos.aceita(b, palavra), "distingue: " + String.join(" ", palavra));
+        }
+        if (contraExemplo != null) {
+            boolean aceitaA = Automatos.aceita(a, contraExemplo);
+            assertNotEquals(aceitaA, Automatos.aceita(b, contraExemplo), String.join(" ", contraExemplo));
+            assertEquals(aceitaA, equivalencia.contraExemploAceitoPorA());
+        }
+    }
+}
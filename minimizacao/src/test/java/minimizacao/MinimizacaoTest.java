@@ -0,0 +1,80 @@
+package minimizacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import comum.TabelaAFD;
+
+// Os três algoritmos (Hopcroft, Moore e o da tabela), pela linha de comando e pelo Minimizador, devem chegar ao mesmo
+// número de estados e a um AFD equivalente ao de entrada
+class MinimizacaoTest {
+    private static final String[] ALGORITMOS = {"hopcroft", "moore", "tabela"};
+
+    @TempDir
+    Path diretorio;
+
+    // Os exemplos do diretório do módulo, com o número de estados do AFD mínimo
+    @ParameterizedTest
+    @CsvSource({"afd1.txt, 4", "afd2.txt, 4", "afd3.txt, 3", "afd4.txt, 3", "afd5.txt, 3", "afd6.txt, 2", "afd7.txt, 2"})
+    void algoritmosConcordamNosExemplos (String exemplo, int estadosMinimo) throws IOException {
+        verificarAlgoritmos(Paths.get(exemplo), estadosMinimo);
+    }
+
+    // Nenhum estado final: o AFD mínimo tem só o estado inicial, sem estados finais
+    @Test
+    void linguagemVazia () throws IOException {
+        Path vazio = escrever("vazio.txt", "AFD", "2 q0 q1", "2 a b", "q0", "0", "q0 a q1", "q1 b q0");
+        verificarAlgoritmos(vazio, 1);
+        assertFalse(Minimizador.minimizar(TabelaAFD.ler(vazio)).eFinal(0));
+    }
+
+    // Há um estado final, mas ele é inacessível, e os estados acessíveis não levam a ele: todos os estados são inúteis
+    @Test
+    void todosOsEstadosInuteis () throws IOException {
+        Path inuteis = escrever("inuteis.txt", "AFD", "4 q0 q1 q2 q3", "2 a b", "q0", "1 q3",
+            "q0 a q1", "q1 b q0", "q1 a q2", "q2 a q2", "q2 b q2", "q3 a q3");
+        verificarAlgoritmos(inuteis, 1);
+        TabelaAFD minimo = Minimizador.minimizar(TabelaAFD.ler(inuteis));
+        assertFalse(minimo.eFinal(0));
+        assertTrue(Automatos.equivalentes(minimo, TabelaAFD.ler(escrever("vazio.txt", "AFD", "1 q0", "2 a b", "q0", "0"))));
+    }
+
+    private void verificarAlgoritmos (Path entrada, int estadosMinimo) throws IOException {
+        TabelaAFD original = TabelaAFD.ler(entrada);
+        for (String algoritmo : ALGORITMOS) {
+            Path saida = diretorio.resolve(algoritmo + "-" + entrada.getFileName());
+            Automatos.executar(entrada.toString(), saida.toString(), "--algoritmo", algoritmo, "--threads", "2");
+            TabelaAFD minimo = TabelaAFD.ler(saida);
+            assertEquals(estadosMinimo, minimo.getNumeroEstados(), algoritmo + " em " + entrada);
+            assertTrue(Automatos.equivalentes(original, minimo), algoritmo + " em " + entrada);
+        }
+        TabelaAFD minimo = Minimizador.minimizar(original);
+        assertEquals(estadosMinimo, minimo.getNumeroEstados(), "Minimizador em " + entrada);
+        assertTrue(Automatos.equivalentes(original, minimo), "Minimizador em " + entrada);
+    }
+
+    // Uma descrição que não pode ser lida não cria (nem trunca) o arquivo de saída
+    @Test
+    void erroDeLeituraNaoEscreveASaida () throws IOException {
+        Path invalido = escrever("invalido.txt", "AFD", "2 q0 q1", "1 a", "q9", "1 q1");
+        Path saida = escrever("saida.txt", "conteúdo anterior");
+        String impresso = Automatos.executar(invalido.toString(), saida.toString());
+        assertTrue(impresso.contains("estado desconhecido: q9"), impresso);
+        assertEquals("conteúdo anterior\n", Files.readString(saida));
+    }
+
+    private Path escrever (String nome, String... linhas) throws IOException {
+        return Files.writeString(diretorio.resolve(nome), String.join("\n", linhas) + "\n");
+    }
+}
@@ -0,0 +1,81 @@
+package minimizacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import comum.TabelaAFD;
+
+// O algoritmo de Moore, com qualquer número de threads, deve chegar exatamente à mesma partição dos estados que o de
+// Hopcroft (a numeração das classes pode ser outra)
+class ParticaoMooreTest {
+    private static final int[] THREADS = {1, 2, 3, 8};
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void exemplos () throws IOException {
+        for (int i = 1; i <= 7; i++) {
+            TabelaAFD original = TabelaAFD.ler(Paths.get("afd" + i + ".txt"));
+            int estadosMinimo = Minimizador.minimizar(original).getNumeroEstados();
+            for (int threads : THREADS) {
+                TabelaAFD minimo = Minimizador.minimizarParalelo(original, threads);
+                assertEquals(estadosMinimo, minimo.getNumeroEstados(), "afd" + i + ", " + threads + " threads");
+                assertTrue(Automatos.equivalentes(original, minimo), "afd" + i + ", " + threads + " threads");
+                assertMesmaParticao(original, threads);
+            }
+        }
+    }
+
+    // AFDs pequenos e alguns com milhares de estados, em que as rodadas são de fato divididas entre as threads
+    @Test
+    void afdsAleatorios () {
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 300; i++) {
+            int numeroEstados = i < 290 ? 1 + aleatorio.nextInt(12) : 1000 + aleatorio.nextInt(20000);
+            TabelaAFD afd = Automatos.aleatorio(aleatorio, new String[] {"a", "b", "c"}, numeroEstados);
+            for (int threads : THREADS) {
+                assertMesmaParticao(afd, threads);
+            }
+        }
+    }
+
+    // Um número de threads inválido é informado, sem escrever o AFD mínimo
+    @Test
+    void numeroDeThreadsInvalido () {
+        Path saida = diretorio.resolve("minimo.txt");
+        assertEquals("O número de threads deve ser maior que zero\n",
+            Automatos.executar("afd1.txt", saida.toString(), "--algoritmo", "moore", "--threads", "0"));
+        for (String threads : new String[] {"x", "-2", "99999999999"}) {
+            assertEquals("Opção desconhecida: --threads\n", Automatos.executar("afd1.txt", saida.toString(), "--threads", threads), threads);
+        }
+        assertFalse(Files.exists(saida));
+    }
+
+    // As classes de Moore e de Hopcroft são a mesma partição: a correspondência entre as numerações é uma bijeção
+    private static void assertMesmaParticao (TabelaAFD afd, int threads) {
+        Minimizador.Classes hopcroft = Minimizador.classes(afd, 0);
+        Minimizador.Classes moore = Minimizador.classes(afd, threads);
+        assertEquals(hopcroft.numeroClasses, moore.numeroClasses, threads + " threads");
+        int[] correspondente = new int[hopcroft.numeroClasses];
+        Arrays.fill(correspondente, -1);
+        for (int estado = 0; estado < hopcroft.classe.length; estado++) {
+            int h = hopcroft.classe[estado];
+            if (correspondente[h] == -1) {
+                correspondente[h] = moore.classe[estado];
+            }
+            assertEquals(correspondente[h], moore.classe[estado], "estado " + estado + ", " + threads + " threads");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package minimizacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import comum.ProdutoAFD;
+import comum.TabelaAFD;
+
+// O produto de AFDs com alfabetos diferentes: um símbolo que só um dos AFDs tem leva o outro ao estado morto. Cada
+// operação é conferida palavra a palavra contra a simulação dos dois AFDs separados
+class ProdutoTest {
+    private static final int S = TabelaAFD.SEM_TRANSICAO;
+    private static final String[] OPERACOES = {"intersecao", "uniao", "diferenca", "simetrica"};
+    private static final String[] ALFABETO = {"a", "b", "c"};
+
+    // Número par de a's, sobre {a, b}
+    private static final TabelaAFD PAR_DE_AS = Automatos.afd(new String[] {"a", "b"}, 0, new int[] {0},
+        new int[][] {{1, 0}, {0, 1}});
+    // Termina em b, sobre {b, c}
+    private static final TabelaAFD TERMINA_EM_B = Automatos.afd(new String[] {"b", "c"}, 0, new int[] {1},
+        new int[][] {{1, 0}, {1, 0}});
+    // (ab)*, sobre {a, b}, com transições indefinidas
+    private static final TabelaAFD AB_ESTRELA = Automatos.afd(new String[] {"a", "b"}, 0, new int[] {0},
+        new int[][] {{1, S}, {S, 0}});
+
+    @Test
+    void operacoesComAlfabetosDiferentes () {
+        verificar(PAR_DE_AS, TERMINA_EM_B);
+        verificar(TERMINA_EM_B, PAR_DE_AS);
+        verificar(AB_ESTRELA, TERMINA_EM_B);
+        verificar(TERMINA_EM_B, AB_ESTRELA);
+    }
+
+    @Test
+    void operacoesComAFDsAleatorios () {
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 100; i++) {
+            TabelaAFD a = Automatos.aleatorio(aleatorio, new String[] {"a", "b"}, 1 + aleatorio.nextInt(4));
+            TabelaAFD b = Automatos.aleatorio(aleatorio, new String[] {"c", "b"}, 1 + aleatorio.nextInt(4));
+            verificar(a, b);
+        }
+    }
+
+    // O alfabeto do produto tem os símbolos de A, na ordem de A, seguidos dos de B que não estão em A
+    @Test
+    void alfabetoDoProduto () {
+        TabelaAFD produto = Minimizador.produto(PAR_DE_AS, TERMINA_EM_B, ProdutoAFD.UNIAO, false);
+        assertEquals(3, produto.getNumeroSimbolos());
+        assertEquals("a", produto.getSimbolo(0));
+        assertEquals("b", produto.getSimbolo(1));
+        assertEquals("c", produto.getSimbolo(2));
+    }
+
+    private static void verificar (TabelaAFD a, TabelaAFD b) {
+        List<String[]> palavras = Automatos.palavras(ALFABETO, 6);
+        for (String nome : OPERACOES) {
+            int operacao = ProdutoAFD.operacao(nome);
+            TabelaAFD produto = Minimizador.produto(a, b, operacao, false);
+            TabelaAFD minimo = Minimizador.produto(a, b, operacao, true);
+            assertTrue(minimo.getNumeroEstados() <= Math.max(1, produto.getNumeroEstados()), nome);
+            for (String[] palavra : palavras) {
+                boolean esperado = aplicar(operacao, Automatos.aceita(a, palavra), Automatos.aceita(b, palavra));
+                assertEquals(esperado, Automatos.aceita(produto, palavra), nome + " " + String.join("", palavra));
+                assertEquals(esperado, Automatos.aceita(minimo, palavra), nome + " (mínimo) " + String.join("", palavra));
+            }
+        }
+    }
+
+    private static boolean aplicar (int operacao, boolean aceitaA, boolean aceitaB) {
+        switch (operacao) {
+            case ProdutoAFD.INTERSECAO:
+                return aceitaA && aceitaB;
+            case ProdutoAFD.UNIAO:
+                return aceitaA || aceitaB;
+            case ProdutoAFD.DIFERENCA:
+                return aceitaA && !aceitaB;
+            default:
+                return aceitaA != aceitaB;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pipeline;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import comum.ArenaForaDoHeap;
+import comum.EscritorDescricao;
+import comum.EventoFase;
+import comum.FormatoBinario;
+import comum.LeitorDescricao;
+import comum.LimiteMemoriaExcedido;
+import comum.Metricas;
+import comum.TabelaAFD;
+import comum.TabelaAFN;
+import conversao.Determinizacao;
+import minimizacao.Minimizador;
+import simulacao.CompiledAutomaton;
+
+// Conversão, minimização e simulação em um único processo: o AFN é lido uma vez e passa de uma etapa para a outra em
+// memória, pela representação por índices (TabelaAFN -> TabelaAFD -> TabelaAFD mínimo -> AFD compilado), sem os arquivos
+// texto intermediários e sem as tabelas impressas pelos três programas. Os AFDs intermediários só são escritos quando
+// pedidos, no formato texto ou no binário (.afdb), conforme a extensão.
+//
+// O resultado da simulação é o mesmo de converter.jar -> minimizacao.jar -> simulacao.jar.
+public final class Pipeline {
+    private Pipeline () {
+    }
+
+    // Lê a descrição (AFN ou AFD, no formato texto ou binário), converte para AFD e minimiza. 'arquivoAFD' e
+    // 'arquivoAFDMinimo' recebem o AFD convertido e o mínimo; null não escreve o arquivo
+    public static CompiledAutomaton compilar (Path arquivoDescricao, Path arquivoAFD, Path arquivoAFDMinimo) throws IOException {
+        TabelaAFD afd = determinizar(arquivoDescricao, arquivoAFD);
+        TabelaAFD minimo = Minimizador.minimizar(afd);
+        escrever(minimo, arquivoAFDMinimo);
+        return CompiledAutomaton.fromTable(minimo);
+    }
+
+    // O AFD da descrição: um AFN (linha 1) passa pela construção de subconjuntos; um AFD é usado como está. Se
+    // 'arquivoAFD' não é null, o AFD é escrito nele; no formato texto, os estados são escritos à medida que a construção
+    // de subconjuntos os produz
+    public static TabelaAFD determinizar (Path arquivoDescricao, Path arquivoAFD) throws IOException {
+        return determinizar(arquivoDescricao, arquivoAFD, null);
+    }
+
+    // O mesmo, com a construção de subconjuntos fora do heap, em 'arena' (null: no heap). A tabela devolvida lê direto da
+    // arena; a minimização faz a sua própria cópia no heap
+    public static TabelaAFD determinizar (Path arquivoDescricao, Path arquivoAFD, ArenaForaDoHeap arena) throws IOException {
+        EventoFase leitura = EventoFase.iniciar("pipeline", "leitura");
+        TabelaAFN afn = null;
+        TabelaAFD lido = null;
+        if (FormatoBinario.eBinario(arquivoDescricao)) {
+            lido = FormatoBinario.ler(arquivoDescricao);
+        } else {
+            try (LeitorDescricao leitor = new LeitorDescricao(arquivoDescricao)) {
+                if (leitor.getTipo().equals("AFN")) {
+                    afn = TabelaAFN.ler(leitor);
+                } else {
+                    lido = TabelaAFD.ler(leitor);
+                }
+            }
+        }
+        if (afn != null) {
+            leitura.concluir(0, afn.getNumeroEstados(), afn.getNumeroSimbolos(), Files.size(arquivoDescricao));
+        } else {
+            leitura.concluir(0, lido.getNumeroEstados(), lido.getNumeroSimbolos(), Files.size(arquivoDescricao));
+            escrever(lido, arquivoAFD);
+            return lido;
+        }
+        if (arquivoAFD == null || FormatoBinario.usarFormatoBinario(arquivoAFD.toString())) {
+            TabelaAFD afd = new Determinizacao(afn, null, arena).tabela();
+            escrever(afd, arquivoAFD);
+            return afd;
+        }
+        String[] simbolos = new String[afn.getNumeroSimbolos()];
+        for (int a = 0; a < simbolos.length; a++) {
+            simbolos[a] = afn.getSimbolo(a);
+        }
+        // O número de estados só é conhecido no fim, então os comentários são os resumidos
+        try (EscritorDescricao escritor = EscritorDescricao.aosPoucos(arquivoAFD, simbolos, EscritorDescricao.COMENTARIOS_RESUMIDOS)) {
+            return new Determinizacao(afn, escritor, arena).tabela();
+        }
+    }
+
+    private static void escrever (TabelaAFD afd, Path arquivo) throws IOException {
+        if (arquivo == null) {
+            return;
+        }
+        EventoFase evento = EventoFase.iniciar("pipeline", "escrita");
+        if (FormatoBinario.usarFormatoBinario(arquivo.toString())) {
+            FormatoBinario.escrever(afd, arquivo);
+        } else {
+            EscritorDescricao.escrever(afd, arquivo);
+        }
+        evento.concluir(0, afd.getNumeroEstados(), afd.getNumeroSimbolos(), Files.size(arquivo));
+    }
+
+    public static void main (String[] args) {
+        if (args.length < 3) {
+            System.out.println("Uso: afn.txt palavras.txt saida.txt [--afd afd.txt] [--minimo afdMinimo.txt] [--threads N] [--stats metricas.json] [--limite-memoria MB]");
+            return;
+        }
+        Path arquivoDescricao = Paths.get(args[0]);
+        Path arquivoPalavras = Paths.get(args[1]);
+        Path arquivoSaida = Paths.get(args[2]);
+
+        // Opcional: --afd e --minimo escrevem os AFDs intermediários; --threads N computa as palavras em N threads;
+        // --stats escreve as métricas das três etapas ao terminar; --limite-memoria MB faz a construção de subconjuntos fora
+        // do heap, com no máximo MB megabytes
+        ArenaForaDoHeap arena = null;
+        Path arquivoAFD = null;
+        Path arquivoAFDMinimo = null;
+        Path arquivoMetricas = null;
+        int numeroThreads = 1;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals("--afd") && i + 1 < args.length) {
+                arquivoAFD = Paths.get(args[++i]);
+            } else if (args[i].equals("--minimo") && i + 1 < args.length) {
+                arquivoAFDMinimo = Paths.get(args[++i]);
+            } else if (args[i].equals("--threads") && i + 1 < args.length && args[i + 1].matches("0*[0-9]{1,7}")) {
+                numeroThreads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--stats") && i + 1 < args.length) {
+                arquivoMetricas = Paths.get(args[++i]);
+            } else if (args[i].equals("--limite-memoria") && i + 1 < args.length && args[i + 1].matches("0*[1-9][0-9]{0,6}")) {
+                arena = new ArenaForaDoHeap(Long.parseLong(args[++i]) << 20);
+            } else {
+                System.out.println("Opção desconhecida: " + args[i]);
+                return;
+            }
+        }
+        if (numeroThreads < 1) {
+            System.out.println("O número de threads deve ser maior que zero");
+            return;
+        }
+
+        try {
+            long inicio = System.nanoTime();
+            TabelaAFD afd = determinizar(arquivoDescricao, arquivoAFD, arena);
+            long conversao = System.nanoTime();
+            TabelaAFD minimo = Minimizador.minimizar(afd);
+            escrever(minimo, arquivoAFDMinimo);
+            long minimizacao = System.nanoTime();
+            CompiledAutomaton automato = CompiledAutomaton.fromTable(minimo);
+            automato.simulate(arquivoPalavras, arquivoSaida, numeroThreads);
+            long simulacao = System.nanoTime();
+
+            System.out.println("AFD: " + afd.getNumeroEstados() + " estados (" + milissegundos(inicio, conversao) + " ms)");
+            System.out.println("AFD mínimo: " + minimo.getNumeroEstados() + " estados (" + milissegundos(conversao, minimizacao) + " ms)");
+            System.out.println("Simulação: " + milissegundos(minimizacao, simulacao) + " ms, parada antecipada em "
+                + automato.earlyExitWords() + " palavras");
+            if (arquivoMetricas != null) {
+                Metricas.escreverJSON(arquivoMetricas, Determinizacao.metricas(), Minimizador.metricas(), automato.metrics());
+            }
+        }catch(LimiteMemoriaExcedido | IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private static long milissegundos (long inicio, long fim) {
+        return (fim - inicio) / 1_000_000;
+    }
+}
@@ -1,15 +1,15 @@
 package simulacao;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.Scanner;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import comum.LeitorDescricao;
+import comum.TabelaAFD;
+
 class AFD {
     private String tipoAutomato;
     // O estado é armazenado como uma String. A cada estado é atribuído um inteiro (índice). Isso permite o estado ser qualquer
@@ -20,101 +20,102 @@ class AFD {
     private String estadoInicial;
     private String[][] funcaoTransicao;
 
-    public AFD (String arquivoDescricaoAFD) {
+    public AFD (String arquivoDescricaoAFD) throws IOException {
+        this();
+        inicializar(arquivoDescricaoAFD);
+    }
+
+    private AFD () {
         tipoAutomato = null;
         conjuntoEstados = new LinkedHashMap<>();
         conjuntoSimbolos = new LinkedHashMap<>();
         conjuntoEstadosFinais = new HashSet<>();
         estadoInicial = null;
         funcaoTransicao = null;
-        inicializar(arquivoDescricaoAFD);
     }
 
-    private void inicializar (String arquivoDescricaoAFD) {
-        try{
-            Scanner sc = new Scanner (Paths.get(arquivoDescricaoAFD), StandardCharsets.UTF_8);
-            int linha = 1;
-            while (sc.hasNextLine()) {
-                if (linha == 1) {
-                    this.setTipoAutomato(sc.next());
-                    sc.nextLine();
-                }else if (linha == 2) {
-                    int n = sc.nextInt();
-                    for (int i = 0; i < n; i++) {
-                        this.getConjuntoEstados().put(sc.next(), i);
-                    }
-                    sc.nextLine();
-                } else if (linha == 3) {
-                    int n = sc.nextInt();
-                    for (int i = 0; i < n; i++) {
-                        this.getConjuntoSimbolos().put(sc.next(), i);
-                    }
-                    sc.nextLine();
-                } else if (linha == 4) {
-                    this.setEstadoInicial(sc.next());
-                    sc.nextLine();
-                } else if (linha == 5) {
-                    int n = sc.nextInt();
-                    for (int i = 0; i < n; i++) {
-                        this.getConjuntoEstadosFinais().add(sc.next());
-                    }
-                    sc.nextLine();
-                } else {
-                    this.setFuncaoTransicao(new String[this.getConjuntoEstados().size()][this.getConjuntoSimbolos().size()]);
-                    
-                    while (sc.hasNextLine()) {
-                        String line = sc.nextLine();
-                        // Se acontecer da última linha ser em branco
-                        if (!line.matches("^$")) {
-                            String[] words = line.split(" ");
-                            Integer l = this.getConjuntoEstados().get(words[0]);
-                            Integer c = this.getConjuntoSimbolos().get(words[1]);
-                            this.funcaoTransicao[l][c] = words[2];
-                        }
-                    }
-                }
-                linha++;
-            }
-        }catch(IOException e) {
-            System.out.println(e.getMessage());
+    // Igual ao construtor, mas sobre um leitor que já leu o cabeçalho
+    static AFD ler (LeitorDescricao leitor) throws IOException {
+        AFD afd = new AFD();
+        afd.inicializar(leitor);
+        return afd;
+    }
+
+    private void inicializar (String arquivoDescricaoAFD) throws IOException {
+        try (LeitorDescricao leitor = new LeitorDescricao(Paths.get(arquivoDescricaoAFD))) {
+            inicializar(leitor);
         }
     }
 
-    public void computar (String arquivoPalavras, String arquivoSaida) {
-
-        Function<String, String> ACEITA = palavra -> String.format(palavra + " aceita\n");
-        Function<String, String> REJEITA = palavra -> String.format(palavra + " rejeita\n");
-
-        try {
-            Scanner sc = new Scanner (Paths.get(arquivoPalavras), StandardCharsets.UTF_8);
-            StringBuilder builder = new StringBuilder(); 
-            while (sc.hasNextLine()) {
-                String palavra  = sc.next();
-                sc.nextLine();
-                String estadoAtual = this.getEstadoInicial();
-                for (int i = 0; i < palavra.length(); i++) {
-                    String simboloLido = String.valueOf(palavra.charAt(i));
-                    if (simboloLido.equals("_")) {
-                        break;
-                    }
-                    String proximoEstado = funcaoTransicao[this.getConjuntoEstados().get(estadoAtual)][this.getConjuntoSimbolos().get(simboloLido)];
-                    if (proximoEstado != null) {
-                        estadoAtual = proximoEstado;
-                    }else {
-                        estadoAtual = null;
-                        break;
-                    }
-                }
-                if (this.getConjuntoEstadosFinais().contains(estadoAtual)) {
-                    builder.append(ACEITA.apply(palavra));
-                } else {
-                    builder.append(REJEITA.apply(palavra));
-                }
+    private void inicializar (LeitorDescricao leitor) throws IOException {
+        this.setTipoAutomato(leitor.getTipo());
+        String[] estados = leitor.getEstados();
+        for (int i = 0; i < estados.length; i++) {
+            this.getConjuntoEstados().put(estados[i], i);
+        }
+        String[] simbolos = leitor.getSimbolos();
+        for (int i = 0; i < simbolos.length; i++) {
+            this.getConjuntoSimbolos().put(simbolos[i], i);
+        }
+        this.setEstadoInicial(estados[leitor.getEstadoInicial()]);
+        for (int estadoFinal : leitor.getEstadosFinais()) {
+            this.getConjuntoEstadosFinais().add(estados[estadoFinal]);
+        }
+
+        // Em um AFD cada transição tem um único destino
+        TabelaAFD.tamanhoTabela(leitor.getArquivo(), estados.length, simbolos.length);
+        this.setFuncaoTransicao(new String[estados.length][simbolos.length]);
+        leitor.lerTransicoes((origem, simbolo, destinos, numeroDestinos) -> {
+            if (numeroDestinos > 0) {
+                this.funcaoTransicao[origem][simbolo] = estados[destinos[0]];
+            }
+        });
+    }
+
+    public void computar (String arquivoPalavras, String arquivoSaida) throws IOException {
+        computar(arquivoPalavras, arquivoSaida, 1);
+    }
+
+    public void computar (String arquivoPalavras, String arquivoSaida, int numeroThreads) throws IOException {
+        new CompiledAutomaton(this).simulate(Paths.get(arquivoPalavras), Paths.get(arquivoSaida), numeroThreads);
+    }
+
+    public AFDCompilado compilar () {
+        return new AFDCompilado(tabela());
+    }
+
+    // Representação por índices do AFD: os estados e os símbolos são numerados na ordem em que aparecem na descrição
+    public TabelaAFD tabela () {
+        int numeroEstados = this.getConjuntoEstados().size();
+        int numeroSimbolos = this.getConjuntoSimbolos().size();
+
+        String[] simbolos = this.getConjuntoSimbolos().keySet().toArray(new String[0]);
+
+        int[] transicoes = new int[numeroEstados * numeroSimbolos];
+        for (int i = 0; i < numeroEstados; i++) {
+            for (int j = 0; j < numeroSimbolos; j++) {
+                transicoes[i * numeroSimbolos + j] = indice(funcaoTransicao[i][j]);
             }
-            Files.write(Paths.get(arquivoSaida), builder.toString().getBytes(StandardCharsets.UTF_8));
-        }catch(IOException e) {
-            System.out.println(e.getMessage());
         }
+
+        long[] estadosFinais = new long[(numeroEstados + 63) >>> 6];
+        for (String estadoFinal : this.getConjuntoEstadosFinais()) {
+            int i = indice(estadoFinal);
+            if (i != TabelaAFD.SEM_TRANSICAO) {
+                estadosFinais[i >>> 6] |= 1L << i;
+            }
+        }
+
+        return new TabelaAFD(simbolos, numeroEstados, indice(this.getEstadoInicial()), estadosFinais, transicoes);
+    }
+
+    // Traduz o nome de um estado para o seu índice. Estados desconhecidos (ou transições ausentes) viram SEM_TRANSICAO
+    private int indice (String estado) {
+        if (estado == null) {
+            return TabelaAFD.SEM_TRANSICAO;
+        }
+        Integer i = this.getConjuntoEstados().get(estado);
+        return i == null ? TabelaAFD.SEM_TRANSICAO : i;
     }
 
     public void imprimirAFD () {
@@ -235,18 +236,3 @@ class AFD {
     }
 
 }
-
-public class Simulacao {
-    public static void main(String[] args) {
-        String arquivoDescricaoAFD = args[0];
-        String arquivoPalavras = args[1];
-        String arquivoSaida = args[2];
-
-        AFD afd = new AFD(arquivoDescricaoAFD);
-
-        afd.imprimirAFD();
-
-        afd.computar(arquivoPalavras, arquivoSaida);
-
-    }
-}
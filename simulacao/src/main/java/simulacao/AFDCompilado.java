@@ -0,0 +1,258 @@
+package simulacao;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import comum.TabelaAFD;
+
+// Versão compilada do AFD usada na computação das palavras. Os estados e os símbolos são trocados pelos seus índices e a
+// função de transição vira uma tabela densa de inteiros, assim o laço de simulação acessa apenas tipos primitivos.
+//
+// Na compilação também são identificados os estados mortos (dos quais nenhum estado final é alcançável, como um estado
+// "lixo" em que todo símbolo leva a ele mesmo) e os estados de aceitação absorventes (finais, com todas as transições
+// definidas e que só levam a outros estados desse tipo). As transições para esses estados são trocadas por códigos
+// negativos na tabela, e a computação da palavra termina assim que um deles é alcançado: o resultado já está decidido.
+final class AFDCompilado implements Reconhecedor {
+    // Valor da tabela quando a transição não está definida
+    static final int SEM_TRANSICAO = TabelaAFD.SEM_TRANSICAO;
+    // A transição leva a um estado morto: a palavra é rejeitada, qualquer que seja o restante dela
+    static final int ESTADO_MORTO = -2;
+    // A transição leva a um estado de aceitação absorvente: toda continuação sobre o alfabeto é aceita, então o restante
+    // da palavra não é lido (nem validado)
+    static final int ACEITACAO_ABSORVENTE = -3;
+
+    private final int numeroEstados;
+    private final int numeroSimbolos;
+    // Índice do estado inicial, ou um dos códigos negativos acima
+    private final int estadoInicial;
+    // transicoes[estado * numeroSimbolos + simbolo] = próximo estado (ou um dos códigos negativos acima)
+    private final int[] transicoes;
+    // Mapa de bits dos estados finais: o bit 'estado' está ligado se o estado é final
+    private final long[] estadosFinais;
+    // Acesso direto caractere -> índice do símbolo. Caracteres que não pertencem ao alfabeto valem -1
+    private final int[] indiceSimbolo;
+
+    // Quantas palavras terminaram antes do fim por alcançar um estado morto ou absorvente, e quantos símbolos deixaram de
+    // ser lidos por isso (no caminho por bytes a conta é feita em bytes). São atualizados por várias threads.
+    private final LongAdder palavrasEncerradasCedo = new LongAdder();
+    private final LongAdder simbolosSaltados = new LongAdder();
+
+    AFDCompilado (TabelaAFD tabela) {
+        this.numeroEstados = tabela.getNumeroEstados();
+        this.numeroSimbolos = tabela.getNumeroSimbolos();
+
+        this.indiceSimbolo = Reconhecedor.indicePorCaractere(numeroSimbolos, tabela::getSimbolo);
+
+        // A tabela é copiada de uma só vez (de um vetor ou de um arquivo mapeado em memória), pois as transições para
+        // estados mortos e absorventes são reescritas abaixo
+        this.transicoes = new int[numeroEstados * numeroSimbolos];
+        tabela.copiarTransicoes(this.transicoes);
+        this.estadosFinais = tabela.copiarEstadosFinais();
+
+        int[] parada = classificarEstados();
+        for (int i = 0; i < transicoes.length; i++) {
+            if (transicoes[i] >= 0 && parada[transicoes[i]] != 0) {
+                transicoes[i] = parada[transicoes[i]];
+            }
+        }
+        int inicial = tabela.getEstadoInicial();
+        this.estadoInicial = (inicial >= 0 && parada[inicial] != 0) ? parada[inicial] : inicial;
+    }
+
+    // Retorna, para cada estado, ESTADO_MORTO, ACEITACAO_ABSORVENTE ou 0 (estado comum). Percorre a função de transição
+    // ao contrário, a partir de um índice das transições que chegam em cada estado, em tempo O(estados * símbolos)
+    private int[] classificarEstados () {
+        // Transições reversas: antecessores[inicioAntecessores[t] .. inicioAntecessores[t + 1]) são os estados que
+        // levam a t (um por transição)
+        int[] inicioAntecessores = new int[numeroEstados + 1];
+        for (int destino : transicoes) {
+            if (destino >= 0) {
+                inicioAntecessores[destino + 1]++;
+            }
+        }
+        for (int i = 0; i < numeroEstados; i++) {
+            inicioAntecessores[i + 1] += inicioAntecessores[i];
+        }
+        int[] antecessores = new int[inicioAntecessores[numeroEstados]];
+        int[] proximo = Arrays.copyOf(inicioAntecessores, numeroEstados);
+        for (int i = 0; i < transicoes.length; i++) {
+            if (transicoes[i] >= 0) {
+                antecessores[proximo[transicoes[i]]++] = i / numeroSimbolos;
+            }
+        }
+
+        int[] fila = new int[numeroEstados];
+
+        // Estados vivos: os que alcançam algum estado final. Busca a partir dos finais pelas transições reversas
+        boolean[] vivo = new boolean[numeroEstados];
+        int inicio = 0;
+        int fim = 0;
+        for (int i = 0; i < numeroEstados; i++) {
+            if (eFinal(i)) {
+                vivo[i] = true;
+                fila[fim++] = i;
+            }
+        }
+        while (inicio < fim) {
+            int estado = fila[inicio++];
+            for (int j = inicioAntecessores[estado]; j < inicioAntecessores[estado + 1]; j++) {
+                if (!vivo[antecessores[j]]) {
+                    vivo[antecessores[j]] = true;
+                    fila[fim++] = antecessores[j];
+                }
+            }
+        }
+
+        // Estados absorventes: começa com os finais de função total e retira, propagando pelas transições reversas,
+        // todo estado que leva a um estado fora do conjunto
+        boolean[] absorvente = new boolean[numeroEstados];
+        inicio = 0;
+        fim = 0;
+        for (int i = 0; i < numeroEstados; i++) {
+            absorvente[i] = eFinal(i);
+            for (int j = 0; j < numeroSimbolos && absorvente[i]; j++) {
+                absorvente[i] = transicoes[i * numeroSimbolos + j] >= 0;
+            }
+            if (!absorvente[i]) {
+                fila[fim++] = i;
+            }
+        }
+        while (inicio < fim) {
+            int estado = fila[inicio++];
+            for (int j = inicioAntecessores[estado]; j < inicioAntecessores[estado + 1]; j++) {
+                if (absorvente[antecessores[j]]) {
+                    absorvente[antecessores[j]] = false;
+                    fila[fim++] = antecessores[j];
+                }
+            }
+        }
+
+        int[] parada = new int[numeroEstados];
+        for (int i = 0; i < numeroEstados; i++) {
+            if (!vivo[i]) {
+                parada[i] = ESTADO_MORTO;
+            } else if (absorvente[i]) {
+                parada[i] = ACEITACAO_ABSORVENTE;
+            }
+        }
+        return parada;
+    }
+
+    // Computa a palavra e informa se ela é aceita. Um símbolo fora do alfabeto ou uma transição indefinida rejeitam a palavra
+    @Override
+    public boolean aceita (CharSequence palavra) {
+        int estadoAtual = estadoInicial;
+        int tamanho = palavra.length();
+        if (estadoAtual < 0) {
+            return pararCedo(estadoAtual, tamanho);
+        }
+        for (int i = 0; i < tamanho; i++) {
+            char simboloLido = palavra.charAt(i);
+            if (simboloLido == '_') {
+                break;
+            }
+            int simbolo = simboloLido < indiceSimbolo.length ? indiceSimbolo[simboloLido] : -1;
+            if (simbolo < 0) {
+                return false;
+            }
+            estadoAtual = transicoes[estadoAtual * numeroSimbolos + simbolo];
+            if (estadoAtual < 0) {
+                return pararCedo(estadoAtual, tamanho - i - 1);
+            }
+        }
+        return eFinal(estadoAtual);
+    }
+
+    // Mesma computação, mas sobre os bytes (UTF-8) da palavra, lidos por posição absoluta (o buffer pode ser um arquivo
+    // mapeado em memória). Os caracteres são decodificados por Reconhecedor.proximoSimbolo
+    @Override
+    public boolean aceita (ByteBuffer dados, int inicio, int tamanho) {
+        int estadoAtual = estadoInicial;
+        if (estadoAtual < 0) {
+            return pararCedo(estadoAtual, tamanho);
+        }
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            estadoAtual = transicoes[estadoAtual * numeroSimbolos + simbolo];
+            if (estadoAtual < 0) {
+                return pararCedo(estadoAtual, fim - i);
+            }
+        }
+        return eFinal(estadoAtual);
+    }
+
+    // Igual à versão com ByteBuffer, sobre um vetor de bytes
+    @Override
+    public boolean aceita (byte[] dados, int inicio, int tamanho) {
+        int estadoAtual = estadoInicial;
+        if (estadoAtual < 0) {
+            return pararCedo(estadoAtual, tamanho);
+        }
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            estadoAtual = transicoes[estadoAtual * numeroSimbolos + simbolo];
+            if (estadoAtual < 0) {
+                return pararCedo(estadoAtual, fim - i);
+            }
+        }
+        return eFinal(estadoAtual);
+    }
+
+    // Encerra a computação em um dos códigos negativos da tabela, contando os símbolos que não precisaram ser lidos
+    private boolean pararCedo (int codigo, int simbolosRestantes) {
+        if (codigo != SEM_TRANSICAO) {
+            palavrasEncerradasCedo.increment();
+            simbolosSaltados.add(simbolosRestantes);
+        }
+        return codigo == ACEITACAO_ABSORVENTE;
+    }
+
+    boolean eFinal (int estado) {
+        return (estadosFinais[estado >>> 6] & (1L << estado)) != 0;
+    }
+
+    @Override
+    public int getNumeroEstados() {
+        return numeroEstados;
+    }
+
+    @Override
+    public int getNumeroSimbolos() {
+        return numeroSimbolos;
+    }
+
+    int getEstadoInicial() {
+        return estadoInicial;
+    }
+
+    @Override
+    public long getPalavrasEncerradasCedo() {
+        return palavrasEncerradasCedo.sum();
+    }
+
+    @Override
+    public long getSimbolosSaltados() {
+        return simbolosSaltados.sum();
+    }
+}
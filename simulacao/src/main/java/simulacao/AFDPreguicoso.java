@@ -0,0 +1,265 @@
+package simulacao;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import comum.ConjuntosEstados;
+import comum.TabelaAFN;
+
+// Determinização sob demanda de um AFN: os estados do AFD (conjuntos de estados do AFN, com os fechos-ε aplicados) e as
+// transições entre eles só são calculados quando uma palavra passa por eles, e ficam guardados em um cache. Uma transição
+// já calculada custa uma consulta a um vetor, como no AFDCompilado; só as que faltam passam pela TabelaAFN.
+//
+// O cache tem um limite de memória. Quando ele enche, é esvaziado por inteiro e a computação continua a partir do conjunto
+// atual, que volta a ser o primeiro estado do cache depois do inicial. Assim a memória fica limitada mesmo para AFNs cuja
+// determinização completa teria um número exponencial de estados, e os caminhos mais usados continuam com a velocidade de
+// um AFD.
+//
+// Cada thread tem o seu próprio cache (o limite vale para cada uma), então as threads não precisam de sincronização.
+final class AFDPreguicoso implements Reconhecedor {
+    // Um cache sempre comporta pelo menos este número de estados, qualquer que seja o limite
+    private static final int MINIMO_ESTADOS = 16;
+
+    // Valor de uma transição ainda não calculada; uma transição para o conjunto vazio vale MORTO; as demais valem o
+    // identificador do estado de destino + 1
+    private static final int DESCONHECIDA = 0;
+    private static final int MORTO = -1;
+
+    private final TabelaAFN tabela;
+    private final int numeroSimbolos;
+    private final int[] indiceSimbolo;
+    private final int palavras;
+    private final int limiteEstados;
+    private final ThreadLocal<Cache> caches;
+    // Caches das threads vivas, para as métricas. As chaves são fracas: o cache de uma thread que terminou é descartado
+    private final Set<Cache> cachesAtivos = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder calculadas = new LongAdder();
+    private final LongAdder esvaziamentos = new LongAdder();
+    private final LongAdder palavrasEncerradasCedo = new LongAdder();
+    private final LongAdder simbolosSaltados = new LongAdder();
+
+    // 'limiteBytes' é a memória aproximada de cada cache: o conjunto de estados, a linha de transições e a posição na
+    // tabela de espalhamento de cada estado do AFD
+    AFDPreguicoso (TabelaAFN tabela, long limiteBytes) {
+        this.tabela = tabela;
+        this.numeroSimbolos = tabela.getNumeroSimbolos();
+        this.indiceSimbolo = Reconhecedor.indicePorCaractere(numeroSimbolos, tabela::getSimbolo);
+        this.palavras = tabela.getPalavras();
+        long bytesPorEstado = 8L * palavras + 4L * numeroSimbolos + 16;
+        this.limiteEstados = (int) Math.max(MINIMO_ESTADOS, Math.min(Integer.MAX_VALUE / Math.max(1, numeroSimbolos), limiteBytes / bytesPorEstado));
+        this.caches = ThreadLocal.withInitial(() -> {
+            Cache cache = new Cache();
+            cachesAtivos.add(cache);
+            return cache;
+        });
+    }
+
+    // Estados do AFD calculados por uma thread. O estado 0 é sempre o conjunto inicial
+    private final class Cache {
+        final ConjuntosEstados conjuntos = new ConjuntosEstados(palavras);
+        // transicoes[estado * numeroSimbolos + simbolo]
+        int[] transicoes = new int[16 * numeroSimbolos];
+        boolean[] finais = new boolean[16];
+        final long[] atual = new long[palavras];
+        final long[] proximo = new long[palavras];
+
+        Cache () {
+            tabela.conjuntoInicial(atual);
+            adicionar(atual);
+        }
+
+        int adicionar (long[] conjunto) {
+            int estado = conjuntos.adicionar(conjunto);
+            if (estado == finais.length) {
+                finais = Arrays.copyOf(finais, estado * 2);
+                transicoes = Arrays.copyOf(transicoes, estado * 2 * numeroSimbolos);
+            }
+            finais[estado] = tabela.contemFinal(conjunto);
+            Arrays.fill(transicoes, estado * numeroSimbolos, (estado + 1) * numeroSimbolos, DESCONHECIDA);
+            return estado;
+        }
+
+        // Transição que ainda não está no cache: os sucessores do conjunto são calculados pela TabelaAFN e, se o
+        // conjunto resultante é novo, ele vira um estado do cache. Retorna o estado de destino ou -1 (conjunto vazio)
+        int calcular (int estado, int simbolo) {
+            calculadas.increment();
+            conjuntos.copiar(estado, atual);
+            if (!tabela.sucessores(atual, simbolo, proximo)) {
+                transicoes[estado * numeroSimbolos + simbolo] = MORTO;
+                return -1;
+            }
+            int destino = conjuntos.indice(proximo);
+            if (destino < 0) {
+                if (conjuntos.tamanho() >= limiteEstados) {
+                    // Cache cheio: tudo é descartado, exceto o estado inicial. A transição que levou até aqui não é
+                    // guardada, pois a origem deixou de existir
+                    esvaziamentos.increment();
+                    conjuntos.limpar();
+                    tabela.conjuntoInicial(atual);
+                    adicionar(atual);
+                    return adicionar(proximo);
+                }
+                destino = adicionar(proximo);
+            }
+            transicoes[estado * numeroSimbolos + simbolo] = destino + 1;
+            return destino;
+        }
+
+        // Um passo da computação
+        int passo (int estado, int simbolo) {
+            int t = transicoes[estado * numeroSimbolos + simbolo];
+            if (t > 0) {
+                return t - 1;
+            }
+            return t == MORTO ? -1 : calcular(estado, simbolo);
+        }
+    }
+
+    @Override
+    public boolean aceita (CharSequence palavra) {
+        Cache cache = caches.get();
+        int estado = 0;
+        int tamanho = palavra.length();
+        int i = 0;
+        for (; i < tamanho; i++) {
+            char simboloLido = palavra.charAt(i);
+            if (simboloLido == '_') {
+                break;
+            }
+            int simbolo = simboloLido < indiceSimbolo.length ? indiceSimbolo[simboloLido] : -1;
+            if (simbolo < 0) {
+                consultas.add(i);
+                return false;
+            }
+            estado = cache.passo(estado, simbolo);
+            if (estado < 0) {
+                consultas.add(i + 1);
+                return pararCedo(tamanho - i - 1);
+            }
+        }
+        consultas.add(i);
+        return cache.finais[estado];
+    }
+
+    // Mesma computação sobre os bytes (UTF-8) da palavra, decodificados por Reconhecedor.proximoSimbolo
+    @Override
+    public boolean aceita (ByteBuffer dados, int inicio, int tamanho) {
+        Cache cache = caches.get();
+        int estado = 0;
+        int lidos = 0;
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                consultas.add(lidos);
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            lidos++;
+            estado = cache.passo(estado, simbolo);
+            if (estado < 0) {
+                consultas.add(lidos);
+                return pararCedo(fim - i);
+            }
+        }
+        consultas.add(lidos);
+        return cache.finais[estado];
+    }
+
+    // Igual à versão com ByteBuffer, sobre um vetor de bytes
+    @Override
+    public boolean aceita (byte[] dados, int inicio, int tamanho) {
+        Cache cache = caches.get();
+        int estado = 0;
+        int lidos = 0;
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                consultas.add(lidos);
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            lidos++;
+            estado = cache.passo(estado, simbolo);
+            if (estado < 0) {
+                consultas.add(lidos);
+                return pararCedo(fim - i);
+            }
+        }
+        consultas.add(lidos);
+        return cache.finais[estado];
+    }
+
+    // O conjunto de estados ativos ficou vazio: a palavra é rejeitada sem ler o restante
+    private boolean pararCedo (int simbolosRestantes) {
+        palavrasEncerradasCedo.increment();
+        simbolosSaltados.add(simbolosRestantes);
+        return false;
+    }
+
+    // Número máximo de estados de cada cache
+    int getLimiteEstados () {
+        return limiteEstados;
+    }
+
+    // Estados guardados nos caches das threads que ainda existem
+    int getEstadosEmCache () {
+        int total = 0;
+        synchronized (cachesAtivos) {
+            for (Cache cache : cachesAtivos) {
+                total += cache.conjuntos.tamanho();
+            }
+        }
+        return total;
+    }
+
+    // Transições consultadas (um por símbolo lido) e, entre elas, as que não estavam no cache
+    long getConsultas () {
+        return consultas.sum();
+    }
+
+    long getCalculadas () {
+        return calculadas.sum();
+    }
+
+    long getEsvaziamentos () {
+        return esvaziamentos.sum();
+    }
+
+    @Override
+    public int getNumeroEstados () {
+        return tabela.getNumeroEstados();
+    }
+
+    @Override
+    public int getNumeroSimbolos () {
+        return numeroSimbolos;
+    }
+
+    @Override
+    public long getPalavrasEncerradasCedo () {
+        return palavrasEncerradasCedo.sum();
+    }
+
+    @Override
+    public long getSimbolosSaltados () {
+        return simbolosSaltados.sum();
+    }
+}
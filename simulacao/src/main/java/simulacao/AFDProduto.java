@@ -0,0 +1,160 @@
+package simulacao;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import comum.ProdutoAFD;
+import comum.TabelaAFD;
+
+// Simulação do produto de dois AFDs (interseção, união, diferença ou diferença simétrica) sem construí-lo antes: os
+// pares de estados são criados pelo ProdutoAFD quando uma palavra passa por eles, e uma transição já calculada custa uma
+// consulta a um vetor, como no AFDCompilado. Os pares que nenhuma palavra alcança nunca são criados.
+//
+// Como no AFDPreguicoso, cada thread tem o seu próprio produto, então as threads não precisam de sincronização. Não há
+// limite de memória: o produto nunca passa do número de pares alcançáveis.
+final class AFDProduto implements Reconhecedor {
+    private final TabelaAFD a;
+    private final TabelaAFD b;
+    private final int operacao;
+    private final int numeroSimbolos;
+    private final int[] indiceSimbolo;
+    private final ThreadLocal<ProdutoAFD> produtos;
+    // Produtos das threads vivas, para as métricas. As chaves são fracas: o produto de uma thread que terminou é descartado
+    private final Set<ProdutoAFD> produtosAtivos = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final LongAdder palavrasEncerradasCedo = new LongAdder();
+    private final LongAdder simbolosSaltados = new LongAdder();
+
+    // 'operacao' é ProdutoAFD.INTERSECAO, UNIAO, DIFERENCA ou DIFERENCA_SIMETRICA
+    AFDProduto (TabelaAFD a, TabelaAFD b, int operacao) {
+        this.a = a;
+        this.b = b;
+        this.operacao = operacao;
+        ProdutoAFD produto = new ProdutoAFD(a, b, operacao);
+        this.numeroSimbolos = produto.getNumeroSimbolos();
+        this.indiceSimbolo = Reconhecedor.indicePorCaractere(numeroSimbolos, produto::getSimbolo);
+        this.produtos = ThreadLocal.withInitial(() -> {
+            ProdutoAFD novo = new ProdutoAFD(this.a, this.b, this.operacao);
+            produtosAtivos.add(novo);
+            return novo;
+        });
+    }
+
+    @Override
+    public boolean aceita (CharSequence palavra) {
+        ProdutoAFD produto = produtos.get();
+        int estado = 0;
+        int tamanho = palavra.length();
+        for (int i = 0; i < tamanho; i++) {
+            char simboloLido = palavra.charAt(i);
+            if (simboloLido == '_') {
+                break;
+            }
+            int simbolo = simboloLido < indiceSimbolo.length ? indiceSimbolo[simboloLido] : -1;
+            if (simbolo < 0) {
+                return false;
+            }
+            estado = produto.transicao(estado, simbolo);
+            if (estado == TabelaAFD.SEM_TRANSICAO) {
+                return pararCedo(tamanho - i - 1);
+            }
+        }
+        return produto.eFinal(estado);
+    }
+
+    // Mesma computação sobre os bytes (UTF-8) da palavra, decodificados por Reconhecedor.proximoSimbolo
+    @Override
+    public boolean aceita (ByteBuffer dados, int inicio, int tamanho) {
+        ProdutoAFD produto = produtos.get();
+        int estado = 0;
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            estado = produto.transicao(estado, simbolo);
+            if (estado == TabelaAFD.SEM_TRANSICAO) {
+                return pararCedo(fim - i);
+            }
+        }
+        return produto.eFinal(estado);
+    }
+
+    // Igual à versão com ByteBuffer, sobre um vetor de bytes
+    @Override
+    public boolean aceita (byte[] dados, int inicio, int tamanho) {
+        ProdutoAFD produto = produtos.get();
+        int estado = 0;
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            estado = produto.transicao(estado, simbolo);
+            if (estado == TabelaAFD.SEM_TRANSICAO) {
+                return pararCedo(fim - i);
+            }
+        }
+        return produto.eFinal(estado);
+    }
+
+    // O par de estados já não aceita nenhuma continuação: a palavra é rejeitada sem ler o restante
+    private boolean pararCedo (int simbolosRestantes) {
+        palavrasEncerradasCedo.increment();
+        simbolosSaltados.add(simbolosRestantes);
+        return false;
+    }
+
+    // Pares criados pelos produtos das threads que ainda existem
+    int getParesCriados () {
+        int total = 0;
+        synchronized (produtosAtivos) {
+            for (ProdutoAFD produto : produtosAtivos) {
+                total += produto.getNumeroEstados();
+            }
+        }
+        return total;
+    }
+
+    // Número máximo de pares: os estados de A e de B, cada um com o estado morto
+    long getParesPossiveis () {
+        return (a.getNumeroEstados() + 1L) * (b.getNumeroEstados() + 1L);
+    }
+
+    @Override
+    public int getNumeroEstados () {
+        return getParesCriados();
+    }
+
+    @Override
+    public int getNumeroSimbolos () {
+        return numeroSimbolos;
+    }
+
+    @Override
+    public long getPalavrasEncerradasCedo () {
+        return palavrasEncerradasCedo.sum();
+    }
+
+    @Override
+    public long getSimbolosSaltados () {
+        return simbolosSaltados.sum();
+    }
+}
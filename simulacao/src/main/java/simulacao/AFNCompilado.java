@@ -0,0 +1,244 @@
+package simulacao;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+import comum.TabelaAFN;
+
+// Simulação direta de um AFN, sem construir o AFD: a computação acompanha o conjunto de estados ativos como um mapa de
+// bits (com os fechos-ε já aplicados pela TabelaAFN), então o custo de cada símbolo depende do tamanho do AFN e não do
+// número de estados que o AFD teria, que pode ser exponencial.
+//
+// Com até 64 estados o conjunto cabe em um único long e cada símbolo é processado por tabelas pré-calculadas: para cada
+// símbolo e cada byte do conjunto (8 estados), o OU dos sucessores desses estados. Um passo custa no máximo 8 consultas,
+// qualquer que seja o número de estados ativos. Acima disso os sucessores vêm de TabelaAFN.sucessores, sobre dois
+// vetores de trabalho por thread.
+//
+// A computação termina antes do fim da palavra quando o conjunto de estados ativos fica vazio (a palavra é rejeitada).
+final class AFNCompilado implements Reconhecedor {
+    private final TabelaAFN tabela;
+    private final int numeroEstados;
+    private final int numeroSimbolos;
+    private final int[] indiceSimbolo;
+
+    // Caminho de um long (até 64 estados): conjunto inicial, finais e, para cada símbolo s, bloco b (os estados
+    // 8b .. 8b + 7) e valor v dos bits desse bloco, sucessoresPorByte[((s * blocos + b) << 8) | v]
+    private final boolean umLong;
+    private final long inicial;
+    private final long finais;
+    private final int blocos;
+    private final long[] sucessoresPorByte;
+
+    // Vetores de trabalho do caminho geral (conjunto atual e próximo), um par por thread
+    private final ThreadLocal<long[][]> conjuntos;
+
+    private final LongAdder palavrasEncerradasCedo = new LongAdder();
+    private final LongAdder simbolosSaltados = new LongAdder();
+
+    AFNCompilado (TabelaAFN tabela) {
+        this.tabela = tabela;
+        this.numeroEstados = tabela.getNumeroEstados();
+        this.numeroSimbolos = tabela.getNumeroSimbolos();
+        this.indiceSimbolo = Reconhecedor.indicePorCaractere(numeroSimbolos, tabela::getSimbolo);
+        this.umLong = tabela.getPalavras() == 1;
+        this.conjuntos = ThreadLocal.withInitial(() -> new long[2][tabela.getPalavras()]);
+
+        if (!umLong) {
+            this.inicial = 0;
+            this.finais = 0;
+            this.blocos = 0;
+            this.sucessoresPorByte = null;
+            return;
+        }
+        long[] conjunto = new long[1];
+        tabela.conjuntoInicial(conjunto);
+        this.inicial = conjunto[0];
+        long f = 0;
+        for (int i = 0; i < numeroEstados; i++) {
+            if (tabela.eFinal(i)) {
+                f |= 1L << i;
+            }
+        }
+        this.finais = f;
+
+        // Sucessores (já fechados) de cada estado isolado, e depois de cada combinação de até 8 estados de um bloco: a
+        // entrada de v é a de v sem o bit mais baixo, mais os sucessores do estado desse bit
+        this.blocos = Math.max(1, (numeroEstados + 7) >>> 3);
+        this.sucessoresPorByte = new long[(numeroSimbolos * blocos) << 8];
+        long[] sucessores = new long[1];
+        for (int s = 0; s < numeroSimbolos; s++) {
+            long[] porEstado = new long[blocos << 3];
+            for (int e = 0; e < numeroEstados; e++) {
+                conjunto[0] = 1L << e;
+                tabela.sucessores(conjunto, s, sucessores);
+                porEstado[e] = sucessores[0];
+            }
+            for (int b = 0; b < blocos; b++) {
+                int base = (s * blocos + b) << 8;
+                for (int v = 1; v < 256; v++) {
+                    sucessoresPorByte[base + v] = sucessoresPorByte[base + (v & (v - 1))] | porEstado[(b << 3) + Integer.numberOfTrailingZeros(v)];
+                }
+            }
+        }
+    }
+
+    // Um passo do caminho de um long
+    private long passo (long atual, int simbolo) {
+        long proximo = 0;
+        int base = simbolo * blocos;
+        for (int b = 0; b < blocos; b++) {
+            proximo |= sucessoresPorByte[((base + b) << 8) | (int) ((atual >>> (b << 3)) & 0xFF)];
+        }
+        return proximo;
+    }
+
+    @Override
+    public boolean aceita (CharSequence palavra) {
+        int tamanho = palavra.length();
+        if (umLong) {
+            long atual = inicial;
+            for (int i = 0; i < tamanho; i++) {
+                char simboloLido = palavra.charAt(i);
+                if (simboloLido == '_') {
+                    break;
+                }
+                int simbolo = simboloLido < indiceSimbolo.length ? indiceSimbolo[simboloLido] : -1;
+                if (simbolo < 0) {
+                    return false;
+                }
+                atual = passo(atual, simbolo);
+                if (atual == 0) {
+                    return pararCedo(tamanho - i - 1);
+                }
+            }
+            return (atual & finais) != 0;
+        }
+
+        long[][] c = conjuntos.get();
+        long[] atual = c[0];
+        long[] proximo = c[1];
+        tabela.conjuntoInicial(atual);
+        for (int i = 0; i < tamanho; i++) {
+            char simboloLido = palavra.charAt(i);
+            if (simboloLido == '_') {
+                break;
+            }
+            int simbolo = simboloLido < indiceSimbolo.length ? indiceSimbolo[simboloLido] : -1;
+            if (simbolo < 0) {
+                return false;
+            }
+            if (!tabela.sucessores(atual, simbolo, proximo)) {
+                return pararCedo(tamanho - i - 1);
+            }
+            long[] troca = atual;
+            atual = proximo;
+            proximo = troca;
+        }
+        return tabela.contemFinal(atual);
+    }
+
+    // Mesma computação sobre os bytes (UTF-8) da palavra, decodificados por Reconhecedor.proximoSimbolo
+    @Override
+    public boolean aceita (ByteBuffer dados, int inicio, int tamanho) {
+        long atualUmLong = inicial;
+        long[][] c = umLong ? null : conjuntos.get();
+        long[] atual = umLong ? null : c[0];
+        long[] proximo = umLong ? null : c[1];
+        if (!umLong) {
+            tabela.conjuntoInicial(atual);
+        }
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            if (umLong) {
+                atualUmLong = passo(atualUmLong, simbolo);
+                if (atualUmLong == 0) {
+                    return pararCedo(fim - i);
+                }
+            } else {
+                if (!tabela.sucessores(atual, simbolo, proximo)) {
+                    return pararCedo(fim - i);
+                }
+                long[] troca = atual;
+                atual = proximo;
+                proximo = troca;
+            }
+        }
+        return umLong ? (atualUmLong & finais) != 0 : tabela.contemFinal(atual);
+    }
+
+    // Igual à versão com ByteBuffer, sobre um vetor de bytes
+    @Override
+    public boolean aceita (byte[] dados, int inicio, int tamanho) {
+        long atualUmLong = inicial;
+        long[][] c = umLong ? null : conjuntos.get();
+        long[] atual = umLong ? null : c[0];
+        long[] proximo = umLong ? null : c[1];
+        if (!umLong) {
+            tabela.conjuntoInicial(atual);
+        }
+        int i = inicio;
+        int fim = inicio + tamanho;
+        while (i < fim) {
+            long lido = Reconhecedor.proximoSimbolo(dados, i, fim, indiceSimbolo);
+            int simbolo = (int) lido;
+            if (simbolo == FIM_DA_PALAVRA) {
+                break;
+            }
+            if (simbolo < 0) {
+                return false;
+            }
+            i = (int) (lido >>> 32);
+            if (umLong) {
+                atualUmLong = passo(atualUmLong, simbolo);
+                if (atualUmLong == 0) {
+                    return pararCedo(fim - i);
+                }
+            } else {
+                if (!tabela.sucessores(atual, simbolo, proximo)) {
+                    return pararCedo(fim - i);
+                }
+                long[] troca = atual;
+                atual = proximo;
+                proximo = troca;
+            }
+        }
+        return umLong ? (atualUmLong & finais) != 0 : tabela.contemFinal(atual);
+    }
+
+    // O conjunto de estados ativos ficou vazio: a palavra é rejeitada sem ler o restante
+    private boolean pararCedo (int simbolosRestantes) {
+        palavrasEncerradasCedo.increment();
+        simbolosSaltados.add(simbolosRestantes);
+        return false;
+    }
+
+    @Override
+    public int getNumeroEstados () {
+        return numeroEstados;
+    }
+
+    @Override
+    public int getNumeroSimbolos () {
+        return numeroSimbolos;
+    }
+
+    @Override
+    public long getPalavrasEncerradasCedo () {
+        return palavrasEncerradasCedo.sum();
+    }
+
+    @Override
+    public long getSimbolosSaltados () {
+        return simbolosSaltados.sum();
+    }
+}
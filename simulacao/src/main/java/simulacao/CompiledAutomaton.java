@@ -0,0 +1,200 @@
+package simulacao;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import comum.FormatoBinario;
+import comum.LeitorDescricao;
+import comum.Metricas;
+import comum.ProdutoAFD;
+import comum.TabelaAFD;
+import comum.TabelaAFN;
+
+// API pública para usar o simulador dentro de outro programa, sem passar pela linha de comando. O autômato é lido e
+// compilado uma única vez; depois disso o objeto não muda e pode ser compartilhado por quantas threads forem necessárias,
+// sem sincronização. Os únicos valores que mudam são os contadores e as métricas, que são seguros entre threads, e (em
+// loadLazy) os caches de estados, que são de cada thread.
+public final class CompiledAutomaton {
+    private final Reconhecedor afd;
+    private final ContadoresSimulacao contadores;
+
+    CompiledAutomaton (AFD afd) {
+        this(afd.compilar());
+    }
+
+    CompiledAutomaton (TabelaAFD tabela) {
+        this(new AFDCompilado(tabela));
+    }
+
+    // Um AFN determinizado sob demanda (AFDPreguicoso) ou um produto de AFDs (AFDProduto)
+    CompiledAutomaton (Reconhecedor afd) {
+        this.afd = afd;
+        this.contadores = new ContadoresSimulacao("simulacao", afd);
+    }
+
+    // Um AFN é simulado diretamente, sem ser convertido para AFD
+    CompiledAutomaton (TabelaAFN tabela) {
+        this(new AFNCompilado(tabela));
+    }
+
+    // Lê o autômato e compila. O arquivo pode estar no formato texto (o do arquivo de exemplo), com um AFD ou um AFN
+    // (conforme a linha 1), ou no formato binário gerado pelo Converter e pela Minimizacao, que é mapeado em memória
+    public static CompiledAutomaton load (Path arquivoDescricaoAFD) throws IOException {
+        if (FormatoBinario.eBinario(arquivoDescricaoAFD)) {
+            return new CompiledAutomaton(FormatoBinario.ler(arquivoDescricaoAFD));
+        }
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivoDescricaoAFD)) {
+            if (eAFN(leitor)) {
+                return new CompiledAutomaton(TabelaAFN.ler(leitor));
+            }
+            return new CompiledAutomaton(AFD.ler(leitor));
+        }
+    }
+
+    // Compila um AFD que já está em memória (por exemplo, o gerado pelo pipeline), sem passar por um arquivo
+    public static CompiledAutomaton fromTable (TabelaAFD tabela) {
+        return new CompiledAutomaton(tabela);
+    }
+
+    // Como load, mas um AFN é determinizado sob demanda: os estados do AFD são calculados quando as palavras chegam
+    // até eles e guardados em um cache de no máximo 'cacheBytes' bytes (aproximadamente) por thread, que é esvaziado
+    // quando enche. Um AFD é carregado normalmente
+    public static CompiledAutomaton loadLazy (Path arquivoDescricao, long cacheBytes) throws IOException {
+        if (FormatoBinario.eBinario(arquivoDescricao)) {
+            return new CompiledAutomaton(FormatoBinario.ler(arquivoDescricao));
+        }
+        try (LeitorDescricao leitor = new LeitorDescricao(arquivoDescricao)) {
+            if (eAFN(leitor)) {
+                return new CompiledAutomaton(new AFDPreguicoso(TabelaAFN.ler(leitor), cacheBytes));
+            }
+            return new CompiledAutomaton(AFD.ler(leitor));
+        }
+    }
+
+    // O produto de dois AFDs (no formato texto ou binário) pela operação dada (intersecao, uniao ou diferenca, ver
+    // ProdutoAFD), construído sob demanda: os pares de estados só são criados quando as palavras chegam até eles
+    public static CompiledAutomaton loadProduct (Path arquivoA, Path arquivoB, String operacao) throws IOException {
+        return fromProduct(TabelaAFD.ler(arquivoA), TabelaAFD.ler(arquivoB), operacao);
+    }
+
+    public static CompiledAutomaton fromProduct (TabelaAFD a, TabelaAFD b, String operacao) {
+        int codigo = ProdutoAFD.operacao(operacao);
+        if (codigo < 0) {
+            throw new IllegalArgumentException("Operação desconhecida: " + operacao);
+        }
+        return new CompiledAutomaton(new AFDProduto(a, b, codigo));
+    }
+
+    static boolean eAFN (LeitorDescricao leitor) {
+        return leitor.getTipo().equals("AFN");
+    }
+
+    // Informa se a palavra é aceita. O "_" representa a palavra vazia e encerra a leitura; um símbolo fora do alfabeto
+    // rejeita a palavra
+    public boolean accepts (CharSequence palavra) {
+        return afd.aceita(palavra);
+    }
+
+    // O mesmo, sobre os bytes (UTF-8) de dados[off, off + len)
+    public boolean accepts (byte[] dados, int off, int len) {
+        if (off < 0 || len < 0 || off > dados.length - len) {
+            throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + dados.length);
+        }
+        return afd.aceita(dados, off, len);
+    }
+
+    // Computa um arquivo de palavras (uma por linha) e escreve "palavra aceita" ou "palavra rejeita" no arquivo de saída.
+    // Com mais de uma thread o arquivo é dividido em blocos computados em paralelo
+    public void simulate (Path arquivoPalavras, Path arquivoSaida, int numeroThreads) throws IOException {
+        if (numeroThreads < 1) {
+            throw new IllegalArgumentException("O número de threads deve ser maior que zero");
+        }
+        if (numeroThreads > 1) {
+            new ComputacaoParalela(afd, numeroThreads, contadores).computarArquivo(arquivoPalavras, arquivoSaida);
+        } else {
+            // As palavras são lidas e o resultado é escrito aos poucos, por buffers de tamanho fixo
+            try (SaidaBufferizada saida = new SaidaBufferizada(Files.newOutputStream(arquivoSaida), ProcessadorPalavras.TAMANHO_BUFFER)) {
+                new ProcessadorPalavras(afd, saida, contadores).computarArquivo(arquivoPalavras);
+            }
+        }
+    }
+
+    // Verdadeiro se o autômato é um AFN (simulado pelo conjunto de estados ativos)
+    public boolean isNondeterministic () {
+        return afd instanceof AFNCompilado;
+    }
+
+    // Verdadeiro se o AFN é determinizado sob demanda (loadLazy)
+    public boolean isLazy () {
+        return afd instanceof AFDPreguicoso;
+    }
+
+    // Verdadeiro se o autômato é um produto construído sob demanda (loadProduct)
+    public boolean isProduct () {
+        return afd instanceof AFDProduto;
+    }
+
+    // Em um produto, stateCount é o número de pares criados até agora pelas threads que ainda existem
+    public int stateCount () {
+        return afd.getNumeroEstados();
+    }
+
+    public int symbolCount () {
+        return afd.getNumeroSimbolos();
+    }
+
+    // Palavras cuja computação terminou ao alcançar um estado morto ou de aceitação absorvente (em um AFN, quando o
+    // conjunto de estados ativos fica vazio)
+    public long earlyExitWords () {
+        return afd.getPalavrasEncerradasCedo();
+    }
+
+    // Símbolos (bytes, quando a palavra veio como bytes) que deixaram de ser lidos por essas paradas
+    public long skippedSymbols () {
+        return afd.getSimbolosSaltados();
+    }
+
+    // Métricas das palavras computadas por simulate (e pelo modo servidor): palavras, símbolos e aceitas, as taxas por
+    // segundo e de aceitação, as paradas antecipadas e a latência de cada bloco. Chamadas diretas a accepts não entram
+    // nas contagens, só nas paradas antecipadas
+    public Metricas metrics () {
+        return contadores.getMetricas();
+    }
+
+    ContadoresSimulacao contadores () {
+        return contadores;
+    }
+
+    // Métricas do cache da determinização sob demanda (todas valem 0 se o autômato não foi carregado por loadLazy).
+    // Estados do AFD guardados nos caches das threads que ainda existem
+    public int lazyCacheStates () {
+        return afd instanceof AFDPreguicoso ? ((AFDPreguicoso) afd).getEstadosEmCache() : 0;
+    }
+
+    // Limite de estados de cada cache
+    public int lazyCacheCapacity () {
+        return afd instanceof AFDPreguicoso ? ((AFDPreguicoso) afd).getLimiteEstados() : 0;
+    }
+
+    // Fração das transições consultadas que já estavam no cache
+    public double lazyCacheHitRate () {
+        if (!(afd instanceof AFDPreguicoso)) {
+            return 0;
+        }
+        AFDPreguicoso preguicoso = (AFDPreguicoso) afd;
+        long consultas = preguicoso.getConsultas();
+        return consultas == 0 ? 0 : 1.0 - (double) preguicoso.getCalculadas() / consultas;
+    }
+
+    // Número máximo de pares do produto (os estados de cada AFD, com o estado morto, multiplicados), ou 0 se o autômato
+    // não é um produto
+    public long productPairBound () {
+        return afd instanceof AFDProduto ? ((AFDProduto) afd).getParesPossiveis() : 0;
+    }
+
+    // Vezes em que um cache encheu e foi esvaziado
+    public long lazyCacheFlushes () {
+        return afd instanceof AFDPreguicoso ? ((AFDPreguicoso) afd).getEsvaziamentos() : 0;
+    }
+}
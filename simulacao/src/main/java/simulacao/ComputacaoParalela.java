@@ -0,0 +1,171 @@
+package simulacao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Computa o arquivo de palavras em várias threads. O arquivo é dividido em blocos por posição em bytes, com os limites
+// ajustados para o início de uma linha, e cada bloco é mapeado em memória e computado de forma independente sobre o mesmo
+// autômato compilado (que não é modificado durante a computação). Os resultados são escritos na ordem original do arquivo.
+// Entradas que não são arquivos comuns (pipes, /dev/stdin) não têm tamanho nem podem ser mapeadas: são lidas em sequência,
+// e cada bloco lido, cortado na última linha completa, é computado da mesma forma.
+final class ComputacaoParalela {
+    private static final int TAMANHO_MINIMO_BLOCO = 1 << 16;
+    private static final int TAMANHO_MAXIMO_BLOCO = 1 << 23;
+    // Quantos blocos, por thread, podem estar em andamento (ou esperando para serem escritos) ao mesmo tempo
+    private static final int BLOCOS_POR_THREAD = 4;
+
+    private final Reconhecedor afd;
+    private final int numeroThreads;
+    private final ContadoresSimulacao contadores;
+
+    ComputacaoParalela (Reconhecedor afd, int numeroThreads, ContadoresSimulacao contadores) {
+        this.afd = afd;
+        this.numeroThreads = numeroThreads;
+        this.contadores = contadores;
+    }
+
+    void computarArquivo (Path arquivoPalavras, Path arquivoSaida) throws IOException {
+        if (!Files.isRegularFile(arquivoPalavras)) {
+            computarFluxo(arquivoPalavras, arquivoSaida);
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        try (FileChannel entrada = FileChannel.open(arquivoPalavras, StandardOpenOption.READ);
+                OutputStream saida = Files.newOutputStream(arquivoSaida)) {
+
+            long tamanhoArquivo = entrada.size();
+            long tamanhoBloco = Math.max(TAMANHO_MINIMO_BLOCO, Math.min(TAMANHO_MAXIMO_BLOCO, tamanhoArquivo / ((long) numeroThreads * BLOCOS_POR_THREAD)));
+
+            // Os blocos são enviados em ordem e o resultado do mais antigo é escrito antes de enviar mais blocos que o limite
+            ArrayDeque<Future<ByteArrayOutputStream>> pendentes = new ArrayDeque<>();
+            long inicio = 0;
+            while (inicio < tamanhoArquivo) {
+                long fim = inicioDaLinha(entrada, Math.min(tamanhoArquivo, inicio + tamanhoBloco), tamanhoArquivo);
+                long inicioBloco = inicio;
+                // O bloco é mapeado em memória e computado diretamente sobre os bytes do arquivo
+                pendentes.add(executor.submit(() -> computarBloco(
+                        entrada.map(FileChannel.MapMode.READ_ONLY, inicioBloco, fim - inicioBloco), (int) (fim - inicioBloco))));
+                if (pendentes.size() >= numeroThreads * BLOCOS_POR_THREAD) {
+                    aguardar(pendentes.remove()).writeTo(saida);
+                }
+                inicio = fim;
+            }
+            while (!pendentes.isEmpty()) {
+                aguardar(pendentes.remove()).writeTo(saida);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Leitura sequencial em blocos de TAMANHO_MINIMO_BLOCO bytes. Cada bloco vai até a última linha completa lida; o
+    // restante é levado para o começo do bloco seguinte
+    private void computarFluxo (Path arquivoPalavras, Path arquivoSaida) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(numeroThreads);
+        try (InputStream entrada = Files.newInputStream(arquivoPalavras);
+                OutputStream saida = Files.newOutputStream(arquivoSaida)) {
+
+            ArrayDeque<Future<ByteArrayOutputStream>> pendentes = new ArrayDeque<>();
+            byte[] buffer = new byte[TAMANHO_MINIMO_BLOCO];
+            int ocupado = 0;
+            int lidos;
+            while ((lidos = entrada.read(buffer, ocupado, buffer.length - ocupado)) != -1) {
+                ocupado += lidos;
+                if (ocupado < buffer.length) {
+                    continue;
+                }
+                int fim = ocupado;
+                while (fim > 0 && buffer[fim - 1] != '\n') {
+                    fim--;
+                }
+                if (fim == 0) {
+                    // Uma única linha maior que o bloco: o bloco cresce até caber a linha
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+                byte[] bloco = Arrays.copyOf(buffer, fim);
+                pendentes.add(executor.submit(() -> computarBloco(ByteBuffer.wrap(bloco), bloco.length)));
+                if (pendentes.size() >= numeroThreads * BLOCOS_POR_THREAD) {
+                    aguardar(pendentes.remove()).writeTo(saida);
+                }
+                System.arraycopy(buffer, fim, buffer, 0, ocupado - fim);
+                ocupado -= fim;
+            }
+            if (ocupado > 0) {
+                byte[] bloco = Arrays.copyOf(buffer, ocupado);
+                pendentes.add(executor.submit(() -> computarBloco(ByteBuffer.wrap(bloco), bloco.length)));
+            }
+            while (!pendentes.isEmpty()) {
+                aguardar(pendentes.remove()).writeTo(saida);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ByteArrayOutputStream computarBloco (ByteBuffer dados, int tamanho) throws IOException {
+        // O resultado costuma ter pouco mais que o dobro do tamanho do bloco (a palavra + " aceita\n")
+        ByteArrayOutputStream resultado = new ByteArrayOutputStream(tamanho * 2 + 16);
+        try (SaidaBufferizada saida = new SaidaBufferizada(resultado, ProcessadorPalavras.TAMANHO_BUFFER)) {
+            new ProcessadorPalavras(afd, saida, contadores).processar(dados, 0, tamanho, true);
+        }
+        return resultado;
+    }
+
+    // Retorna a posição da primeira linha que começa em 'posicao' ou depois dela
+    private static long inicioDaLinha (FileChannel entrada, long posicao, long tamanhoArquivo) throws IOException {
+        if (posicao >= tamanhoArquivo) {
+            return tamanhoArquivo;
+        }
+        byte[] trecho = new byte[4096];
+        // Começa um byte antes: se ele for o '\n', a própria 'posicao' é o início de uma linha
+        long atual = posicao - 1;
+        while (atual < tamanhoArquivo) {
+            int tamanho = (int) Math.min(trecho.length, tamanhoArquivo - atual);
+            ler(entrada, atual, trecho, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                if (trecho[i] == '\n') {
+                    return atual + i + 1;
+                }
+            }
+            atual += tamanho;
+        }
+        return tamanhoArquivo;
+    }
+
+    private static void ler (FileChannel entrada, long posicao, byte[] destino, int tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(destino, 0, tamanho);
+        while (buffer.hasRemaining()) {
+            if (entrada.read(buffer, posicao + buffer.position()) < 0) {
+                throw new IOException("Fim inesperado do arquivo de palavras");
+            }
+        }
+    }
+
+    private static ByteArrayOutputStream aguardar (Future<ByteArrayOutputStream> bloco) throws IOException {
+        try {
+            return bloco.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Computação interrompida", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package simulacao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Atende uma conexão do ServidorSimulacao. O protocolo é de texto (UTF-8), um pedido por linha, e cada pedido recebe
+// exatamente uma linha de resposta, na mesma ordem dos pedidos:
+//
+//   W palavra                        -> "1" se a palavra é aceita, "0" se é rejeitada
+//   M palavra1 palavra2 ... palavraN -> N caracteres "1"/"0", um para cada palavra
+//   USE nome                         -> passa a usar o AFD carregado com esse nome
+//   LOAD nome arquivo                -> lê e compila o AFD do arquivo (no servidor) com esse nome
+//   FILE palavras saida [threads]    -> computa um arquivo de palavras do servidor, como o modo de linha de comando
+//   QUIT                             -> encerra a conexão
+//
+// Os comandos USE, LOAD, FILE e QUIT respondem "OK" ou "ERR mensagem". Como no arquivo de palavras, uma palavra não
+// contém espaços, "W" sem palavra (ou "W _") computa a palavra vazia e um símbolo fora do alfabeto rejeita a palavra.
+//
+// LOAD e FILE acessam arquivos do servidor com as permissões dele: qualquer cliente que consiga se conectar pode ler o
+// que o servidor lê e criar ou sobrescrever o que ele escreve. Em uma porta TCP, aberta a todos os usuários da máquina,
+// eles respondem "ERR" a menos que o servidor tenha sido iniciado com --permitir-arquivos (ver ServidorSimulacao).
+//
+// O cliente pode enviar vários pedidos sem esperar as respostas. Todos os pedidos completos que chegaram em uma mesma
+// leitura do socket são computados em sequência e as respostas vão juntas em uma única escrita. Os comandos W e M são
+// computados diretamente sobre os bytes recebidos, sem criar Strings.
+final class ConexaoSimulacao implements Runnable {
+    // Uma linha maior que isso encerra a conexão, para que um cliente não faça o buffer crescer sem limite
+    private static final int TAMANHO_MAXIMO_LINHA = 1 << 26;
+
+    private static final byte[] ACEITA = "1\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REJEITA = "0\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OK = "OK\n".getBytes(StandardCharsets.US_ASCII);
+    private static final String ARQUIVOS_DESATIVADOS = "LOAD e FILE estão desativados em TCP (use --permitir-arquivos)";
+
+    private final ServidorSimulacao servidor;
+    private final SocketChannel canal;
+    private CompiledAutomaton automato;
+    private SaidaBufferizada saida;
+    private boolean encerrar;
+
+    ConexaoSimulacao (ServidorSimulacao servidor, SocketChannel canal) {
+        this.servidor = servidor;
+        this.canal = canal;
+        this.encerrar = false;
+    }
+
+    @Override
+    public void run () {
+        automato = servidor.automatoPadrao();
+        try (SaidaBufferizada saida = new SaidaBufferizada(Channels.newOutputStream(canal), ProcessadorPalavras.TAMANHO_BUFFER)) {
+            this.saida = saida;
+            byte[] buffer = new byte[ProcessadorPalavras.TAMANHO_BUFFER];
+            ByteBuffer leitura = ByteBuffer.wrap(buffer);
+            int ocupado = 0;
+            while (!encerrar) {
+                leitura.limit(buffer.length).position(ocupado);
+                if (canal.read(leitura) == -1) {
+                    // O último pedido pode vir sem o '\n'
+                    processar(buffer, ocupado, true);
+                    break;
+                }
+                ocupado = leitura.position();
+                int consumido = processar(buffer, ocupado, false);
+                // O que sobrou é o início de um pedido incompleto, que é levado para o começo do buffer
+                System.arraycopy(buffer, consumido, buffer, 0, ocupado - consumido);
+                ocupado -= consumido;
+                if (ocupado == buffer.length) {
+                    if (buffer.length >= TAMANHO_MAXIMO_LINHA) {
+                        erro("Linha maior que " + TAMANHO_MAXIMO_LINHA + " bytes");
+                        break;
+                    }
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    leitura = ByteBuffer.wrap(buffer);
+                }
+                // As respostas de todos os pedidos desta leitura vão em uma única escrita
+                saida.descarregar();
+            }
+        }catch(IOException e) {
+            // A conexão foi encerrada pelo cliente (ou pelo fechamento do servidor)
+        }
+    }
+
+    // Responde os pedidos completos de buffer[0, fim) e retorna a posição logo após o último pedido respondido
+    private int processar (byte[] buffer, int fim, boolean fimDaEntrada) throws IOException {
+        int linha = 0;
+        while (linha < fim && !encerrar) {
+            int quebra = linha;
+            while (quebra < fim && buffer[quebra] != '\n') {
+                quebra++;
+            }
+            if (quebra == fim && !fimDaEntrada) {
+                break;
+            }
+            atender(buffer, linha, quebra);
+            linha = quebra + 1;
+        }
+        return Math.min(linha, fim);
+    }
+
+    private void atender (byte[] linha, int inicio, int fim) throws IOException {
+        int inicioComando = pularEspacos(linha, inicio, fim);
+        if (inicioComando == fim) {
+            return;
+        }
+        int fimComando = fimDoToken(linha, inicioComando, fim);
+
+        if (fimComando - inicioComando == 1 && (linha[inicioComando] == 'W' || linha[inicioComando] == 'M')) {
+            if (automato == null) {
+                erro("Nenhum AFD carregado");
+                return;
+            }
+            long inicioPedido = System.nanoTime();
+            if (linha[inicioComando] == 'W') {
+                int inicioPalavra = pularEspacos(linha, fimComando, fim);
+                int fimPalavra = fimDoToken(linha, inicioPalavra, fim);
+                boolean aceita = automato.accepts(linha, inicioPalavra, fimPalavra - inicioPalavra);
+                saida.escrever(aceita ? ACEITA : REJEITA);
+                automato.contadores().registrar(1, fimPalavra - inicioPalavra, aceita ? 1 : 0, System.nanoTime() - inicioPedido);
+            } else {
+                int palavras = 0;
+                long simbolos = 0;
+                int aceitas = 0;
+                int inicioPalavra = pularEspacos(linha, fimComando, fim);
+                while (inicioPalavra < fim) {
+                    int fimPalavra = fimDoToken(linha, inicioPalavra, fim);
+                    boolean aceita = automato.accepts(linha, inicioPalavra, fimPalavra - inicioPalavra);
+                    saida.escreverByte(aceita ? (byte) '1' : (byte) '0');
+                    palavras++;
+                    simbolos += fimPalavra - inicioPalavra;
+                    aceitas += aceita ? 1 : 0;
+                    inicioPalavra = pularEspacos(linha, fimPalavra, fim);
+                }
+                saida.escreverByte((byte) '\n');
+                automato.contadores().registrar(palavras, simbolos, aceitas, System.nanoTime() - inicioPedido);
+            }
+            return;
+        }
+
+        // Os demais comandos são raros, então podem ser tratados como String
+        String[] partes = new String(linha, inicioComando, fim - inicioComando, StandardCharsets.UTF_8).trim().split("\\s+");
+        try {
+            switch (partes[0]) {
+                case "USE":
+                    argumentos(partes, 2, 2);
+                    CompiledAutomaton escolhido = servidor.automato(partes[1]);
+                    if (escolhido == null) {
+                        erro("AFD desconhecido: " + partes[1]);
+                        return;
+                    }
+                    automato = escolhido;
+                    break;
+                case "LOAD":
+                    argumentos(partes, 3, 3);
+                    if (!servidor.permiteArquivos()) {
+                        erro(ARQUIVOS_DESATIVADOS);
+                        return;
+                    }
+                    servidor.carregar(partes[1], Paths.get(partes[2]));
+                    if (automato == null) {
+                        automato = servidor.automato(partes[1]);
+                    }
+                    break;
+                case "FILE":
+                    argumentos(partes, 3, 4);
+                    if (!servidor.permiteArquivos()) {
+                        erro(ARQUIVOS_DESATIVADOS);
+                        return;
+                    }
+                    if (automato == null) {
+                        erro("Nenhum AFD carregado");
+                        return;
+                    }
+                    int numeroThreads = partes.length == 4 ? Integer.parseInt(partes[3]) : 1;
+                    automato.simulate(Paths.get(partes[1]), Paths.get(partes[2]), numeroThreads);
+                    break;
+                case "QUIT":
+                    encerrar = true;
+                    break;
+                default:
+                    erro("Comando desconhecido: " + partes[0]);
+                    return;
+            }
+        }catch(IOException | IllegalArgumentException e) {
+            erro(e.getMessage());
+            return;
+        }
+        saida.escrever(OK);
+    }
+
+    private static void argumentos (String[] partes, int minimo, int maximo) {
+        if (partes.length < minimo || partes.length > maximo) {
+            throw new IllegalArgumentException("Número de argumentos inválido para " + partes[0]);
+        }
+    }
+
+    private void erro (String mensagem) throws IOException {
+        String texto = mensagem == null ? "" : mensagem.replace('\n', ' ');
+        saida.escrever(("ERR " + texto + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int pularEspacos (byte[] linha, int inicio, int fim) {
+        while (inicio < fim && ProcessadorPalavras.eEspaco(linha[inicio])) {
+            inicio++;
+        }
+        return inicio;
+    }
+
+    private static int fimDoToken (byte[] linha, int inicio, int fim) {
+        while (inicio < fim && !ProcessadorPalavras.eEspaco(linha[inicio])) {
+            inicio++;
+        }
+        return inicio;
+    }
+}
@@ -0,0 +1,65 @@
+package simulacao;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import comum.Histograma;
+import comum.Metricas;
+
+// Métricas da computação de palavras de um autômato compilado. Quem computa as palavras (ProcessadorPalavras, as
+// conexões do servidor) conta em variáveis locais e registra os totais uma vez por bloco de palavras (ou por pedido),
+// então a contagem não custa nada por palavra além de somar inteiros. As taxas são calculadas só na leitura.
+final class ContadoresSimulacao {
+    private final Metricas metricas;
+    private final LongAdder palavras;
+    private final LongAdder simbolos;
+    private final LongAdder aceitas;
+    // Tempo gasto nos blocos, somado entre as threads: com várias threads, as taxas por segundo são as de cada thread
+    private final LongAdder tempo;
+    private final Histograma latencia;
+
+    ContadoresSimulacao (String nome, Reconhecedor afd) {
+        this.metricas = new Metricas(nome);
+        this.palavras = metricas.contador("palavras");
+        this.simbolos = metricas.contador("simbolos");
+        this.aceitas = metricas.contador("aceitas");
+        this.tempo = metricas.contador("tempoNanos");
+        metricas.medidor("palavrasEncerradasCedo", afd::getPalavrasEncerradasCedo);
+        metricas.medidor("simbolosSaltados", afd::getSimbolosSaltados);
+        metricas.medidor("palavrasPorSegundo", () -> porSegundo(palavras.sum()));
+        metricas.medidor("simbolosPorSegundo", () -> porSegundo(simbolos.sum()));
+        metricas.medidor("taxaAceitacao", () -> {
+            long total = palavras.sum();
+            return total == 0 ? 0 : (double) aceitas.sum() / total;
+        });
+        if (afd instanceof AFDPreguicoso) {
+            AFDPreguicoso preguicoso = (AFDPreguicoso) afd;
+            metricas.medidor("cacheEstados", preguicoso::getEstadosEmCache);
+            metricas.medidor("cacheConsultas", preguicoso::getConsultas);
+            metricas.medidor("cacheCalculadas", preguicoso::getCalculadas);
+            metricas.medidor("cacheEsvaziamentos", preguicoso::getEsvaziamentos);
+        }
+        if (afd instanceof AFDProduto) {
+            metricas.medidor("paresProduto", ((AFDProduto) afd)::getParesCriados);
+        }
+        // Um bloco é a janela mapeada (ou o bloco da computação paralela); no servidor, um pedido W ou M
+        this.latencia = metricas.histograma("latenciaBloco");
+    }
+
+    // 'simbolos' são os bytes das palavras, a mesma unidade de getSimbolosSaltados
+    void registrar (int palavras, long simbolos, int aceitas, long nanos) {
+        this.palavras.add(palavras);
+        this.simbolos.add(simbolos);
+        this.aceitas.add(aceitas);
+        this.tempo.add(nanos);
+        latencia.registrar(nanos);
+    }
+
+    private double porSegundo (long quantidade) {
+        long nanos = tempo.sum();
+        return nanos == 0 ? 0 : quantidade * 1e9 / nanos;
+    }
+
+    Metricas getMetricas () {
+        return metricas;
+    }
+}
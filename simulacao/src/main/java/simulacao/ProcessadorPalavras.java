@@ -0,0 +1,138 @@
+package simulacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Computa um arquivo de palavras (uma palavra por linha) diretamente sobre os bytes do arquivo. O arquivo é mapeado em
+// memória (FileChannel.map) em janelas de até 1 GiB, o autômato é executado sobre os bytes de cada linha e a palavra é
+// copiada da janela para a SaidaBufferizada sem virar String. Arquivos que não podem ser mapeados (pipes, por exemplo)
+// são lidos em blocos de tamanho fixo.
+final class ProcessadorPalavras {
+    static final int TAMANHO_BUFFER = 1 << 16;
+    // Tamanho de cada janela mapeada. Um MappedByteBuffer é limitado a 2 GiB, então arquivos maiores são mapeados por partes
+    static final int TAMANHO_JANELA = 1 << 30;
+
+    private static final byte[] ACEITA = " aceita\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REJEITA = " rejeita\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Reconhecedor afd;
+    private final SaidaBufferizada saida;
+    private final ContadoresSimulacao contadores;
+    // Contagem do bloco em andamento, registrada nos contadores ao fim de cada processar
+    private int palavras;
+    private long simbolos;
+    private int aceitas;
+
+    ProcessadorPalavras (Reconhecedor afd, SaidaBufferizada saida, ContadoresSimulacao contadores) {
+        this.afd = afd;
+        this.saida = saida;
+        this.contadores = contadores;
+    }
+
+    // Computa o arquivo de palavras e escreve "palavra aceita" ou "palavra rejeita" para cada linha
+    void computarArquivo (Path arquivoPalavras) throws IOException {
+        if (!Files.isRegularFile(arquivoPalavras)) {
+            computarFluxo(arquivoPalavras);
+            return;
+        }
+        try (FileChannel entrada = FileChannel.open(arquivoPalavras, StandardOpenOption.READ)) {
+            long tamanhoArquivo = entrada.size();
+            long posicao = 0;
+            int tamanhoJanela = TAMANHO_JANELA;
+            while (posicao < tamanhoArquivo) {
+                int tamanho = (int) Math.min(tamanhoJanela, tamanhoArquivo - posicao);
+                boolean ultimaJanela = posicao + tamanho == tamanhoArquivo;
+                ByteBuffer janela = entrada.map(FileChannel.MapMode.READ_ONLY, posicao, tamanho);
+                int consumido = processar(janela, 0, tamanho, ultimaJanela);
+                if (consumido == 0 && !ultimaJanela) {
+                    // Nenhuma linha completa coube na janela: a próxima janela é maior
+                    if (tamanhoJanela == Integer.MAX_VALUE) {
+                        throw new IOException("Linha maior que " + Integer.MAX_VALUE + " bytes na posição " + posicao);
+                    }
+                    tamanhoJanela = (int) Math.min(Integer.MAX_VALUE, 2L * tamanhoJanela);
+                }
+                // A janela seguinte começa na primeira linha que ficou incompleta nesta
+                posicao += consumido;
+            }
+        }
+    }
+
+    // Leitura sequencial em blocos, para entradas que não são arquivos comuns
+    private void computarFluxo (Path arquivoPalavras) throws IOException {
+        byte[] buffer = new byte[TAMANHO_BUFFER];
+        ByteBuffer dados = ByteBuffer.wrap(buffer);
+        int ocupado = 0;
+        try (InputStream entrada = Files.newInputStream(arquivoPalavras)) {
+            int lidos;
+            while ((lidos = entrada.read(buffer, ocupado, buffer.length - ocupado)) != -1) {
+                ocupado += lidos;
+                int consumido = processar(dados, 0, ocupado, false);
+                // O que sobrou é o início de uma linha incompleta, que é levado para o começo do buffer
+                System.arraycopy(buffer, consumido, buffer, 0, ocupado - consumido);
+                ocupado -= consumido;
+                // Uma única linha maior que o buffer: o buffer cresce até caber a linha
+                if (ocupado == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    dados = ByteBuffer.wrap(buffer);
+                }
+            }
+        }
+        processar(dados, 0, ocupado, true);
+    }
+
+    // Processa as linhas completas de dados[inicio, fim) e retorna a posição logo após a última linha processada. Se
+    // 'fimDaEntrada' for verdadeiro a última linha é processada mesmo sem o '\n'
+    int processar (ByteBuffer dados, int inicio, int fim, boolean fimDaEntrada) throws IOException {
+        long inicioBloco = System.nanoTime();
+        palavras = 0;
+        simbolos = 0;
+        aceitas = 0;
+        int linha = inicio;
+        while (linha < fim) {
+            int quebra = linha;
+            while (quebra < fim && dados.get(quebra) != '\n') {
+                quebra++;
+            }
+            if (quebra == fim && !fimDaEntrada) {
+                break;
+            }
+            computarLinha(dados, linha, quebra);
+            linha = quebra + 1;
+        }
+        contadores.registrar(palavras, simbolos, aceitas, System.nanoTime() - inicioBloco);
+        return Math.min(linha, fim);
+    }
+
+    // A palavra é o primeiro token da linha. Linhas em branco são ignoradas, assim como o restante da linha após a palavra
+    private void computarLinha (ByteBuffer dados, int inicio, int fim) throws IOException {
+        while (inicio < fim && eEspaco(dados.get(inicio))) {
+            inicio++;
+        }
+        if (inicio == fim) {
+            return;
+        }
+        int fimPalavra = inicio;
+        while (fimPalavra < fim && !eEspaco(dados.get(fimPalavra))) {
+            fimPalavra++;
+        }
+        boolean aceita = afd.aceita(dados, inicio, fimPalavra - inicio);
+        saida.escrever(dados, inicio, fimPalavra - inicio);
+        saida.escrever(aceita ? ACEITA : REJEITA);
+        palavras++;
+        simbolos += fimPalavra - inicio;
+        if (aceita) {
+            aceitas++;
+        }
+    }
+
+    static boolean eEspaco (byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+}
@@ -0,0 +1,99 @@
+package simulacao;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+// O que a computação de palavras precisa de um autômato compilado: decidir se uma palavra (como texto ou como bytes em
+// UTF-8) é aceita. As implementações não são modificadas durante a computação e podem ser usadas por várias threads ao
+// mesmo tempo (só os contadores de parada antecipada mudam, e eles são seguros entre threads).
+interface Reconhecedor {
+    // Códigos de proximoSimbolo, no lugar do índice do símbolo
+    int FORA_DO_ALFABETO = -1;
+    int FIM_DA_PALAVRA = -2;
+
+    // O "_" representa a palavra vazia e encerra a leitura; um símbolo fora do alfabeto rejeita a palavra
+    boolean aceita (CharSequence palavra);
+
+    boolean aceita (ByteBuffer dados, int inicio, int tamanho);
+
+    boolean aceita (byte[] dados, int inicio, int tamanho);
+
+    int getNumeroEstados ();
+
+    int getNumeroSimbolos ();
+
+    // Palavras cuja computação terminou antes do fim porque o resultado já estava decidido
+    long getPalavrasEncerradasCedo ();
+
+    // Símbolos (ou bytes) que deixaram de ser lidos por essas paradas
+    long getSimbolosSaltados ();
+
+    // Acesso direto caractere -> índice do símbolo. Caracteres que não pertencem ao alfabeto valem -1. Somente símbolos de
+    // um caractere podem ser lidos, pois a palavra é computada caractere a caractere
+    static int[] indicePorCaractere (int numeroSimbolos, IntFunction<String> simbolo) {
+        char maiorCaractere = 0;
+        for (int j = 0; j < numeroSimbolos; j++) {
+            String s = simbolo.apply(j);
+            if (s.length() == 1 && s.charAt(0) > maiorCaractere) {
+                maiorCaractere = s.charAt(0);
+            }
+        }
+        int[] indiceSimbolo = new int[maiorCaractere + 1];
+        Arrays.fill(indiceSimbolo, -1);
+        for (int j = 0; j < numeroSimbolos; j++) {
+            String s = simbolo.apply(j);
+            // O "_" representa a palavra vazia e encerra a leitura, por isso nunca é tratado como símbolo
+            if (s.length() == 1 && s.charAt(0) != '_') {
+                indiceSimbolo[s.charAt(0)] = j;
+            }
+        }
+        return indiceSimbolo;
+    }
+
+    // Lê o caractere (UTF-8) que começa em dados[i] e o traduz pelo indiceSimbolo. Retorna, nos 32 bits altos, a posição
+    // logo após o caractere e, nos baixos, o índice do símbolo, FIM_DA_PALAVRA para o "_" ou FORA_DO_ALFABETO. Os
+    // caracteres de até três bytes são decodificados aqui; os que ficam fora do BMP (e as sequências inválidas) nunca
+    // formam um símbolo de um caractere e ficam fora do alfabeto. Cada implementação só faz a transição com o símbolo
+    static long proximoSimbolo (ByteBuffer dados, int i, int fim, int[] indiceSimbolo) {
+        int caractere = dados.get(i++);
+        if (caractere < 0) {
+            if ((caractere & 0xE0) == 0xC0 && i < fim) {
+                caractere = ((caractere & 0x1F) << 6) | (dados.get(i++) & 0x3F);
+            } else if ((caractere & 0xF0) == 0xE0 && i + 1 < fim) {
+                caractere = ((caractere & 0x0F) << 12) | ((dados.get(i) & 0x3F) << 6) | (dados.get(i + 1) & 0x3F);
+                i += 2;
+            } else {
+                return simboloLido(i, FORA_DO_ALFABETO);
+            }
+        }
+        return simboloLido(i, simbolo(caractere, indiceSimbolo));
+    }
+
+    // Igual à versão com ByteBuffer, sobre um vetor de bytes
+    static long proximoSimbolo (byte[] dados, int i, int fim, int[] indiceSimbolo) {
+        int caractere = dados[i++];
+        if (caractere < 0) {
+            if ((caractere & 0xE0) == 0xC0 && i < fim) {
+                caractere = ((caractere & 0x1F) << 6) | (dados[i++] & 0x3F);
+            } else if ((caractere & 0xF0) == 0xE0 && i + 1 < fim) {
+                caractere = ((caractere & 0x0F) << 12) | ((dados[i] & 0x3F) << 6) | (dados[i + 1] & 0x3F);
+                i += 2;
+            } else {
+                return simboloLido(i, FORA_DO_ALFABETO);
+            }
+        }
+        return simboloLido(i, simbolo(caractere, indiceSimbolo));
+    }
+
+    private static int simbolo (int caractere, int[] indiceSimbolo) {
+        if (caractere == '_') {
+            return FIM_DA_PALAVRA;
+        }
+        return caractere < indiceSimbolo.length ? indiceSimbolo[caractere] : FORA_DO_ALFABETO;
+    }
+
+    private static long simboloLido (int posicao, int simbolo) {
+        return ((long) posicao << 32) | (simbolo & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,74 @@
+package simulacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+// Saída com buffer de tamanho fixo. Os bytes são acumulados no buffer e descarregados no destino sempre que ele enche,
+// assim o uso de memória não depende do tamanho do resultado e a escrita começa logo no início da computação.
+final class SaidaBufferizada implements Closeable {
+    private final OutputStream destino;
+    private final byte[] buffer;
+    private int posicao;
+
+    SaidaBufferizada (OutputStream destino, int tamanhoBuffer) {
+        this.destino = destino;
+        this.buffer = new byte[tamanhoBuffer];
+        this.posicao = 0;
+    }
+
+    void escrever (byte[] dados, int inicio, int tamanho) throws IOException {
+        if (tamanho > buffer.length - posicao) {
+            descarregar();
+            // Um trecho maior que o buffer inteiro vai direto para o destino
+            if (tamanho > buffer.length) {
+                destino.write(dados, inicio, tamanho);
+                return;
+            }
+        }
+        System.arraycopy(dados, inicio, buffer, posicao, tamanho);
+        posicao += tamanho;
+    }
+
+    // Copia o trecho [inicio, inicio + tamanho) do buffer de origem sem alterar a posição dele
+    void escrever (ByteBuffer dados, int inicio, int tamanho) throws IOException {
+        while (tamanho > buffer.length - posicao) {
+            int parte = buffer.length - posicao;
+            dados.get(inicio, buffer, posicao, parte);
+            posicao += parte;
+            descarregar();
+            inicio += parte;
+            tamanho -= parte;
+        }
+        dados.get(inicio, buffer, posicao, tamanho);
+        posicao += tamanho;
+    }
+
+    void escrever (byte[] dados) throws IOException {
+        escrever(dados, 0, dados.length);
+    }
+
+    void escreverByte (byte b) throws IOException {
+        if (posicao == buffer.length) {
+            descarregar();
+        }
+        buffer[posicao++] = b;
+    }
+
+    void descarregar () throws IOException {
+        if (posicao > 0) {
+            destino.write(buffer, 0, posicao);
+            posicao = 0;
+        }
+    }
+
+    @Override
+    public void close () throws IOException {
+        try {
+            descarregar();
+        } finally {
+            destino.close();
+        }
+    }
+}
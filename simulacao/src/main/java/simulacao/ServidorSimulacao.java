@@ -0,0 +1,133 @@
+package simulacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Modo servidor: mantém um ou mais AFDs compilados em memória e computa palavras recebidas por um socket local, evitando
+// o custo de iniciar uma JVM (e de aquecer o JIT) a cada lote de palavras. O endereço pode ser um socket de domínio Unix
+// ("unix:/caminho" ou só o caminho) ou uma porta TCP em localhost ("tcp:porta" ou só a porta). Cada conexão é atendida
+// por uma thread própria; o protocolo está descrito em ConexaoSimulacao.
+//
+// Os comandos LOAD e FILE leem e escrevem arquivos com as permissões do servidor. No socket Unix o acesso é controlado
+// pelas permissões do arquivo do socket; uma porta TCP em localhost, por outro lado, aceita conexões de qualquer usuário
+// da máquina, que poderia fazer o servidor ler qualquer arquivo que ele lê e criar ou sobrescrever qualquer arquivo em
+// que ele escreve. Por isso, em TCP esses comandos só são aceitos se o servidor for iniciado com 'arquivosPorTcp'
+// (a opção --permitir-arquivos na linha de comando).
+final class ServidorSimulacao implements Closeable {
+    private final ConcurrentHashMap<String, CompiledAutomaton> automatos;
+    private final ServerSocketChannel servidor;
+    private final ExecutorService conexoes;
+    // Arquivo do socket Unix, apagado ao encerrar o servidor (null no caso de TCP)
+    private final Path arquivoSocket;
+    // Se as conexões podem usar LOAD e FILE
+    private final boolean permiteArquivos;
+    private volatile String automatoPadrao;
+
+    ServidorSimulacao (String endereco) throws IOException {
+        this(endereco, false);
+    }
+
+    ServidorSimulacao (String endereco, boolean arquivosPorTcp) throws IOException {
+        this.automatos = new ConcurrentHashMap<>();
+        this.automatoPadrao = null;
+
+        if (endereco.startsWith("tcp:") || endereco.chars().allMatch(Character::isDigit)) {
+            int porta = Integer.parseInt(endereco.startsWith("tcp:") ? endereco.substring(4) : endereco);
+            this.arquivoSocket = null;
+            this.permiteArquivos = arquivosPorTcp;
+            this.servidor = ServerSocketChannel.open(StandardProtocolFamily.INET);
+            this.servidor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta));
+        } else {
+            this.arquivoSocket = Paths.get(endereco.startsWith("unix:") ? endereco.substring(5) : endereco);
+            this.permiteArquivos = true;
+            // Um socket que sobrou de uma execução anterior impede o bind; arquivos comuns e diretórios nunca são apagados
+            if (Files.exists(arquivoSocket) && !Files.isRegularFile(arquivoSocket) && !Files.isDirectory(arquivoSocket)) {
+                Files.delete(arquivoSocket);
+            }
+            this.servidor = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            this.servidor.bind(UnixDomainSocketAddress.of(arquivoSocket));
+        }
+
+        AtomicInteger numeroConexao = new AtomicInteger();
+        this.conexoes = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "simulacao-conexao-" + numeroConexao.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Lê e compila o AFD e o deixa disponível com o nome dado, substituindo um AFD anterior com o mesmo nome. O primeiro
+    // AFD carregado é o usado pelas conexões que não escolherem outro. As métricas do AFD ficam no JMX com o nome dado
+    void carregar (String nome, Path arquivoDescricaoAFD) throws IOException {
+        CompiledAutomaton automato = CompiledAutomaton.load(arquivoDescricaoAFD);
+        automato.metrics().registrarJMX("simulacao." + nome);
+        automatos.put(nome, automato);
+        synchronized (this) {
+            if (automatoPadrao == null) {
+                automatoPadrao = nome;
+            }
+        }
+    }
+
+    CompiledAutomaton automato (String nome) {
+        return automatos.get(nome);
+    }
+
+    CompiledAutomaton automatoPadrao () {
+        String nome = automatoPadrao;
+        return nome == null ? null : automatos.get(nome);
+    }
+
+    boolean permiteArquivos () {
+        return permiteArquivos;
+    }
+
+    SocketAddress getEndereco () throws IOException {
+        return servidor.getLocalAddress();
+    }
+
+    // Aceita conexões até o servidor ser fechado
+    void atender () throws IOException {
+        while (servidor.isOpen()) {
+            SocketChannel canal;
+            try {
+                canal = servidor.accept();
+            }catch(ClosedChannelException e) {
+                break;
+            }
+            if (arquivoSocket == null) {
+                // Respostas pequenas não devem esperar o algoritmo de Nagle
+                canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            }
+            conexoes.execute(new ConexaoSimulacao(this, canal));
+        }
+    }
+
+    @Override
+    public void close () throws IOException {
+        try {
+            servidor.close();
+            conexoes.shutdownNow();
+        } finally {
+            if (arquivoSocket != null) {
+                Files.deleteIfExists(arquivoSocket);
+            }
+        }
+    }
+}
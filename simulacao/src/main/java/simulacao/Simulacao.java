@@ -0,0 +1,159 @@
+package simulacao;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import comum.FormatoBinario;
+import comum.LeitorDescricao;
+import comum.Metricas;
+import comum.ProdutoAFD;
+import comum.TabelaAFN;
+
+public class Simulacao {
+    // Um AFD (em texto ou binário) ou um produto de AFDs já é determinístico: não há o que determinizar sob demanda
+    private static final String LAZY_SEM_AFN = "A opção --lazy só se aplica a um AFN";
+
+    public static void main(String[] args) {
+        // Modo servidor: --server endereco [--permitir-arquivos] afd.txt [nome=afd.txt ...]
+        if (args.length > 0 && args[0].equals("--server")) {
+            servidor(args);
+            return;
+        }
+
+        String arquivoDescricaoAFD = args[0];
+        String arquivoPalavras = args[1];
+        String arquivoSaida = args[2];
+
+        // Opcional: --threads N computa as palavras em N threads; --lazy MB determiniza um AFN sob demanda, com um cache
+        // de no máximo MB megabytes de estados do AFD por thread; --stats arquivo.json escreve as métricas da computação
+        // no arquivo ao terminar; --produto intersecao|uniao|diferenca|simetrica outro.txt computa o produto do AFD com o
+        // outro AFD, construído sob demanda
+        int numeroThreads = 1;
+        long cacheBytes = -1;
+        String arquivoMetricas = null;
+        String operacaoProduto = null;
+        String arquivoProduto = null;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length && args[i + 1].matches("0*[0-9]{1,7}")) {
+                numeroThreads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--lazy") && i + 1 < args.length && args[i + 1].matches("0*[1-9][0-9]{0,6}")) {
+                cacheBytes = Long.parseLong(args[++i]) << 20;
+            } else if (args[i].equals("--stats") && i + 1 < args.length) {
+                arquivoMetricas = args[++i];
+            } else if (args[i].equals("--produto") && i + 2 < args.length && ProdutoAFD.operacao(args[i + 1]) >= 0) {
+                operacaoProduto = args[++i];
+                arquivoProduto = args[++i];
+            } else {
+                System.out.println("Opção desconhecida: " + args[i]);
+                return;
+            }
+        }
+        if (numeroThreads < 1) {
+            System.out.println("O número de threads deve ser maior que zero");
+            return;
+        }
+        if (cacheBytes >= 0 && operacaoProduto != null) {
+            System.out.println(LAZY_SEM_AFN);
+            return;
+        }
+
+        try {
+            CompiledAutomaton automato;
+            if (operacaoProduto != null) {
+                // Nenhum par é criado antes da computação, e as tabelas dos dois AFDs não são impressas
+                automato = CompiledAutomaton.loadProduct(Paths.get(arquivoDescricaoAFD), Paths.get(arquivoProduto), operacaoProduto);
+                System.out.println();
+                System.out.println("Produto (" + operacaoProduto + ") sob demanda: " + automato.symbolCount() + " símbolos, até "
+                    + automato.productPairBound() + " pares de estados");
+                System.out.println();
+            } else if (FormatoBinario.eBinario(Paths.get(arquivoDescricaoAFD))) {
+                if (cacheBytes >= 0) {
+                    System.out.println(LAZY_SEM_AFN);
+                    return;
+                }
+                // O AFD binário é carregado direto na forma compilada, sem a tabela por nomes usada na impressão
+                automato = CompiledAutomaton.load(Paths.get(arquivoDescricaoAFD));
+                System.out.println();
+                System.out.println("AFD (binário): " + automato.stateCount() + " estados, " + automato.symbolCount() + " símbolos");
+                System.out.println();
+            } else {
+                try (LeitorDescricao leitor = new LeitorDescricao(Paths.get(arquivoDescricaoAFD))) {
+                    if (CompiledAutomaton.eAFN(leitor) && cacheBytes >= 0) {
+                        automato = new CompiledAutomaton(new AFDPreguicoso(TabelaAFN.ler(leitor), cacheBytes));
+                        System.out.println();
+                        System.out.println("AFN (determinização sob demanda): " + automato.stateCount() + " estados, " + automato.symbolCount() + " símbolos, cache de até "
+                            + automato.lazyCacheCapacity() + " estados do AFD");
+                        System.out.println();
+                    } else if (CompiledAutomaton.eAFN(leitor)) {
+                        // Um AFN (linha 1) é simulado diretamente pelo conjunto de estados ativos, sem conversão para AFD
+                        automato = new CompiledAutomaton(TabelaAFN.ler(leitor));
+                        System.out.println();
+                        System.out.println("AFN (simulação direta): " + automato.stateCount() + " estados, " + automato.symbolCount() + " símbolos");
+                        System.out.println();
+                    } else if (cacheBytes >= 0) {
+                        System.out.println(LAZY_SEM_AFN);
+                        return;
+                    } else {
+                        AFD afd = AFD.ler(leitor);
+
+                        afd.imprimirAFD();
+
+                        automato = new CompiledAutomaton(afd);
+                    }
+                }
+            }
+
+            // As métricas ficam visíveis por JMX durante a computação
+            automato.metrics().registrarJMX();
+            automato.simulate(Paths.get(arquivoPalavras), Paths.get(arquivoSaida), numeroThreads);
+
+            // Palavras cuja computação terminou ao alcançar um estado morto ou de aceitação absorvente
+            System.out.println("Parada antecipada: " + automato.earlyExitWords() + " palavras, "
+                + automato.skippedSymbols() + " símbolos não lidos");
+            if (automato.isLazy()) {
+                System.out.println(String.format("Cache do AFD: %d estados, %.2f%% das transições encontradas no cache, %d esvaziamentos",
+                    automato.lazyCacheStates(), automato.lazyCacheHitRate() * 100, automato.lazyCacheFlushes()));
+            }
+            if (automato.isProduct()) {
+                System.out.println("Produto: " + automato.stateCount() + " pares de estados criados de " + automato.productPairBound() + " possíveis");
+            }
+            if (arquivoMetricas != null) {
+                Metricas.escreverJSON(Paths.get(arquivoMetricas), automato.metrics());
+            }
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Cada AFD é dado como "nome=arquivo" ou só "arquivo" (o nome é o do arquivo sem a extensão). O primeiro é o padrão
+    // das conexões. --permitir-arquivos libera LOAD e FILE em uma porta TCP (no socket Unix eles são sempre aceitos)
+    private static void servidor (String[] args) {
+        boolean permitirArquivos = args.length > 2 && args[2].equals("--permitir-arquivos");
+        int primeiroAFD = permitirArquivos ? 3 : 2;
+        if (args.length <= primeiroAFD) {
+            System.out.println("Uso: --server endereco [--permitir-arquivos] afd.txt [nome=afd.txt ...]");
+            return;
+        }
+        try {
+            ServidorSimulacao servidor = new ServidorSimulacao(args[1], permitirArquivos);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    servidor.close();
+                }catch(IOException e) {
+                    System.out.println(e.getMessage());
+                }
+            }));
+            for (int i = primeiroAFD; i < args.length; i++) {
+                int separador = args[i].indexOf('=');
+                String arquivo = separador >= 0 ? args[i].substring(separador + 1) : args[i];
+                String nome = separador >= 0 ? args[i].substring(0, separador) : Paths.get(arquivo).getFileName().toString().replaceFirst("\\.[^.]*$", "");
+                servidor.carregar(nome, Paths.get(arquivo));
+                System.out.println("AFD " + nome + ": " + arquivo);
+            }
+            System.out.println("Servidor aguardando em " + servidor.getEndereco());
+            servidor.atender();
+        }catch(IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package simulacao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import comum.FormatoBinario;
+import comum.TabelaAFD;
+import comum.TabelaAFN;
+
+// A determinização sob demanda deve dar o mesmo resultado que a simulação direta do AFN, mesmo quando o cache enche e é
+// esvaziado no meio das palavras. O AFN usado é o de "o n-ésimo símbolo a partir do fim é a", cujo AFD tem 2^n estados
+class AFDPreguicosoTest {
+    private static final int N = 8;
+
+    @TempDir
+    Path diretorio;
+
+    // Um cache de 0 bytes comporta o mínimo de estados, bem menos que os 256 do AFD
+    @Test
+    void cachePequenoEsvaziado () {
+        CompiledAutomaton direto = new CompiledAutomaton(afn());
+        CompiledAutomaton preguicoso = new CompiledAutomaton(new AFDPreguicoso(afn(), 0));
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 3000; i++) {
+            String palavra = palavra(aleatorio, aleatorio.nextInt(3 * N));
+            boolean esperado = palavra.length() >= N && palavra.charAt(palavra.length() - N) == 'a';
+            assertEquals(esperado, direto.accepts(palavra), palavra);
+            assertEquals(esperado, preguicoso.accepts(palavra), palavra);
+        }
+        assertTrue(preguicoso.lazyCacheFlushes() > 0);
+        assertTrue(preguicoso.lazyCacheCapacity() < 1 << N);
+        assertTrue(preguicoso.lazyCacheStates() <= preguicoso.lazyCacheCapacity());
+    }
+
+    // Com espaço para todo o AFD o cache nunca é esvaziado
+    @Test
+    void cacheGrandeNaoEsvaziado () {
+        CompiledAutomaton preguicoso = new CompiledAutomaton(new AFDPreguicoso(afn(), 1 << 20));
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 3000; i++) {
+            preguicoso.accepts(palavra(aleatorio, aleatorio.nextInt(3 * N)));
+        }
+        assertEquals(0, preguicoso.lazyCacheFlushes());
+        assertEquals(1 << N, preguicoso.lazyCacheStates());
+    }
+
+    // Pela linha de comando, com um arquivo de palavras em várias threads (cada uma com o seu cache)
+    @Test
+    void linhaDeComando () throws IOException {
+        Path descricao = Files.writeString(diretorio.resolve("afn.txt"), descricao());
+        Random aleatorio = new Random(131);
+        StringBuilder palavras = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            palavras.append(palavra(aleatorio, aleatorio.nextInt(3 * N))).append('\n');
+        }
+        Path arquivoPalavras = Files.writeString(diretorio.resolve("palavras.txt"), palavras);
+        Path esperado = diretorio.resolve("direto.txt");
+        Path obtido = diretorio.resolve("preguicoso.txt");
+        SimulacaoTest.executar(descricao.toString(), arquivoPalavras.toString(), esperado.toString());
+        String impresso = SimulacaoTest.executar(descricao.toString(), arquivoPalavras.toString(), obtido.toString(), "--lazy", "1", "--threads", "3");
+        assertTrue(impresso.contains("AFN (determinização sob demanda)"), impresso);
+        assertArrayEquals(Files.readAllBytes(esperado), Files.readAllBytes(obtido));
+    }
+
+    // Um limite que não é um número de megabytes positivo é recusado, em vez de cair na simulação direta
+    @Test
+    void limiteInvalido () throws IOException {
+        Path descricao = Files.writeString(diretorio.resolve("afn.txt"), descricao());
+        Path saida = diretorio.resolve("saida.txt");
+        for (String limite : new String[] {"0", "-1", "x", "99999999999999"}) {
+            assertEquals("Opção desconhecida: --lazy\n",
+                SimulacaoTest.executar(descricao.toString(), "palavras.txt", saida.toString(), "--lazy", limite), limite);
+        }
+        assertFalse(Files.exists(saida));
+    }
+
+    // Um AFD, em texto ou binário, ou um produto de AFDs não é determinizado: --lazy é recusado
+    @Test
+    void lazySemAFN () throws IOException {
+        Path binario = diretorio.resolve("afd.afdb");
+        FormatoBinario.escrever(TabelaAFD.ler(Path.of("afd.txt")), binario);
+        Path saida = diretorio.resolve("saida.txt");
+        String[][] execucoes = {
+            {"afd.txt", "palavras.txt", saida.toString(), "--lazy", "1"},
+            {binario.toString(), "palavras.txt", saida.toString(), "--lazy", "1"},
+            {"afd.txt", "palavras.txt", saida.toString(), "--lazy", "1", "--produto", "uniao", "afd.txt"},
+        };
+        for (String[] args : execucoes) {
+            String impresso = SimulacaoTest.executar(args);
+            assertTrue(impresso.endsWith("A opção --lazy só se aplica a um AFN\n"), impresso);
+        }
+        assertFalse(Files.exists(saida));
+    }
+
+    // O mesmo AFN de descricao(), montado direto na TabelaAFN
+    private static TabelaAFN afn () {
+        TabelaAFN tabela = new TabelaAFN(new String[] {"a", "b"}, N + 1, 0, new int[] {N});
+        tabela.adicionarTransicoes(0, 0, new int[] {0, 1}, 2);
+        tabela.adicionarTransicoes(0, 1, new int[] {0}, 1);
+        for (int estado = 1; estado < N; estado++) {
+            tabela.adicionarTransicoes(estado, 0, new int[] {estado + 1}, 1);
+            tabela.adicionarTransicoes(estado, 1, new int[] {estado + 1}, 1);
+        }
+        tabela.concluir();
+        return tabela;
+    }
+
+    // Estados 0..N: 0 lê qualquer símbolo e adivinha, em um a, que faltam N símbolos; o estado N é final
+    private static String descricao () {
+        StringBuilder descricao = new StringBuilder("AFN\n" + (N + 1));
+        for (int estado = 0; estado <= N; estado++) {
+            descricao.append(' ').append(estado);
+        }
+        descricao.append("\n2 a b\n0\n1 ").append(N).append("\n0 a 0 1\n0 b 0\n");
+        for (int estado = 1; estado < N; estado++) {
+            descricao.append(estado).append(" a ").append(estado + 1).append('\n');
+            descricao.append(estado).append(" b ").append(estado + 1).append('\n');
+        }
+        return descricao.toString();
+    }
+
+    private static String palavra (Random aleatorio, int tamanho) {
+        StringBuilder palavra = new StringBuilder();
+        for (int i = 0; i < tamanho; i++) {
+            palavra.append(aleatorio.nextBoolean() ? 'a' : 'b');
+        }
+        return palavra.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package simulacao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// O protocolo do modo servidor (ver ConexaoSimulacao): os pedidos são enviados todos de uma vez, sem esperar as respostas,
+// e cada um deve receber a sua linha de resposta, na ordem. Em TCP, LOAD e FILE só são aceitos com --permitir-arquivos
+class ServidorSimulacaoTest {
+    private static final String ARQUIVOS_DESATIVADOS = "ERR LOAD e FILE estão desativados em TCP (use --permitir-arquivos)";
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void protocoloNoSocketUnix () throws IOException {
+        // Palavras terminadas em b, sobre {a, b}
+        Path terminaEmB = Files.writeString(diretorio.resolve("b.txt"),
+            "AFD\n2 p q\n2 a b\np\n1 q\np a p\np b q\nq a p\nq b q\n");
+        Path saida = diretorio.resolve("saida.txt");
+        try (ServidorSimulacao servidor = iniciar("unix:" + diretorio.resolve("simulacao.sock"), false)) {
+            String[] respostas = conversar(servidor.getEndereco(),
+                "W aaab",
+                "W ab",
+                "W",
+                "M aaa ab aaab bbb",
+                "USE b",
+                "LOAD b " + terminaEmB,
+                // LOAD não muda o AFD da conexão, que continua sendo o padrão
+                "W ab",
+                "USE b",
+                "M ab ba _ aab",
+                "USE exemplo",
+                "FILE " + Paths.get("palavras.txt").toAbsolutePath() + " " + saida + " 2",
+                "LOAD c " + diretorio.resolve("inexistente.txt"),
+                "W",
+                "X aaa",
+                "QUIT",
+                "W aaa");
+            assertArrayEquals(new String[] {"1", "0", "0", "1010", "ERR AFD desconhecido: b", "OK", "0", "OK", "1001", "OK", "OK",
+                "ERR " + diretorio.resolve("inexistente.txt"), "0", "ERR Comando desconhecido: X"}, Arrays.copyOf(respostas, 14));
+            // Depois de QUIT o servidor encerra a conexão sem responder os pedidos seguintes
+            assertEquals("OK", respostas[14]);
+            assertNull(respostas[15]);
+        }
+        assertArrayEquals(Files.readAllBytes(Paths.get("saida.txt")), Files.readAllBytes(saida));
+        assertFalse(Files.exists(diretorio.resolve("simulacao.sock")));
+    }
+
+    @Test
+    void arquivosDesativadosEmTCP () throws IOException {
+        Path saida = diretorio.resolve("saida.txt");
+        try (ServidorSimulacao servidor = iniciar("tcp:0", false)) {
+            String[] respostas = conversar(servidor.getEndereco(),
+                "LOAD outro afd.txt",
+                "FILE palavras.txt " + saida,
+                "W aaa",
+                "QUIT");
+            assertArrayEquals(new String[] {ARQUIVOS_DESATIVADOS, ARQUIVOS_DESATIVADOS, "1", "OK"}, respostas);
+        }
+        assertFalse(Files.exists(saida));
+
+        try (ServidorSimulacao servidor = iniciar("tcp:0", true)) {
+            String[] respostas = conversar(servidor.getEndereco(), "LOAD outro afd.txt", "USE outro", "W aab", "QUIT");
+            assertArrayEquals(new String[] {"OK", "OK", "0", "OK"}, respostas);
+        }
+    }
+
+    // Servidor com o AFD do exemplo carregado como "exemplo", atendendo conexões em outra thread
+    private static ServidorSimulacao iniciar (String endereco, boolean arquivosPorTcp) throws IOException {
+        ServidorSimulacao servidor = new ServidorSimulacao(endereco, arquivosPorTcp);
+        servidor.carregar("exemplo", Paths.get("afd.txt"));
+        Thread atendimento = new Thread(() -> {
+            try {
+                servidor.atender();
+            }catch(IOException e) {
+                System.err.println(e.getMessage());
+            }
+        });
+        atendimento.setDaemon(true);
+        atendimento.start();
+        return servidor;
+    }
+
+    // Envia todos os pedidos em uma única escrita e lê uma linha de resposta por pedido (null se a conexão foi encerrada)
+    private static String[] conversar (SocketAddress endereco, String... pedidos) throws IOException {
+        try (SocketChannel canal = SocketChannel.open(endereco)) {
+            OutputStream saida = Channels.newOutputStream(canal);
+            saida.write((String.join("\n", pedidos) + "\n").getBytes(StandardCharsets.UTF_8));
+            saida.flush();
+            BufferedReader entrada = new BufferedReader(new InputStreamReader(Channels.newInputStream(canal), StandardCharsets.UTF_8));
+            String[] respostas = new String[pedidos.length];
+            for (int i = 0; i < respostas.length; i++) {
+                respostas[i] = entrada.readLine();
+            }
+            return respostas;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package simulacao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import comum.TabelaAFD;
+
+// A saída da simulação do exemplo do módulo (afd.txt e palavras.txt) deve ser exatamente a de saida.txt, seja o arquivo
+// de palavras um arquivo comum ou um pipe (lido em sequência), em uma ou em várias threads, e o autômato compilado deve
+// concordar com a simulação pela definição sobre a TabelaAFD
+class SimulacaoTest {
+    private static final Path DESCRICAO = Paths.get("afd.txt");
+    private static final Path PALAVRAS = Paths.get("palavras.txt");
+    private static final Path SAIDA = Paths.get("saida.txt");
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void exemploReproduzASaida () throws IOException {
+        assertArrayEquals(Files.readAllBytes(SAIDA), simular(PALAVRAS));
+    }
+
+    @Test
+    void exemploPorPipe () throws IOException, InterruptedException {
+        assertArrayEquals(Files.readAllBytes(SAIDA), simular(pipe("palavras", Files.readAllBytes(PALAVRAS))));
+    }
+
+    // Uma linha maior que o buffer da leitura em sequência faz o buffer crescer, sem mudar o resultado
+    @Test
+    void linhaMaiorQueOBuffer () throws IOException, InterruptedException {
+        byte[] longa = new byte[3 * ProcessadorPalavras.TAMANHO_BUFFER + 17];
+        Arrays.fill(longa, (byte) 'a');
+        byte[] palavras = (new String(longa, StandardCharsets.US_ASCII) + "\nab\n" + new String(longa, StandardCharsets.US_ASCII)
+            .replace("aaaa", "aaba") + "\naaab\n").getBytes(StandardCharsets.US_ASCII);
+        Path arquivo = Files.write(diretorio.resolve("longas.txt"), palavras);
+        byte[] esperado = simular(arquivo);
+        assertEquals(4, new String(esperado, StandardCharsets.US_ASCII).lines().count());
+        assertArrayEquals(esperado, simular(pipe("longas", palavras)));
+    }
+
+    @Test
+    void exemploEmVariasThreads () throws IOException, InterruptedException {
+        byte[] esperado = Files.readAllBytes(SAIDA);
+        assertArrayEquals(esperado, simular(PALAVRAS, "--threads", "3"));
+        assertArrayEquals(esperado, simular(pipe("palavras", Files.readAllBytes(PALAVRAS)), "--threads", "3"));
+    }
+
+    // Um arquivo com vários blocos: as threads devem escrever o mesmo resultado, na mesma ordem, que uma única thread
+    @Test
+    void arquivoGrandeEmVariasThreads () throws IOException, InterruptedException {
+        Random aleatorio = new Random(131);
+        StringBuilder texto = new StringBuilder();
+        while (texto.length() < 20 * ProcessadorPalavras.TAMANHO_BUFFER) {
+            for (int s = aleatorio.nextInt(12); s >= 0; s--) {
+                texto.append(aleatorio.nextInt(4) == 0 ? 'b' : 'a');
+            }
+            texto.append('\n');
+        }
+        byte[] palavras = texto.toString().getBytes(StandardCharsets.US_ASCII);
+        Path arquivo = Files.write(diretorio.resolve("grande.txt"), palavras);
+        byte[] esperado = simular(arquivo);
+        for (String threads : new String[] {"2", "4", "7"}) {
+            assertArrayEquals(esperado, simular(arquivo, "--threads", threads), threads + " threads");
+            assertArrayEquals(esperado, simular(pipe("grande-" + threads, palavras), "--threads", threads), threads + " threads (pipe)");
+        }
+    }
+
+    // Um número de threads inválido é informado, sem computar as palavras
+    @Test
+    void numeroDeThreadsInvalido () {
+        Path saida = diretorio.resolve("threads.txt");
+        assertEquals("O número de threads deve ser maior que zero\n",
+            executar(DESCRICAO.toString(), PALAVRAS.toString(), saida.toString(), "--threads", "0"));
+        for (String threads : new String[] {"x", "-2", "99999999999"}) {
+            assertEquals("Opção desconhecida: --threads\n",
+                executar(DESCRICAO.toString(), PALAVRAS.toString(), saida.toString(), "--threads", threads), threads);
+        }
+        assertFalse(Files.exists(saida));
+    }
+
+    // O arquivo mapeado em memória é lido byte a byte: espaços antes da palavra, texto depois dela, linhas em branco, "\r\n" e
+    // uma última linha sem '\n' dão o mesmo resultado que a leitura em sequência
+    @Test
+    void formatoDasLinhas () throws IOException, InterruptedException {
+        byte[] palavras = "  aaab resto da linha\n\n\t \nab\r\n\naaa\t# comentário\nbaaa".getBytes(StandardCharsets.UTF_8);
+        byte[] esperado = "aaab aceita\nab rejeita\naaa aceita\nbaaa rejeita\n".getBytes(StandardCharsets.UTF_8);
+        Path arquivo = Files.write(diretorio.resolve("formato.txt"), palavras);
+        assertArrayEquals(esperado, simular(arquivo));
+        assertArrayEquals(esperado, simular(arquivo, "--threads", "2"));
+        assertArrayEquals(esperado, simular(pipe("formato", palavras)));
+        assertEquals(0, simular(Files.write(diretorio.resolve("vazio.txt"), new byte[0])).length);
+    }
+
+    // Pela API, o erro de leitura chega a quem chamou, em vez de um AFD incompleto
+    @Test
+    void erroDeLeituraPelaAPI () throws IOException {
+        Path invalido = Files.writeString(diretorio.resolve("invalido.txt"), "AFD\n2 q0 q1\n1 a\nq9\n1 q1\n");
+        assertThrows(IOException.class, () -> new AFD(invalido.toString()));
+        Path saida = diretorio.resolve("api.txt");
+        assertThrows(IOException.class, () -> new AFD(DESCRICAO.toString()).computar(diretorio.resolve("inexistente.txt").toString(), saida.toString()));
+        new AFD(DESCRICAO.toString()).computar(PALAVRAS.toString(), saida.toString(), 2);
+        assertArrayEquals(Files.readAllBytes(SAIDA), Files.readAllBytes(saida));
+    }
+
+    // AFDs aleatórios sobre {a, b}, com transições indefinidas, e todas as palavras com até 8 símbolos
+    @Test
+    void compiladoConcordaComATabela () {
+        Random aleatorio = new Random(131);
+        for (int i = 0; i < 200; i++) {
+            TabelaAFD tabela = aleatorio(aleatorio, 1 + aleatorio.nextInt(6));
+            CompiledAutomaton automato = CompiledAutomaton.fromTable(tabela);
+            for (int tamanho = 0; tamanho <= 8; tamanho++) {
+                for (int bits = 0; bits < 1 << tamanho; bits++) {
+                    StringBuilder palavra = new StringBuilder();
+                    for (int s = 0; s < tamanho; s++) {
+                        palavra.append((bits >>> s & 1) == 0 ? 'a' : 'b');
+                    }
+                    assertEquals(aceita(tabela, palavra), automato.accepts(palavra), palavra.toString());
+                }
+            }
+        }
+    }
+
+    // Simula o AFD do exemplo sobre o arquivo de palavras pela linha de comando e retorna o arquivo de saída
+    byte[] simular (Path palavras, String... opcoes) throws IOException {
+        Path saida = diretorio.resolve("saida-" + System.nanoTime() + ".txt");
+        String[] args = new String[3 + opcoes.length];
+        args[0] = DESCRICAO.toString();
+        args[1] = palavras.toString();
+        args[2] = saida.toString();
+        System.arraycopy(opcoes, 0, args, 3, opcoes.length);
+        executar(args);
+        return Files.readAllBytes(saida);
+    }
+
+    // Cria um pipe com nome e escreve o conteúdo nele, em outra thread, quando a simulação o abrir para leitura
+    Path pipe (String nome, byte[] conteudo) throws IOException, InterruptedException {
+        Path pipe = diretorio.resolve(nome + ".fifo");
+        assumeTrue(new ProcessBuilder("mkfifo", pipe.toString()).start().waitFor() == 0, "mkfifo indisponível");
+        Thread escritor = new Thread(() -> {
+            try {
+                Files.write(pipe, conteudo);
+            }catch(IOException e) {
+                System.err.println(e.getMessage());
+            }
+        });
+        escritor.setDaemon(true);
+        escritor.start();
+        return pipe;
+    }
+
+    // Executa Simulacao.main e retorna o que foi impresso
+    static String executar (String... args) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(saida, true, StandardCharsets.UTF_8));
+        try {
+            Simulacao.main(args);
+        } finally {
+            System.setOut(original);
+        }
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    // AFD com 'numeroEstados' estados sobre {a, b}; cada transição falta com probabilidade 1/5
+    private static TabelaAFD aleatorio (Random aleatorio, int numeroEstados) {
+        int[] transicoes = new int[numeroEstados * 2];
+        for (int t = 0; t < transicoes.length; t++) {
+            transicoes[t] = aleatorio.nextInt(5) == 0 ? TabelaAFD.SEM_TRANSICAO : aleatorio.nextInt(numeroEstados);
+        }
+        long[] finais = new long[(numeroEstados + 63) >>> 6];
+        for (int estado = 0; estado < numeroEstados; estado++) {
+            if (aleatorio.nextBoolean()) {
+                finais[estado >>> 6] |= 1L << estado;
+            }
+        }
+        return new TabelaAFD(new String[] {"a", "b"}, numeroEstados, 0, finais, transicoes);
+    }
+
+    // Simulação pela definição: uma transição indefinida rejeita a palavra
+    private static boolean aceita (TabelaAFD afd, CharSequence palavra) {
+        int estado = afd.getEstadoInicial();
+        for (int i = 0; i < palavra.length() && estado != TabelaAFD.SEM_TRANSICAO; i++) {
+            estado = afd.getTransicao(estado, palavra.charAt(i) - 'a');
+        }
+        return estado != TabelaAFD.SEM_TRANSICAO && afd.eFinal(estado);
+    }
+}